@@ -0,0 +1,81 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/// Entry point of the benchmark jar, which runs JMH with machine-readable results by default.
+///
+/// Unless the arguments already choose a result format (`-rf`) or file (`-rff`), results are written as JSON to
+/// `jmh-results/simpleforex-<version>.json`, named after the benchmarked library version so that runs of different releases
+/// can be kept side by side and compared. All arguments are passed on to [org.openjdk.jmh.Main].
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+        }
+        int formatIndex = arguments.indexOf("-rf") + 1;
+        if (formatIndex == arguments.size()) {
+            System.err.println("-rf needs a result format (text, csv, scsv, json or latex)");
+            System.err.println("Usage: java -jar benchmarks.jar [JMH options] [benchmark regexps], see -h for the options");
+            System.exit(1);
+        }
+        if (!arguments.contains("-rff")) {
+            var format = arguments.get(formatIndex).toLowerCase(Locale.ROOT);
+            var file = Path.of("jmh-results", "simpleforex-" + libraryVersion() + "." + format);
+            Files.createDirectories(file.getParent());
+            arguments.addAll(List.of("-rff", file.toString()));
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+
+    // The version the benchmarks were built against, which Maven writes into a resource
+    private static String libraryVersion() throws IOException {
+        var properties = new Properties();
+        try (InputStream input = BenchmarkMain.class.getResourceAsStream("/benchmarks.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        }
+        return properties.getProperty("simpleforex.version", "unknown");
+    }
+}
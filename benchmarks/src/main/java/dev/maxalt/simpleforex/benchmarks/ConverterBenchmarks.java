@@ -0,0 +1,145 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.Converter;
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// Conversion of a batch of ledger amounts from euro cents to yen: [BigDecimal] arithmetic per amount versus
+/// [Converter]'s bulk conversion of minor units and doubles, both ways. Scores are per amount.
+///
+/// The `Vectorized` variants fork with `jdk.incubator.vector`, so with a library built with the `vector` profile and on hardware
+/// with 512-bit vectors they measure the Vector API kernels; elsewhere they match the scalar variants. Add `-jvmArgsAppend -XX:UseAVX=2` (or `0`) to compare
+/// instruction sets on the same machine.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmarks {
+
+    private static final int AMOUNTS = 4096;
+
+    private final long[] amounts = new long[AMOUNTS];
+    private final long[] results = new long[AMOUNTS];
+    private final double[] doubleAmounts = new double[AMOUNTS];
+    private final double[] doubleResults = new double[AMOUNTS];
+    private final BigDecimal[] decimalAmounts = new BigDecimal[AMOUNTS];
+    private Converter converter;
+    private Converter inverse;
+
+    @Setup
+    public void setUp() {
+        var rate = new ExchangeRate(CurrencyPair.fromIsoCodes("EUR", "JPY"), new BigDecimal("183.66"), Instant.EPOCH);
+        converter = Converter.of(rate);
+        inverse = converter.inverse();
+
+        // Mostly small amounts, like ledger lines, with an occasional refund
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = random.nextLong(-10_000, 10_000_000);
+            decimalAmounts[i] = BigDecimal.valueOf(amounts[i], 2);
+            doubleAmounts[i] = amounts[i] / 100.0;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long bigDecimalBaseline() {
+        long sum = 0;
+        for (var amount : decimalAmounts) {
+            sum += amount.multiply(converter.exchangeRate().value()).setScale(0, ExchangeRate.DEFAULT_ROUNDING_MODE).longValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long[] bulkMinorUnits() {
+        converter.convertMinorUnits(amounts, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long[] bulkMinorUnitsInverse() {
+        inverse.convertMinorUnits(amounts, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public double[] bulkDoubles() {
+        converter.convert(doubleAmounts, 0, doubleResults, 0, AMOUNTS);
+        return doubleResults;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    @Fork(value = 1, jvmArgsPrepend = "--add-modules=jdk.incubator.vector")
+    public long[] bulkMinorUnitsVectorized() {
+        converter.convertMinorUnits(amounts, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    @Fork(value = 1, jvmArgsPrepend = "--add-modules=jdk.incubator.vector")
+    public long[] bulkMinorUnitsInverseVectorized() {
+        inverse.convertMinorUnits(amounts, results);
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    @Fork(value = 1, jvmArgsPrepend = "--add-modules=jdk.incubator.vector")
+    public double[] bulkDoublesVectorized() {
+        converter.convert(doubleAmounts, 0, doubleResults, 0, AMOUNTS);
+        return doubleResults;
+    }
+}
@@ -0,0 +1,98 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CrossRateEngine;
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// Triangulation of cross rates with [CrossRateEngine] from the rates of one currency against all others, like a central bank
+/// publishes them: a full cross-rate matrix, and a single cross rate of a fresh engine. Engines memoize derived rates,
+/// so each invocation builds a new one.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CrossRateEngineBenchmarks {
+
+    @Param({"30", "170"})
+    public int currencies;
+
+    private final List<ExchangeRate> rates = new ArrayList<>();
+    private CurrencyPair crossPair;
+
+    @Setup
+    public void setUp() {
+        var euro = Currency.getInstance("EUR");
+        var quotes = Currency.availableCurrencies()
+                .filter(currency -> !currency.equals(euro))
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .limit(currencies - 1)
+                .toList();
+        var random = new SplittableRandom(42);
+        for (var quote : quotes) {
+            var value = BigDecimal.valueOf(random.nextLong(1_000, 100_000_000), 4);
+            rates.add(new ExchangeRate(new CurrencyPair(euro, quote), value, Instant.EPOCH));
+        }
+        crossPair = new CurrencyPair(quotes.getFirst(), quotes.getLast());
+    }
+
+    @Benchmark
+    public long fullMatrix() {
+        return CrossRateEngine.of(rates).exchangeRates().count();
+    }
+
+    @Benchmark
+    public Optional<ExchangeRate> singleCrossRate() {
+        return CrossRateEngine.of(rates).findExchangeRate(crossPair);
+    }
+}
@@ -0,0 +1,138 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRate;
+import dev.maxalt.simpleforex.ExchangeRateCsvReader;
+import dev.maxalt.simpleforex.ExchangeRateCsvWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// Import and export of exchange rates as CSV in memory, with [ExchangeRateCsvReader] and [ExchangeRateCsvWriter],
+/// versus a [BufferedReader] that splits lines and parses their fields with the JDK. Scores are rows per second.
+///
+/// The fixture is minutely rates of 20 pairs moving a few pips at a time, interleaved by timestamp like a feed log.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvBenchmarks {
+
+    private static final List<String> CODES = List.of("USD", "EUR", "JPY", "GBP", "CHF");
+    private static final int MINUTES = 10_000;
+    private static final int ROWS = 20 * MINUTES;
+
+    private final List<ExchangeRate> rates = new ArrayList<>(ROWS);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private byte[] csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        var pairs = CODES.stream()
+                .flatMap(base -> CODES.stream().filter(quote -> !quote.equals(base)).map(quote -> CurrencyPair.fromIsoCodes(base, quote)))
+                .toList();
+        var random = new SplittableRandom(42);
+        var unscaledValues = pairs.stream().mapToLong(pair -> random.nextLong(5_000, 2_000_000)).toArray();
+        var start = Instant.parse("2025-12-01T00:00:00Z");
+        for (int minute = 0; minute < MINUTES; minute++) {
+            var timestamp = start.plusSeconds(60L * minute);
+            for (int i = 0; i < pairs.size(); i++) {
+                unscaledValues[i] += random.nextLong(-5, 6);
+                rates.add(new ExchangeRate(pairs.get(i), BigDecimal.valueOf(unscaledValues[i], 5), timestamp));
+            }
+        }
+
+        try (var writer = new ExchangeRateCsvWriter(output)) {
+            writer.writeAll(rates);
+        }
+        csv = output.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long read() throws IOException {
+        long count = 0;
+        try (var reader = new ExchangeRateCsvReader(new ByteArrayInputStream(csv))) {
+            while (reader.read() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int write() throws IOException {
+        output.reset();
+        try (var writer = new ExchangeRateCsvWriter(output)) {
+            writer.writeAll(rates);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long splitLinesBaseline() throws IOException {
+        long count = 0;
+        try (var reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.US_ASCII))) {
+            reader.readLine();
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                var fields = line.split(",");
+                var rate = new ExchangeRate(CurrencyPair.parse(fields[0]), new BigDecimal(fields[1]), Instant.parse(fields[2]));
+                count += rate.value().signum();
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,112 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CurrencyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/// Creation of [CurrencyPair] instances (the record constructor versus the canonical factory methods) and their string forms.
+///
+/// Run with `-prof gc` to compare allocation rates.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyPairBenchmarks {
+
+    @Param({"EUR", "USD"})
+    public String baseCode;
+
+    @Param({"JPY", "CHF"})
+    public String quoteCode;
+
+    private Currency base;
+    private Currency quote;
+    private CurrencyPair pair;
+    private final byte[] output = new byte[6];
+
+    @Setup
+    public void setUp() {
+        base = Currency.getInstance(baseCode);
+        quote = Currency.getInstance(quoteCode);
+        pair = CurrencyPair.of(base, quote);
+    }
+
+    @Benchmark
+    public CurrencyPair constructor() {
+        return new CurrencyPair(base, quote);
+    }
+
+    @Benchmark
+    public CurrencyPair of() {
+        return CurrencyPair.of(base, quote);
+    }
+
+    @Benchmark
+    public CurrencyPair fromIsoCodes() {
+        return CurrencyPair.fromIsoCodes(baseCode, quoteCode);
+    }
+
+    @Benchmark
+    public CurrencyPair swapped() {
+        return pair.swapped();
+    }
+
+    @Benchmark
+    public String concatenatedCodesBaseline() {
+        return pair.base().getCurrencyCode() + pair.quote().getCurrencyCode();
+    }
+
+    @Benchmark
+    public String toStringCached() {
+        return pair.toString();
+    }
+
+    @Benchmark
+    public byte[] writeAscii() {
+        pair.writeAscii(output, 0);
+        return output;
+    }
+}
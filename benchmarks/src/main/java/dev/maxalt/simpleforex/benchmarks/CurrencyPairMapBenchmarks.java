@@ -0,0 +1,124 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CurrencyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/// [HashMap] lookups keyed by [CurrencyPair], e.g. of the latest rate per pair in a pricing cache.
+///
+/// Lookups with the canonical instances used as keys hit the identity check in [HashMap], while equal but distinct instances
+/// need a full `equals`. `String` keys are the baseline that pair keys replace, and `parsedKey` includes parsing the key from wire bytes.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyPairMapBenchmarks {
+
+    private static final List<String> CODES = List.of(
+            "USD", "EUR", "JPY", "GBP", "CHF", "CAD", "AUD", "NZD", "SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "CNY", "HKD", "SGD");
+
+    /// The number of pairs in the map, a power of two so that the key index wraps with a mask.
+    @Param({"16", "256"})
+    public int size;
+
+    private final Map<CurrencyPair, Integer> pairMap = new HashMap<>();
+    private final Map<String, Integer> stringMap = new HashMap<>();
+    private CurrencyPair[] canonicalKeys;
+    private CurrencyPair[] equalKeys;
+    private String[] stringKeys;
+    private byte[][] wireKeys;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        var pairs = new ArrayList<CurrencyPair>();
+        for (var base : CODES) {
+            for (var quote : CODES) {
+                if (!base.equals(quote) && pairs.size() < size) {
+                    pairs.add(CurrencyPair.fromIsoCodes(base, quote));
+                }
+            }
+        }
+
+        canonicalKeys = pairs.toArray(CurrencyPair[]::new);
+        equalKeys = pairs.stream().map(pair -> new CurrencyPair(pair.base(), pair.quote())).toArray(CurrencyPair[]::new);
+        stringKeys = pairs.stream().map(CurrencyPair::toString).map(String::new).toArray(String[]::new);
+        wireKeys = pairs.stream().map(pair -> pair.toString().getBytes(StandardCharsets.US_ASCII)).toArray(byte[][]::new);
+        for (int i = 0; i < pairs.size(); i++) {
+            pairMap.put(pairs.get(i), i);
+            stringMap.put(pairs.get(i).toString(), i);
+        }
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (size - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Integer canonicalKey() {
+        return pairMap.get(canonicalKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer equalKey() {
+        return pairMap.get(equalKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer stringKeyBaseline() {
+        return stringMap.get(stringKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer parsedKey() {
+        return pairMap.get(CurrencyPair.parse(wireKeys[nextIndex()], 0));
+    }
+}
@@ -0,0 +1,109 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/// Hashing and equality of [ExchangeRate] instances.
+///
+/// Run with `-prof gc` to compare allocation rates of `hashCode` against the previous `stripTrailingZeros` implementation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExchangeRateBenchmarks {
+
+    @Param({"1.0825", "157.31000", "0.0000610"})
+    public String value;
+
+    private ExchangeRate rate;
+    private ExchangeRate equalRate;
+    private ExchangeRate[] feed;
+
+    @Setup
+    public void setUp() {
+        var pair = CurrencyPair.fromIsoCodes("EUR", "USD");
+        var timestamp = Instant.parse("2025-12-31T16:00:00Z");
+        rate = new ExchangeRate(pair, new BigDecimal(value), timestamp);
+        equalRate = new ExchangeRate(pair, new BigDecimal(value).setScale(12), timestamp);
+
+        // Two sources reporting the same 500 rates with different scales
+        feed = new ExchangeRate[1000];
+        for (int i = 0; i < 500; i++) {
+            var sourceValue = new BigDecimal(value).add(BigDecimal.valueOf(i, 4));
+            feed[2 * i] = new ExchangeRate(pair, sourceValue, timestamp);
+            feed[2 * i + 1] = new ExchangeRate(pair, sourceValue.setScale(10), timestamp);
+        }
+    }
+
+    @Benchmark
+    public int hashCodeStrippingZerosBaseline() {
+        return Objects.hash(rate.currencyPair(), rate.value().stripTrailingZeros(), rate.timestamp());
+    }
+
+    @Benchmark
+    public int hashCodeCurrent() {
+        return rate.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsWithDifferentScale() {
+        return rate.equals(equalRate);
+    }
+
+    @Benchmark
+    public int deduplicateFeed() {
+        var unique = new HashSet<ExchangeRate>(2 * feed.length);
+        for (var feedRate : feed) {
+            unique.add(feedRate);
+        }
+        return unique.size();
+    }
+}
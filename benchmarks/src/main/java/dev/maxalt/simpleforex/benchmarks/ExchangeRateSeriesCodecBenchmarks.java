@@ -0,0 +1,133 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRateCsvReader;
+import dev.maxalt.simpleforex.ExchangeRateCsvWriter;
+import dev.maxalt.simpleforex.ExchangeRateSeries;
+import dev.maxalt.simpleforex.ExchangeRateSeriesCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/// Cold loads of a rate history from in-memory bytes: [ExchangeRateSeriesCodec] decoding into primitive columns or into
+/// rate objects, versus [ExchangeRateCsvReader] reading the same history as CSV. Scores are points per second.
+///
+/// The fixture is minutely rates of 20 pairs moving a few pips at a time, like [CsvBenchmarks] uses.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExchangeRateSeriesCodecBenchmarks {
+
+    private static final List<String> CODES = List.of("USD", "EUR", "JPY", "GBP", "CHF");
+    private static final int MINUTES = 10_000;
+    private static final int POINTS = 20 * MINUTES;
+    private static final long START = 1_764_547_200_000L;
+
+    private byte[] encoded;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        var random = new SplittableRandom(42);
+        var series = new ArrayList<ExchangeRateSeries>();
+        for (var base : CODES) {
+            for (var quote : CODES) {
+                if (base.equals(quote)) {
+                    continue;
+                }
+                var pairSeries = new ExchangeRateSeries(CurrencyPair.fromIsoCodes(base, quote), 5);
+                long unscaledValue = random.nextLong(5_000, 2_000_000);
+                for (int minute = 0; minute < MINUTES; minute++) {
+                    unscaledValue += random.nextLong(-5, 6);
+                    pairSeries.append(START + 60_000L * minute, unscaledValue);
+                }
+                series.add(pairSeries);
+            }
+        }
+
+        var output = new ByteArrayOutputStream();
+        ExchangeRateSeriesCodec.write(series, output);
+        encoded = output.toByteArray();
+
+        output.reset();
+        try (var writer = new ExchangeRateCsvWriter(output)) {
+            for (var pairSeries : series) {
+                writer.writeAll(pairSeries.exchangeRates().toList());
+            }
+        }
+        csv = output.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public List<ExchangeRateSeries> readColumns() throws IOException {
+        return ExchangeRateSeriesCodec.read(new ByteArrayInputStream(encoded));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public long readExchangeRates() {
+        try (var rates = ExchangeRateSeriesCodec.exchangeRates(new ByteArrayInputStream(encoded))) {
+            return rates.count();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public long csvReaderBaseline() throws IOException {
+        long count = 0;
+        try (var reader = new ExchangeRateCsvReader(new ByteArrayInputStream(csv))) {
+            while (reader.read() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
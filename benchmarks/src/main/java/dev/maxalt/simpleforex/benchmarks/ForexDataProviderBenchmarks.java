@@ -0,0 +1,214 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex.benchmarks;
+
+import dev.maxalt.simpleforex.CachingForexDataProvider;
+import dev.maxalt.simpleforex.CurrencyPair;
+import dev.maxalt.simpleforex.ExchangeRate;
+import dev.maxalt.simpleforex.ExchangeRateSeries;
+import dev.maxalt.simpleforex.ForexDataProvider;
+import dev.maxalt.simpleforex.InMemoryForexDataProvider;
+import dev.maxalt.simpleforex.MappedForexDataProvider;
+import dev.maxalt.simpleforex.SeriesForexDataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/// Typical query patterns against [ForexDataProvider] implementations over the same in-memory fixture:
+/// two years of daily rates of 20 pairs.
+///
+/// The `fixture` provider is a plain map of maps, i.e. the baseline that the other implementations compete with.
+/// The `cached` provider wraps it into a [CachingForexDataProvider], which is warm after the warmup iterations.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForexDataProviderBenchmarks {
+
+    private static final List<String> CODES = List.of("USD", "EUR", "JPY", "GBP", "CHF");
+    private static final LocalDate START = LocalDate.parse("2024-01-01");
+    private static final int DAYS = 731;
+
+    @Param({"fixture", "cached", "inMemory", "series", "mapped"})
+    public String provider;
+
+    private ForexDataProvider forexDataProvider;
+    private Path mappedFile;
+    private CurrencyPair[] pairs;
+    private Set<CurrencyPair> someDayPairs;
+    private Set<CurrencyPair> allPairs;
+    private final CurrencyPair[] lookupPairs = new CurrencyPair[1024];
+    private final LocalDate[] lookupDates = new LocalDate[1024];
+    private int lookup;
+
+    @Setup
+    public void setUp() throws IOException {
+        pairs = CODES.stream()
+                .flatMap(base -> CODES.stream().filter(quote -> !quote.equals(base)).map(quote -> CurrencyPair.fromIsoCodes(base, quote)))
+                .toArray(CurrencyPair[]::new);
+        allPairs = Set.of(pairs);
+        someDayPairs = Set.of(pairs[0], pairs[3], pairs[6], pairs[9], pairs[12]);
+
+        var random = new SplittableRandom(42);
+        var fixture = new Fixture();
+        for (var pair : pairs) {
+            long unscaledValue = random.nextLong(5_000, 2_000_000);
+            for (int day = 0; day < DAYS; day++) {
+                unscaledValue += random.nextLong(-unscaledValue / 200, unscaledValue / 200 + 1);
+                var date = START.plusDays(day);
+                var timestamp = date.atTime(16, 0).toInstant(ZoneOffset.UTC);
+                fixture.add(date, new ExchangeRate(pair, BigDecimal.valueOf(unscaledValue, 5), timestamp));
+            }
+        }
+        for (int i = 0; i < lookupPairs.length; i++) {
+            lookupPairs[i] = pairs[random.nextInt(pairs.length)];
+            lookupDates[i] = START.plusDays(random.nextInt(DAYS));
+        }
+
+        forexDataProvider = switch (provider) {
+            case "fixture" -> fixture;
+            case "cached" -> new CachingForexDataProvider(fixture);
+            case "inMemory" -> new InMemoryForexDataProvider().loader().addAll(fixture, allPairs, START, START.plusDays(DAYS - 1)).load();
+            case "series" -> SeriesForexDataProvider.of(fixture.series());
+            case "mapped" -> {
+                mappedFile = Files.createTempFile("simpleforex-benchmarks", ".sfxr");
+                MappedForexDataProvider.writer().addAll(fixture, allPairs, START, START.plusDays(DAYS - 1)).write(mappedFile);
+                yield MappedForexDataProvider.open(mappedFile);
+            }
+            default -> throw new IllegalArgumentException("unknown provider: " + provider);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (forexDataProvider instanceof MappedForexDataProvider mapped) {
+            mapped.close();
+        }
+        if (mappedFile != null) {
+            Files.deleteIfExists(mappedFile);
+        }
+    }
+
+    @Benchmark
+    public Optional<ExchangeRate> findExchangeRate() {
+        lookup = (lookup + 1) & (lookupPairs.length - 1);
+        return forexDataProvider.findExchangeRate(lookupPairs[lookup], lookupDates[lookup]);
+    }
+
+    @Benchmark
+    public long singleDate() {
+        lookup = (lookup + 1) & (lookupDates.length - 1);
+        try (var rates = forexDataProvider.exchangeRates(someDayPairs, lookupDates[lookup])) {
+            return rates.count();
+        }
+    }
+
+    @Benchmark
+    public long monthRange() {
+        lookup = (lookup + 1) & (lookupDates.length - 1);
+        var start = lookupDates[lookup];
+        try (var rates = forexDataProvider.exchangeRates(someDayPairs, start, start.plusDays(30))) {
+            return rates.count();
+        }
+    }
+
+    @Benchmark
+    public long fullHistory() {
+        try (var rates = forexDataProvider.exchangeRates(allPairs, START, START.plusDays(DAYS - 1))) {
+            return rates.count();
+        }
+    }
+
+    // Rates in a map per pair, keyed by date
+    private static final class Fixture implements ForexDataProvider {
+
+        private final Map<CurrencyPair, Map<LocalDate, ExchangeRate>> rates = new HashMap<>();
+
+        void add(LocalDate date, ExchangeRate rate) {
+            rates.computeIfAbsent(rate.currencyPair(), pair -> new HashMap<>()).put(date, rate);
+        }
+
+        List<ExchangeRateSeries> series() {
+            return rates.entrySet().stream()
+                    .map(entry -> {
+                        var series = new ExchangeRateSeries(entry.getKey(), 5);
+                        entry.getValue().entrySet().stream()
+                                .sorted(Map.Entry.comparingByKey())
+                                .forEach(dated -> series.append(dated.getValue()));
+                        return series;
+                    })
+                    .toList();
+        }
+
+        @Override
+        public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+            return Set.copyOf(pairs).stream().flatMap(pair -> findExchangeRate(pair, date).stream());
+        }
+
+        @Override
+        public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+            var requestedPairs = Set.copyOf(pairs);
+            var from = start.isBefore(end) ? start : end;
+            var to = start.isBefore(end) ? end : start;
+            return from.datesUntil(to.plusDays(1)).flatMap(date -> exchangeRates(requestedPairs, date));
+        }
+
+        @Override
+        public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+            return Optional.ofNullable(rates.getOrDefault(pair, Map.of()).get(date));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/// A non-blocking counterpart of [ForexDataProvider].
+///
+/// Methods return right away, and results are delivered through [CompletableFuture]s or, for date range queries,
+/// a [Flow.Publisher] that honors backpressure.
+/// Criteria are validated eagerly, i.e. invalid arguments are thrown by the methods themselves rather than through their results,
+/// while errors of fetching the data complete the results exceptionally.
+///
+/// Use [#of(ForexDataProvider)] to run a blocking provider on virtual threads, and [#asBlocking()] for the reverse.
+@NullMarked
+public interface AsyncForexDataProvider {
+
+    /// Fetches exchange rates of specific currency pairs on a specific date (if available)
+    ///
+    /// See [ForexDataProvider#exchangeRates(Set, LocalDate)] for the semantics of the result.
+    ///
+    /// @param pairs the currency pairs you want exchange rates for *(this set is defensively copied)*
+    /// @param date  the date for which you want exchange rates
+    /// @return a future of the exchange rates that match the criteria (the list is empty if none do)
+    /// @throws NullPointerException if an argument is `null` or contains `null`
+    CompletableFuture<List<ExchangeRate>> exchangeRates(Set<CurrencyPair> pairs, LocalDate date);
+
+    /// Fetches exchange rates of specific currency pairs within a specific date range (if available)
+    ///
+    /// See [ForexDataProvider#exchangeRates(Set, LocalDate, LocalDate)] for the semantics of the result.
+    /// The data is fetched anew for every subscriber, and only once subscribed.
+    ///
+    /// @param pairs the currency pairs you want exchange rates for *(this set is defensively copied)*
+    /// @param start range start date, inclusive
+    /// @param end   range end date, inclusive
+    /// @return a publisher of the exchange rates that match the criteria
+    /// @throws NullPointerException if an argument is `null` or contains `null`
+    Flow.Publisher<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end);
+
+    /// Finds the exchange rate of the given currency pair on the given date (if available).
+    ///
+    /// @param pair the currency pair you want the exchange rate of
+    /// @param date the date of the currency exchange
+    /// @return a future with an exchange rate if one was found, or with an empty `Optional` otherwise
+    /// @throws NullPointerException if either argument is `null`
+    CompletableFuture<Optional<ExchangeRate>> findExchangeRate(CurrencyPair pair, LocalDate date);
+
+    /// Returns all currencies supported by this provider.
+    ///
+    /// Unlike exchange rates, this is expected to be known upfront, so this method may block.
+    ///
+    /// @return a stream of all supported currencies (neither the stream nor its contents are `null`)
+    default Stream<Currency> supportedCurrencies() {
+        return Currency.availableCurrencies();
+    }
+
+    /// Returns the earliest date this provider has exchange rate data for.
+    ///
+    /// Unlike exchange rates, this is expected to be known upfront, so this method may block.
+    ///
+    /// @return the earliest supported date (never `null`), or [LocalDate#MIN] if there's no limit
+    /// @see ForexDataProvider#getEarliestSupportedDate()
+    default LocalDate getEarliestSupportedDate() {
+        return LocalDate.MIN;
+    }
+
+    /// Returns a blocking view of this provider, whose methods wait for the results of this one.
+    ///
+    /// Range queries collect all published rates before returning.
+    ///
+    /// @return a blocking provider backed by this one (or the provider this one adapts, if [created by `of()`][#of(ForexDataProvider)])
+    default ForexDataProvider asBlocking() {
+        return new BlockingForexDataProviderAdapter(this);
+    }
+
+    /// Adapts a blocking provider by running each of its calls on a new virtual thread.
+    ///
+    /// Virtual threads are cheap to block, so tens of thousands of concurrent requests don't need as many platform threads.
+    ///
+    /// @param provider the blocking provider to adapt
+    /// @return a non-blocking provider backed by the given one (or the provider it views, if [created by `asBlocking()`][#asBlocking()])
+    /// @throws NullPointerException if `provider` is `null`
+    static AsyncForexDataProvider of(ForexDataProvider provider) {
+        if (provider instanceof BlockingForexDataProviderAdapter adapter) {
+            return adapter.delegate();
+        }
+        return new AsyncForexDataProviderAdapter(provider, AsyncForexDataProviderAdapter.VIRTUAL_THREADS);
+    }
+
+    /// Adapts a blocking provider by running each of its calls with the given executor.
+    ///
+    /// Range queries are the exception: they iterate the provider's stream on a virtual thread of their own, which waits while
+    /// subscribers don't request more rates, so that a busy or single-threaded executor can still deliver the rates.
+    ///
+    /// @param provider the blocking provider to adapt
+    /// @param executor the executor to call the provider and deliver published rates with
+    /// @return a non-blocking provider backed by the given one
+    /// @throws NullPointerException if an argument is `null`
+    static AsyncForexDataProvider of(ForexDataProvider provider, Executor executor) {
+        return new AsyncForexDataProviderAdapter(provider, executor);
+    }
+}
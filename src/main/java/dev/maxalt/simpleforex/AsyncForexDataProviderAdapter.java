@@ -0,0 +1,122 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.stream.Stream;
+
+/// Runs a blocking [ForexDataProvider] on an executor; see [AsyncForexDataProvider#of(ForexDataProvider)].
+@NullMarked
+final class AsyncForexDataProviderAdapter implements AsyncForexDataProvider {
+
+    static final Executor VIRTUAL_THREADS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("simpleforex-async-", 0).factory());
+
+    private final ForexDataProvider delegate;
+    private final Executor executor;
+
+    AsyncForexDataProviderAdapter(ForexDataProvider delegate, Executor executor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+    }
+
+    @Override
+    public CompletableFuture<List<ExchangeRate>> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(date, "date cannot be null");
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (var rates = delegate.exchangeRates(requestedPairs, date)) {
+                return rates.toList();
+            }
+        }, executor);
+    }
+
+    @Override
+    public Flow.Publisher<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber cannot be null");
+            // A publisher per subscriber: its buffer blocks the fetching thread while the subscriber doesn't request more.
+            // The executor delivers the rates, so the fetching thread must not be one of its own, or a full buffer could never drain
+            var publisher = new SubmissionPublisher<ExchangeRate>(executor, Flow.defaultBufferSize());
+            publisher.subscribe(subscriber);
+            VIRTUAL_THREADS.execute(() -> {
+                try (var rates = delegate.exchangeRates(requestedPairs, start, end)) {
+                    var iterator = rates.iterator();
+                    while (publisher.hasSubscribers() && iterator.hasNext()) {
+                        publisher.submit(iterator.next());
+                    }
+                    publisher.close();
+                } catch (Throwable e) {
+                    publisher.closeExceptionally(e);
+                }
+            });
+        };
+    }
+
+    @Override
+    public CompletableFuture<Optional<ExchangeRate>> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+
+        return CompletableFuture.supplyAsync(() -> delegate.findExchangeRate(pair, date), executor);
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    @Override
+    public ForexDataProvider asBlocking() {
+        return delegate;
+    }
+}
@@ -0,0 +1,292 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] decorator that turns single-pair lookups into set-based queries of the delegate.
+///
+/// [Lookups][#findExchangeRate(CurrencyPair, LocalDate)] are collected into a batch per date, which is sent to the delegate
+/// as one [single-date query][ForexDataProvider#exchangeRates(Set, LocalDate)] when either the batching window elapses
+/// (counting from the batch's first lookup) or the batch reaches its maximum size, whichever comes first.
+/// Lookups of the same pair in the same batch are merged.
+/// Set-based queries and searches for the nearest rate before or after a date are passed to the delegate as is.
+///
+/// The window trades latency for fewer delegate calls; [#queueLatencies()] and [#fetchLatencies()] help tune it.
+///
+/// Batches are sent from virtual threads, so callers of [#findExchangeRateAsync(CurrencyPair, LocalDate)] are never blocked.
+/// [Closing][#close()] the provider sends the pending batches right away and waits for them to complete.
+///
+/// This class is thread-safe if the delegate is.
+@NullMarked
+public final class BatchingForexDataProvider implements ForexDataProvider, AutoCloseable {
+
+    /// The default batching window.
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+
+    /// The default maximum number of distinct pairs per batch.
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final ForexDataProvider delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService fetcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final LatencyHistogram queueLatencies = new LatencyHistogram();
+    private final LatencyHistogram fetchLatencies = new LatencyHistogram();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<LocalDate, Batch> pending = new HashMap<>();
+    private boolean closed;
+
+    /// Creates a provider with the [default window][#DEFAULT_WINDOW] and [maximum batch size][#DEFAULT_MAX_BATCH_SIZE].
+    ///
+    /// @param delegate the provider to send batches to
+    /// @throws NullPointerException if `delegate` is `null`
+    public BatchingForexDataProvider(ForexDataProvider delegate) {
+        this(delegate, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /// Main constructor.
+    ///
+    /// @param delegate     the provider to send batches to
+    /// @param window       how long a batch collects lookups after its first one (must be positive)
+    /// @param maxBatchSize the number of distinct pairs that makes a batch be sent before its window elapses (must be positive)
+    /// @throws NullPointerException     if an argument is `null`
+    /// @throws IllegalArgumentException if `window` or `maxBatchSize` is zero or negative
+    public BatchingForexDataProvider(ForexDataProvider delegate, Duration window, int maxBatchSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+        Objects.requireNonNull(window, "window cannot be null");
+
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maximum batch size must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("simpleforex-batching-timer").daemon().factory());
+    }
+
+    /// Looks up the exchange rate of the given currency pair on the given date as part of a batch, without blocking.
+    ///
+    /// @param pair the currency pair you want the exchange rate of
+    /// @param date the date of the currency exchange
+    /// @return a future completed with the result of [#findExchangeRate(CurrencyPair, LocalDate)],
+    ///         or completed exceptionally with what the delegate threw
+    /// @throws NullPointerException  if either argument is `null`
+    /// @throws IllegalStateException if the provider is closed
+    public CompletableFuture<Optional<ExchangeRate>> findExchangeRateAsync(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("provider is closed");
+            }
+            var batch = pending.get(date);
+            if (batch == null) {
+                var created = new Batch(date);
+                created.timeout = timer.schedule(() -> sendOnTimeout(created), windowNanos, TimeUnit.NANOSECONDS);
+                pending.put(date, created);
+                batch = created;
+            }
+            var future = batch.add(pair, now);
+            if (batch.lookups.size() >= maxBatchSize) {
+                pending.remove(date);
+                Objects.requireNonNull(batch.timeout).cancel(false);
+                send(batch);
+            }
+            // Callers of the same pair share a result, but shouldn't be able to complete or cancel it for each other
+            return future.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The calling thread is blocked until the batch this lookup joins is sent and its result is available.
+    ///
+    /// @throws IllegalStateException if the provider is closed
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        return Futures.join(findExchangeRateAsync(pair, date));
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        return delegate.exchangeRates(pairs, date);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        return delegate.exchangeRates(pairs, start, end);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        return delegate.findLatestExchangeRateOnOrBefore(pair, date);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        return delegate.findEarliestExchangeRateOnOrAfter(pair, date);
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    /// Returns the histogram of how long lookups wait for their batch to be sent.
+    ///
+    /// @return a live view of queueing latencies (bounded by the window, plus scheduling delays)
+    public LatencyHistogram queueLatencies() {
+        return queueLatencies;
+    }
+
+    /// Returns the histogram of how long the delegate takes to answer a batch.
+    ///
+    /// @return a live view of delegate call latencies, one sample per batch
+    public LatencyHistogram fetchLatencies() {
+        return fetchLatencies;
+    }
+
+    /// Sends the pending batches right away, waits until all batches are answered and stops the background threads.
+    /// Further lookups fail with an [IllegalStateException].
+    ///
+    /// This method is idempotent.
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.values().forEach(this::send);
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        timer.shutdownNow();
+        fetcher.close();
+    }
+
+    private void sendOnTimeout(Batch batch) {
+        lock.lock();
+        try {
+            // The batch may have been sent already because it filled up or the provider was closed
+            if (pending.remove(batch.date, batch)) {
+                send(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock, so that no batch is sent after closing
+    private void send(Batch batch) {
+        fetcher.execute(() -> fetch(batch));
+    }
+
+    private void fetch(Batch batch) {
+        long start = System.nanoTime();
+        for (int i = 0; i < batch.lookupCount; i++) {
+            queueLatencies.record(start - batch.enqueuedAt[i]);
+        }
+
+        var rates = new HashMap<CurrencyPair, ExchangeRate>();
+        try (var fetched = delegate.exchangeRates(batch.lookups.keySet(), batch.date)) {
+            fetched.forEach(rate -> rates.putIfAbsent(rate.currencyPair(), rate));
+        } catch (Throwable e) {
+            batch.lookups.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        } finally {
+            fetchLatencies.record(System.nanoTime() - start);
+        }
+        batch.lookups.forEach((pair, future) -> future.complete(Optional.ofNullable(rates.get(pair))));
+    }
+
+    // Lookups of a date, mutated under the lock until the batch is removed from the pending ones
+    private static final class Batch {
+
+        final LocalDate date;
+        final Map<CurrencyPair, CompletableFuture<Optional<ExchangeRate>>> lookups = new LinkedHashMap<>();
+        // When each lookup was enqueued, including repeated lookups of a pair
+        long[] enqueuedAt = new long[8];
+        int lookupCount;
+        @Nullable ScheduledFuture<?> timeout;
+
+        Batch(LocalDate date) {
+            this.date = date;
+        }
+
+        CompletableFuture<Optional<ExchangeRate>> add(CurrencyPair pair, long now) {
+            if (lookupCount == enqueuedAt.length) {
+                enqueuedAt = Arrays.copyOf(enqueuedAt, lookupCount * 2);
+            }
+            enqueuedAt[lookupCount++] = now;
+            return lookups.computeIfAbsent(pair, key -> new CompletableFuture<>());
+        }
+    }
+}
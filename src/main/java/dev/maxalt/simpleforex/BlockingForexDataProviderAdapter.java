@@ -0,0 +1,112 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/// Waits for the results of an [AsyncForexDataProvider]; see [AsyncForexDataProvider#asBlocking()].
+@NullMarked
+final class BlockingForexDataProviderAdapter implements ForexDataProvider {
+
+    private final AsyncForexDataProvider delegate;
+
+    BlockingForexDataProviderAdapter(AsyncForexDataProvider delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+    }
+
+    AsyncForexDataProvider delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        return Futures.join(delegate.exchangeRates(pairs, date)).stream();
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var subscriber = new CollectingSubscriber();
+        delegate.exchangeRates(pairs, start, end).subscribe(subscriber);
+        return Futures.join(subscriber.result).stream();
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        return Futures.join(delegate.findExchangeRate(pair, date));
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    // Requests everything upfront, since the caller waits for the whole range anyway
+    private static final class CollectingSubscriber implements Flow.Subscriber<ExchangeRate> {
+
+        final CompletableFuture<List<ExchangeRate>> result = new CompletableFuture<>();
+        private final List<ExchangeRate> rates = new ArrayList<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ExchangeRate rate) {
+            rates.add(rate);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(List.copyOf(rates));
+        }
+    }
+}
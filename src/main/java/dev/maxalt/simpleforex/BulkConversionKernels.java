@@ -0,0 +1,53 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/// Kernels that the bulk methods of [Converter] hand whole arrays of amounts to, and which compute the same results as its scalar code.
+///
+/// The only implementation, `VectorConversions`, uses the incubating Vector API. It's compiled only by the `vector` build profile,
+/// so [Converter] loads it by name, if it's present and the application adds the `jdk.incubator.vector` module.
+/// Each kernel converts a prefix of the range and returns its length, leaving the rest to the scalar code.
+@NullMarked
+interface BulkConversionKernels {
+
+    /// Checks if the kernels beat the scalar code on this machine, so that the bulk methods should use them.
+    boolean isEffective();
+
+    /// Converts `double` amounts like [Converter#convert(double)] does.
+    int convert(double[] amounts, int offset, double[] results, int resultOffset, int length, double rate, boolean inverse);
+
+    /// Converts minor units like [Converter#convertMinorUnits(long)] does, where amounts within `±maxAmount` are converted to
+    /// `round(amount * multiplier / divisor)`. Amounts beyond that are converted by the scalar code of the converter.
+    int convertMinorUnits(Converter converter, long[] amounts, int offset, long[] results, int resultOffset, int length,
+                          long multiplier, FixedPoint.@Nullable Divisor divisor, long maxAmount);
+}
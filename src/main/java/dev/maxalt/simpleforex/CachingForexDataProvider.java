@@ -0,0 +1,558 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] decorator that caches exchange rates by currency pair and date.
+///
+/// Exchange rates of past dates don't change, so they're cached until evicted for capacity.
+/// Rates of the current date (and future dates) may still change, so they expire after a configurable time-to-live.
+/// Absent rates are cached too, so repeatedly asking for a rate on a weekend doesn't reach the delegate either.
+/// Since a rate may be published late, absences of recent dates (within a configurable late publication window before the current date)
+/// expire after the same time-to-live; older absences are cached like rates of past dates.
+///
+/// The cache is bounded both by the number of entries and by their estimated memory footprint (weight),
+/// and evicts the least recently used entries first.
+///
+/// Single-date queries are served per pair: only the pairs that aren't cached are requested from the delegate, in one call.
+/// Date range queries are served from the cache only if every pair and date in the range is cached,
+/// and are passed to the delegate otherwise (their results are not cached, since a range result doesn't tell which requested date
+/// each rate answers). Searches for the nearest rate before or after a date are passed to the delegate as is, so that an indexed
+/// delegate answers them with a single search.
+///
+/// The cached rates of past dates can be [written to a snapshot file][#writeSnapshot(Path)] and [loaded][#loadSnapshot(Path)]
+/// into a new cache, so that a restarted service doesn't have to fetch its working set again.
+///
+/// This class is thread-safe if the delegate is. Concurrent misses of the same rate may call the delegate more than once;
+/// wrap the delegate in a [SingleFlightForexDataProvider] to merge them into one call.
+@NullMarked
+public final class CachingForexDataProvider implements ForexDataProvider {
+
+    /// The default maximum number of cached entries.
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000_000;
+
+    /// The default maximum total weight of cached entries, in estimated bytes.
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 256L * 1024 * 1024;
+
+    /// The default time-to-live of the current date's entries and of recently absent rates.
+    public static final Duration DEFAULT_CURRENT_DATE_TTL = Duration.ofMinutes(1);
+
+    /// The default late publication window: absences of rates of the past week expire, older absences don't.
+    public static final Period DEFAULT_LATE_PUBLICATION_WINDOW = Period.ofWeeks(1);
+
+    // Rough estimates of the retained heap size: the map node with its key (a record and a LocalDate) and entry,
+    // and an exchange rate (the record, an Instant and a BigDecimal without a BigInteger)
+    private static final long ENTRY_WEIGHT = 112;
+    private static final long RATE_WEIGHT = 96;
+
+    private static final int SNAPSHOT_MAGIC = 'S' << 24 | 'F' << 16 | 'X' << 8 | 'C';
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = 12;
+    private static final int SNAPSHOT_RECORD_HEADER_SIZE = 32;
+    // Records are variable-length, so their fields aren't aligned
+    private static final ValueLayout.OfInt SNAPSHOT_INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong SNAPSHOT_LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final ForexDataProvider delegate;
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final Duration currentDateTtl;
+    private final Period latePublicationWindow;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<RateKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /// Creates a cache with default bounds and time-to-live.
+    ///
+    /// @param delegate the provider to fetch missing rates from
+    /// @throws NullPointerException if `delegate` is `null`
+    public CachingForexDataProvider(ForexDataProvider delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_WEIGHT, DEFAULT_CURRENT_DATE_TTL, Clock.systemUTC());
+    }
+
+    /// Creates a cache with the default late publication window.
+    ///
+    /// @param delegate       the provider to fetch missing rates from
+    /// @param maximumSize    the maximum number of cached entries (must be positive)
+    /// @param maximumWeight  the maximum estimated memory footprint of cached entries in bytes (must be positive)
+    /// @param currentDateTtl how long rates of the current date and recently absent rates stay cached (must be positive)
+    /// @param clock          the clock that tells the current date (in its zone) and time
+    /// @throws NullPointerException     if any argument is `null`
+    /// @throws IllegalArgumentException if a bound or the time-to-live is zero or negative
+    public CachingForexDataProvider(ForexDataProvider delegate, long maximumSize, long maximumWeight, Duration currentDateTtl, Clock clock) {
+        this(delegate, maximumSize, maximumWeight, currentDateTtl, DEFAULT_LATE_PUBLICATION_WINDOW, clock);
+    }
+
+    /// Main constructor.
+    ///
+    /// @param delegate              the provider to fetch missing rates from
+    /// @param maximumSize           the maximum number of cached entries (must be positive)
+    /// @param maximumWeight         the maximum estimated memory footprint of cached entries in bytes (must be positive)
+    /// @param currentDateTtl        how long rates of the current date and recently absent rates stay cached (must be positive)
+    /// @param latePublicationWindow how far before the current date an absent rate may still be published, so that its absence
+    ///                              expires after `currentDateTtl`; absences of older dates never expire (must not be negative)
+    /// @param clock                 the clock that tells the current date (in its zone) and time
+    /// @throws NullPointerException     if any argument is `null`
+    /// @throws IllegalArgumentException if a bound or the time-to-live is zero or negative, or if the window is negative
+    public CachingForexDataProvider(ForexDataProvider delegate, long maximumSize, long maximumWeight, Duration currentDateTtl,
+                                    Period latePublicationWindow, Clock clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+        this.currentDateTtl = Objects.requireNonNull(currentDateTtl, "time-to-live cannot be null");
+        this.latePublicationWindow = Objects.requireNonNull(latePublicationWindow, "late publication window cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+
+        if (maximumSize <= 0 || maximumWeight <= 0) {
+            throw new IllegalArgumentException("cache bounds must be positive");
+        }
+        if (currentDateTtl.isNegative() || currentDateTtl.isZero()) {
+            throw new IllegalArgumentException("time-to-live must be positive");
+        }
+        if (latePublicationWindow.isNegative()) {
+            throw new IllegalArgumentException("late publication window cannot be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(date, "date cannot be null");
+
+        var found = new ArrayList<ExchangeRate>(requestedPairs.size());
+        var missingPairs = new HashSet<CurrencyPair>();
+        var now = clock.instant();
+        lock.lock();
+        try {
+            for (var pair : requestedPairs) {
+                var entry = lookup(new RateKey(pair, date), now);
+                if (entry == null) {
+                    missingPairs.add(pair);
+                } else if (entry.rate != null) {
+                    found.add(entry.rate);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!missingPairs.isEmpty()) {
+            List<ExchangeRate> fetched;
+            try (var rates = delegate.exchangeRates(missingPairs, date)) {
+                fetched = rates.filter(rate -> missingPairs.contains(rate.currencyPair())).toList();
+            }
+
+            var fetchedPairs = new HashSet<CurrencyPair>();
+            for (var rate : fetched) {
+                if (fetchedPairs.add(rate.currencyPair())) {
+                    store(new RateKey(rate.currencyPair(), date), rate);
+                    found.add(rate);
+                }
+            }
+            for (var pair : missingPairs) {
+                if (!fetchedPairs.contains(pair)) {
+                    store(new RateKey(pair, date), null);
+                }
+            }
+        }
+        return found.stream();
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        if (requestedPairs.isEmpty()) {
+            return Stream.empty();
+        }
+
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        var found = new ArrayList<ExchangeRate>();
+        var now = clock.instant();
+        boolean fullyCached = true;
+        long probeCount = 0;
+        lock.lock();
+        try {
+            for (var date = from; fullyCached && !date.isAfter(to); date = date.plusDays(1)) {
+                for (var pair : requestedPairs) {
+                    var entry = probe(new RateKey(pair, date), now);
+                    if (entry == null) {
+                        fullyCached = false;
+                        break;
+                    }
+                    probeCount++;
+                    if (entry.rate != null) {
+                        found.add(entry.rate);
+                    }
+                }
+            }
+            // Only a fully cached range is served from the cache; otherwise, the whole query is one miss
+            if (fullyCached) {
+                hitCount += probeCount;
+            } else {
+                missCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return fullyCached ? found.stream() : delegate.exchangeRates(requestedPairs, start, end);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        var key = new RateKey(pair, date);
+
+        lock.lock();
+        try {
+            var entry = lookup(key, clock.instant());
+            if (entry != null) {
+                return Optional.ofNullable(entry.rate);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        var rate = delegate.findExchangeRate(pair, date);
+        store(key, rate.orElse(null));
+        return rate;
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        return delegate.findLatestExchangeRateOnOrBefore(pair, date);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        return delegate.findEarliestExchangeRateOnOrAfter(pair, date);
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    /// Returns a snapshot of the cache statistics.
+    ///
+    /// @return the current statistics
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hitCount, missCount, evictionCount, entries.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Writes the cached rates of past dates to a snapshot file, e.g. on shutdown or periodically, so that a restarted cache
+    /// can [load][#loadSnapshot(Path)] them instead of fetching them again.
+    ///
+    /// The snapshot is written to a temporary file and moved into place atomically, so a failure while writing never leaves
+    /// a broken snapshot behind. Rates are stored exactly as they were cached, with the scale of each value and the full precision
+    /// of its timestamp. Rates of the current and future dates and cached absences of rates (which expire) are not included.
+    ///
+    /// ## Format
+    ///
+    /// All numbers are big-endian, as written by [DataOutputStream]. A snapshot starts with the magic number `SFXC`,
+    /// an `int` format version (`1`) and an `int` record count. Each record is an `int` [packed key][CurrencyPair#toPackedKey()]
+    /// of the pair, a `long` epoch day of the date the rate is for, a `long` epoch second and an `int` nanosecond of the rate's
+    /// timestamp, and the value as an `int` scale and an `int` length followed by the two's-complement bytes of its unscaled value.
+    ///
+    /// @param path the file to write
+    /// @return the number of written rates
+    /// @throws NullPointerException if `path` is `null`
+    /// @throws IOException          if the file can't be written
+    public int writeSnapshot(Path path) throws IOException {
+        Objects.requireNonNull(path, "path cannot be null");
+
+        var keys = new ArrayList<RateKey>();
+        var rates = new ArrayList<ExchangeRate>();
+        lock.lock();
+        try {
+            entries.forEach((key, entry) -> {
+                if (entry.rate != null && entry.expiresAt == null) {
+                    keys.add(key);
+                    rates.add(entry.rate);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        var temporaryFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeInt(rates.size());
+                for (int i = 0; i < rates.size(); i++) {
+                    var rate = rates.get(i);
+                    var unscaledValue = rate.value().unscaledValue().toByteArray();
+                    output.writeInt(rate.currencyPair().toPackedKey());
+                    output.writeLong(keys.get(i).date().toEpochDay());
+                    output.writeLong(rate.timestamp().getEpochSecond());
+                    output.writeInt(rate.timestamp().getNano());
+                    output.writeInt(rate.value().scale());
+                    output.writeInt(unscaledValue.length);
+                    output.write(unscaledValue);
+                }
+            }
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        return rates.size();
+    }
+
+    /// Loads the rates of a snapshot written by [#writeSnapshot(Path)], e.g. on startup before serving traffic.
+    ///
+    /// The file is memory-mapped and decoded in place, without copying it through stream buffers first.
+    /// Rates that are already cached are kept, and the cache's bounds apply as usual.
+    /// Rates of dates that are current or in the future by now get the usual time-to-live.
+    ///
+    /// @param path the snapshot file
+    /// @return the number of loaded rates
+    /// @throws NullPointerException if `path` is `null`
+    /// @throws IOException          if the file can't be read or isn't a valid snapshot
+    public int loadSnapshot(Path path) throws IOException {
+        Objects.requireNonNull(path, "path cannot be null");
+
+        var keys = new ArrayList<RateKey>();
+        var rates = new ArrayList<ExchangeRate>();
+        try (var arena = Arena.ofConfined(); var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (file.byteSize() < SNAPSHOT_HEADER_SIZE || file.get(SNAPSHOT_INT, 0) != SNAPSHOT_MAGIC) {
+                throw new IOException("not a cache snapshot: " + path);
+            }
+            int version = file.get(SNAPSHOT_INT, 4);
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("unsupported cache snapshot version " + version + ": " + path);
+            }
+            int count = file.get(SNAPSHOT_INT, 8);
+            if (count < 0) {
+                throw new IOException("corrupt cache snapshot: " + path);
+            }
+            long offset = SNAPSHOT_HEADER_SIZE;
+            try {
+                for (int i = 0; i < count; i++) {
+                    var pair = CurrencyPair.fromPackedKey(file.get(SNAPSHOT_INT, offset));
+                    var date = LocalDate.ofEpochDay(file.get(SNAPSHOT_LONG, offset + 4));
+                    var timestamp = Instant.ofEpochSecond(file.get(SNAPSHOT_LONG, offset + 12), file.get(SNAPSHOT_INT, offset + 20));
+                    int scale = file.get(SNAPSHOT_INT, offset + 24);
+                    int length = file.get(SNAPSHOT_INT, offset + 28);
+                    if (length <= 0) {
+                        throw new IOException("corrupt cache snapshot: " + path);
+                    }
+                    var unscaledValue = file.asSlice(offset + SNAPSHOT_RECORD_HEADER_SIZE, length).toArray(ValueLayout.JAVA_BYTE);
+                    offset += SNAPSHOT_RECORD_HEADER_SIZE + length;
+                    var value = new BigDecimal(new BigInteger(unscaledValue), scale);
+                    keys.add(new RateKey(pair, date));
+                    rates.add(new ExchangeRate(pair, value, timestamp));
+                }
+            } catch (IndexOutOfBoundsException | DateTimeException | IllegalArgumentException | ArithmeticException e) {
+                throw new IOException("corrupt cache snapshot: " + path, e);
+            }
+            if (offset != file.byteSize()) {
+                throw new IOException("corrupt cache snapshot: " + path);
+            }
+        }
+
+        var now = clock.instant();
+        int loaded = 0;
+        lock.lock();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                var key = keys.get(i);
+                if (!entries.containsKey(key)) {
+                    var entry = entry(key, rates.get(i), now);
+                    entries.put(key, entry);
+                    weight += entry.weight;
+                    loaded++;
+                }
+            }
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    /// Removes all cached entries. Statistics are not reset.
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called while holding the lock
+    private @Nullable Entry lookup(RateKey key, Instant now) {
+        var entry = probe(key, now);
+        if (entry == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return entry;
+    }
+
+    // Like lookup, but without recording a hit or miss. Must be called while holding the lock
+    private @Nullable Entry probe(RateKey key, Instant now) {
+        var entry = entries.get(key);
+        if (entry != null && entry.expiresAt != null && !now.isBefore(entry.expiresAt)) {
+            entries.remove(key);
+            weight -= entry.weight;
+            entry = null;
+        }
+        return entry;
+    }
+
+    private void store(RateKey key, @Nullable ExchangeRate rate) {
+        var entry = entry(key, rate, clock.instant());
+
+        lock.lock();
+        try {
+            var previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entry.weight;
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry entry(RateKey key, @Nullable ExchangeRate rate, Instant now) {
+        var today = LocalDate.ofInstant(now, clock.getZone());
+        var expiresAt = key.date().isBefore(rate != null ? today : latePublicationCutoff(today)) ? null : now.plus(currentDateTtl);
+        return new Entry(rate, weigh(rate), expiresAt);
+    }
+
+    // The earliest date whose absent rate may still be published
+    private LocalDate latePublicationCutoff(LocalDate today) {
+        try {
+            return today.minus(latePublicationWindow);
+        } catch (DateTimeException e) {
+            return LocalDate.MIN;
+        }
+    }
+
+    // Must be called while holding the lock
+    private void evictIfNeeded() {
+        var iterator = entries.values().iterator();
+        while ((entries.size() > maximumSize || weight > maximumWeight) && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+            evictionCount++;
+        }
+    }
+
+    private static long weigh(@Nullable ExchangeRate rate) {
+        if (rate == null) {
+            return ENTRY_WEIGHT;
+        }
+        // Values that don't fit into a long carry a BigInteger with roughly one int per 9.6 digits
+        long bigIntegerWeight = rate.value().precision() > 18 ? 40 + rate.value().precision() / 2 : 0;
+        return ENTRY_WEIGHT + RATE_WEIGHT + bigIntegerWeight;
+    }
+
+    // A cached rate (null if the delegate didn't have it) and when it expires (null if never)
+    private record Entry(@Nullable ExchangeRate rate, long weight, @Nullable Instant expiresAt) {
+    }
+
+    /// Statistics of a [CachingForexDataProvider].
+    ///
+    /// @param hitCount      the number of lookups of a pair on a date that were served from the cache
+    /// @param missCount     the number of lookups of a pair on a date that weren't cached or were expired,
+    ///                      plus one for each date range query that wasn't fully cached
+    /// @param evictionCount the number of entries evicted to stay within the bounds (expired entries are not counted)
+    /// @param size          the current number of cached entries
+    /// @param weight        the current estimated memory footprint of cached entries, in bytes
+    public record Stats(long hitCount, long missCount, long evictionCount, long size, long weight) {
+
+        /// Returns the ratio of hits to all lookups.
+        ///
+        /// @return a number between `0` and `1`, or `1` if there were no lookups
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+    }
+}
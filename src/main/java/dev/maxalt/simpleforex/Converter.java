@@ -0,0 +1,301 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/// Converts amounts of money with an exchange rate, from the base currency of its pair to the quote currency,
+/// or the other way around with the [inverse][#inverse()] converter.
+///
+/// Amounts are either [BigDecimal]s or `long` amounts of minor units, e.g. cents, whose number per major unit follows
+/// [Currency#getDefaultFractionDigits()]. Either way, the converted amount is the exact product (or quotient) rounded once,
+/// to the fraction digits of the target currency, with the converter's rounding mode:
+/// converting 12.35 EUR with `EURJPY 183.66` gives 2268 JPY, and converting 1235 euro cents gives the same 2268 yen.
+/// Amounts can also be converted as `double`s, approximately and without rounding them to minor units, e.g. for analytics.
+///
+/// Minor units are converted with `long` arithmetic on the [fixed-point value][FixedRate] of the rate, without allocating,
+/// unless the intermediate product overflows a `long`. It's divided with a multiplication by a precomputed reciprocal,
+/// and rounded without branches, so the cost per amount doesn't depend on the data.
+/// The bulk methods, such as [#convertMinorUnits(long[], int, long[], int, int)], convert whole arrays of amounts that way.
+///
+/// If the library is built with the `vector` profile, the application adds the incubating Vector API module
+/// (`--add-modules jdk.incubator.vector`) and the CPU has 512-bit vectors (AVX-512), the bulk methods convert eight amounts at a time.
+/// The results are identical to those of the scalar code, which is used otherwise.
+///
+/// This class is immutable and thread-safe.
+@NullMarked
+public final class Converter {
+
+    // The Vector API kernels, or null if they weren't built or can't be loaded without the module
+    static final @Nullable BulkConversionKernels VECTOR_KERNELS = loadVectorKernels();
+    private static final boolean VECTORIZED = VECTOR_KERNELS != null && VECTOR_KERNELS.isEffective();
+
+    private final ExchangeRate exchangeRate;
+    private final RoundingMode roundingMode;
+    private final boolean inverse;
+    private final int targetFractionDigits;
+    private final double doubleRate;
+    // The rate in minor units is unscaledRate / 10^exponent
+    private final long unscaledRate;
+    private final int exponent;
+    // Amounts within ±maxAmount are converted to round(amount * multiplier / divisor) with long arithmetic,
+    // where the divisor is null if it's 1. The max amount is -1 if the rate in minor units doesn't fit into longs,
+    // or if the division needs to be checked for exactness because the rounding mode is UNNECESSARY
+    private final long multiplier;
+    private final FixedPoint.@Nullable Divisor divisor;
+    private final long maxAmount;
+
+    private Converter(ExchangeRate exchangeRate, RoundingMode roundingMode, boolean inverse) {
+        this.exchangeRate = exchangeRate;
+        this.roundingMode = roundingMode;
+        this.inverse = inverse;
+
+        var pair = exchangeRate.currencyPair();
+        int baseFractionDigits = fractionDigits(pair.base());
+        int quoteFractionDigits = fractionDigits(pair.quote());
+        this.targetFractionDigits = inverse ? baseFractionDigits : quoteFractionDigits;
+
+        var rate = exchangeRate.fixedValue();
+        this.doubleRate = rate.toDouble();
+        this.unscaledRate = rate.unscaledValue();
+        this.exponent = baseFractionDigits + rate.scale() - quoteFractionDigits;
+
+        long numerator;
+        long denominator;
+        try {
+            numerator = exponent < 0 ? FixedPoint.multiplyByPowerOfTen(unscaledRate, -exponent) : unscaledRate;
+            denominator = FixedPoint.multiplyByPowerOfTen(1, Math.max(exponent, 0));
+        } catch (ArithmeticException tooLarge) {
+            numerator = 0;
+            denominator = 0;
+        }
+        this.multiplier = inverse ? denominator : numerator;
+        long divisorValue = inverse ? numerator : denominator;
+        boolean inexact = divisorValue > 1 && roundingMode == RoundingMode.UNNECESSARY;
+        this.divisor = divisorValue > 1 && !inexact ? FixedPoint.Divisor.of(divisorValue, roundingMode) : null;
+        this.maxAmount = multiplier == 0 || inexact ? -1 : Long.MAX_VALUE / multiplier;
+    }
+
+    /// Creates a converter that rounds with the [default rounding mode][ExchangeRate#DEFAULT_ROUNDING_MODE].
+    ///
+    /// @param exchangeRate the rate to convert with
+    /// @return a converter from the base to the quote currency of the rate's pair
+    /// @throws NullPointerException     if `exchangeRate` is `null`
+    /// @throws IllegalArgumentException if a currency of the pair has no minor unit, like gold (`XAU`)
+    /// @throws ArithmeticException      if the rate's value can't be represented as a [FixedRate]
+    public static Converter of(ExchangeRate exchangeRate) {
+        return of(exchangeRate, ExchangeRate.DEFAULT_ROUNDING_MODE);
+    }
+
+    /// Creates a converter that rounds with the given mode.
+    ///
+    /// @param exchangeRate the rate to convert with
+    /// @param roundingMode how to round converted amounts to the fraction digits of the quote currency
+    /// @return a converter from the base to the quote currency of the rate's pair
+    /// @throws NullPointerException     if an argument is `null`
+    /// @throws IllegalArgumentException if a currency of the pair has no minor unit, like gold (`XAU`)
+    /// @throws ArithmeticException      if the rate's value can't be represented as a [FixedRate]
+    public static Converter of(ExchangeRate exchangeRate, RoundingMode roundingMode) {
+        Objects.requireNonNull(exchangeRate, "exchange rate cannot be null");
+        Objects.requireNonNull(roundingMode, "rounding mode cannot be null");
+        return new Converter(exchangeRate, roundingMode, false);
+    }
+
+    /// Returns a converter in the opposite direction, which divides amounts by the same rate.
+    ///
+    /// Dividing by the rate, rather than multiplying by its rounded [inverse][ExchangeRate#inverse()], means that converting
+    /// an amount and converting it back loses no more than the rounding of the two results.
+    ///
+    /// @return a converter from the quote to the base currency of the rate's pair, with the same rounding mode
+    public Converter inverse() {
+        return new Converter(exchangeRate, roundingMode, !inverse);
+    }
+
+    /// Returns the exchange rate this converter converts with.
+    ///
+    /// @return the exchange rate
+    public ExchangeRate exchangeRate() {
+        return exchangeRate;
+    }
+
+    /// Returns the rounding mode of converted amounts.
+    ///
+    /// @return the rounding mode
+    public RoundingMode roundingMode() {
+        return roundingMode;
+    }
+
+    /// Converts an amount of the source currency.
+    ///
+    /// @param amount an amount of the source currency, of any scale
+    /// @return the amount of the target currency, with the target currency's default fraction digits as its scale
+    /// @throws NullPointerException if `amount` is `null`
+    /// @throws ArithmeticException  if rounding is necessary but the rounding mode is [RoundingMode#UNNECESSARY]
+    public BigDecimal convert(BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount cannot be null");
+        return inverse
+                ? amount.divide(exchangeRate.value(), targetFractionDigits, roundingMode)
+                : amount.multiply(exchangeRate.value()).setScale(targetFractionDigits, roundingMode);
+    }
+
+    /// Converts an amount of the source currency approximately, with `double` arithmetic.
+    ///
+    /// The result is the amount multiplied (or divided) by the closest `double` to the rate, and isn't rounded to minor units.
+    ///
+    /// @param amount an amount of the source currency
+    /// @return the approximate amount of the target currency
+    public double convert(double amount) {
+        return inverse ? amount / doubleRate : amount * doubleRate;
+    }
+
+    /// Converts amounts of the source currency approximately in bulk, like [#convert(double)] does for each of them.
+    ///
+    /// The arrays may be the same to convert amounts in place.
+    ///
+    /// @param amounts      the amounts of the source currency
+    /// @param offset       the index of the first amount to convert
+    /// @param results      the array to store the amounts of the target currency in
+    /// @param resultOffset the index to store the first result at
+    /// @param length       the number of amounts to convert
+    /// @throws NullPointerException      if an array is `null`
+    /// @throws IndexOutOfBoundsException if a range is out of its array's bounds
+    public void convert(double[] amounts, int offset, double[] results, int resultOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, amounts.length);
+        Objects.checkFromIndexSize(resultOffset, length, results.length);
+
+        int converted = VECTORIZED ? convertWithVectors(amounts, offset, results, resultOffset, length) : 0;
+        for (int i = converted; i < length; i++) {
+            results[resultOffset + i] = convert(amounts[offset + i]);
+        }
+    }
+
+    /// Converts an amount of minor units of the source currency to minor units of the target currency.
+    ///
+    /// @param amount an amount of minor units of the source currency, e.g. cents
+    /// @return the amount of minor units of the target currency
+    /// @throws ArithmeticException if the result overflows a `long`, or rounding is necessary but the rounding mode is
+    ///                             [RoundingMode#UNNECESSARY]
+    public long convertMinorUnits(long amount) {
+        if (amount >= -maxAmount && amount <= maxAmount) {
+            long dividend = amount * multiplier;
+            return divisor == null ? dividend : divisor.divide(dividend);
+        }
+        // The intermediate product needs more than 64 bits, although the result might not
+        var rate = BigDecimal.valueOf(unscaledRate, exponent);
+        var result = inverse
+                ? BigDecimal.valueOf(amount).divide(rate, 0, roundingMode)
+                : BigDecimal.valueOf(amount).multiply(rate).setScale(0, roundingMode);
+        return result.longValueExact();
+    }
+
+    /// Converts amounts of minor units of the source currency to minor units of the target currency in bulk,
+    /// like [#convertMinorUnits(long)] does for each of them.
+    ///
+    /// The arrays may be the same to convert amounts in place. If a conversion fails, the results of the amounts before it
+    /// have been stored already.
+    ///
+    /// @param amounts      the amounts of minor units of the source currency
+    /// @param offset       the index of the first amount to convert
+    /// @param results      the array to store the amounts of minor units of the target currency in
+    /// @param resultOffset the index to store the first result at
+    /// @param length       the number of amounts to convert
+    /// @throws NullPointerException      if an array is `null`
+    /// @throws IndexOutOfBoundsException if a range is out of its array's bounds
+    /// @throws ArithmeticException       if a result overflows a `long`, or rounding is necessary but the rounding mode is
+    ///                                   [RoundingMode#UNNECESSARY]
+    public void convertMinorUnits(long[] amounts, int offset, long[] results, int resultOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, amounts.length);
+        Objects.checkFromIndexSize(resultOffset, length, results.length);
+
+        int converted = VECTORIZED ? convertMinorUnitsWithVectors(amounts, offset, results, resultOffset, length) : 0;
+        for (int i = converted; i < length; i++) {
+            results[resultOffset + i] = convertMinorUnits(amounts[offset + i]);
+        }
+    }
+
+    /// Converts all amounts of an array, like [#convertMinorUnits(long[], int, long[], int, int)] does.
+    ///
+    /// @param amounts the amounts of minor units of the source currency
+    /// @param results the array to store the amounts of minor units of the target currency in, at least as long as `amounts`
+    /// @throws NullPointerException      if an array is `null`
+    /// @throws IndexOutOfBoundsException if `results` is shorter than `amounts`
+    /// @throws ArithmeticException       if a result overflows a `long`, or rounding is necessary but the rounding mode is
+    ///                                   [RoundingMode#UNNECESSARY]
+    public void convertMinorUnits(long[] amounts, long[] results) {
+        convertMinorUnits(amounts, 0, results, 0, amounts.length);
+    }
+
+    // The Vector API kernels of the bulk methods, which work at any vector width but only pay off with 512-bit vectors.
+    // They convert a prefix of the range and return its length, leaving the rest to the scalar code.
+    // Must only be called if the kernels are loaded
+    int convertWithVectors(double[] amounts, int offset, double[] results, int resultOffset, int length) {
+        return Objects.requireNonNull(VECTOR_KERNELS).convert(amounts, offset, results, resultOffset, length, doubleRate, inverse);
+    }
+
+    int convertMinorUnitsWithVectors(long[] amounts, int offset, long[] results, int resultOffset, int length) {
+        // Without a long fast path, every amount is converted exactly by the scalar code
+        return maxAmount >= 0
+                ? Objects.requireNonNull(VECTOR_KERNELS)
+                        .convertMinorUnits(this, amounts, offset, results, resultOffset, length, multiplier, divisor, maxAmount)
+                : 0;
+    }
+
+    @Override
+    public String toString() {
+        var pair = inverse ? exchangeRate.currencyPair().swapped() + " 1/" : exchangeRate.currencyPair() + " ";
+        return "Converter[" + pair + exchangeRate.value().toPlainString() + ", " + roundingMode + "]";
+    }
+
+    private static @Nullable BulkConversionKernels loadVectorKernels() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (BulkConversionKernels) Class.forName("dev.maxalt.simpleforex.VectorConversions").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // Built without the vector profile
+            return null;
+        }
+    }
+
+    private static int fractionDigits(Currency currency) {
+        int fractionDigits = currency.getDefaultFractionDigits();
+        if (fractionDigits < 0) {
+            throw new IllegalArgumentException("currency has no minor unit: " + currency);
+        }
+        return fractionDigits;
+    }
+}
@@ -0,0 +1,294 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/// Derives exchange rates of arbitrary currency pairs from a set of known rates, e.g. `SEKNOK` from `EURSEK` and `EURNOK`.
+///
+/// Known rates form a graph where currencies are nodes and rates are edges that can be walked in both directions
+/// (walking an edge backwards uses the [inverse][ExchangeRate#inverse(MathContext)] rate).
+/// A cross rate is the product of the rates along the path with the fewest legs between the pair's currencies.
+/// Among paths with the fewest legs, paths through currencies with more known rates are preferred,
+/// since those are usually the most liquid ones (such as `USD` or `EUR`).
+///
+/// All rates from one base currency are computed together and memoized on first use,
+/// so a full cross-rate matrix costs one graph traversal per currency.
+///
+/// The timestamp of a cross rate is the earliest timestamp among its legs, i.e. the rate is as recent as its stalest input.
+///
+/// This class is immutable and thread-safe.
+@NullMarked
+public final class CrossRateEngine {
+
+    private final MathContext mathContext;
+    private final Currency[] currencies;
+    private final Map<Currency, Integer> indices;
+
+    // Edges of the graph: for each currency, its neighbors (sorted by preference) and the rates and timestamps of the legs towards them
+    private final int[][] neighbors;
+    private final BigDecimal[][] legRates;
+    private final Instant[][] legTimestamps;
+
+    private final AtomicReferenceArray<@Nullable Row> rows;
+
+    private CrossRateEngine(Collection<ExchangeRate> rates, MathContext mathContext) {
+        this.mathContext = mathContext;
+
+        // Keeps the latest rate of each pair
+        var latestRates = new HashMap<CurrencyPair, ExchangeRate>();
+        for (var rate : rates) {
+            Objects.requireNonNull(rate, "exchange rates cannot contain null");
+            latestRates.merge(rate.currencyPair(), rate, (a, b) -> b.timestamp().isAfter(a.timestamp()) ? b : a);
+        }
+
+        var currencySet = new LinkedHashSet<Currency>();
+        for (var pair : latestRates.keySet()) {
+            currencySet.add(pair.base());
+            currencySet.add(pair.quote());
+        }
+        this.currencies = currencySet.stream()
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .toArray(Currency[]::new);
+        this.indices = new HashMap<>();
+        for (int i = 0; i < currencies.length; i++) {
+            indices.put(currencies[i], i);
+        }
+
+        // Collects legs in both directions; a known rate takes precedence over the inverse of the opposite pair
+        var legs = new ArrayList<Map<Integer, ExchangeRate>>(currencies.length);
+        for (int i = 0; i < currencies.length; i++) {
+            legs.add(new HashMap<>());
+        }
+        for (var rate : latestRates.values()) {
+            legs.get(indices.get(rate.currencyPair().base())).put(indices.get(rate.currencyPair().quote()), rate);
+        }
+        for (var rate : latestRates.values()) {
+            var inverse = rate.currencyPair().swapped();
+            if (!latestRates.containsKey(inverse)) {
+                legs.get(indices.get(inverse.base())).put(indices.get(inverse.quote()), rate.inverse(mathContext));
+            }
+        }
+
+        int[] degrees = legs.stream().mapToInt(Map::size).toArray();
+        Comparator<Integer> preference = Comparator.<Integer>comparingInt(index -> degrees[index]).reversed()
+                .thenComparing(index -> currencies[index].getCurrencyCode());
+
+        this.neighbors = new int[currencies.length][];
+        this.legRates = new BigDecimal[currencies.length][];
+        this.legTimestamps = new Instant[currencies.length][];
+        for (int i = 0; i < currencies.length; i++) {
+            var currencyLegs = legs.get(i);
+            var sortedNeighbors = currencyLegs.keySet().stream().sorted(preference).toList();
+
+            neighbors[i] = sortedNeighbors.stream().mapToInt(Integer::intValue).toArray();
+            legRates[i] = sortedNeighbors.stream().map(neighbor -> currencyLegs.get(neighbor).value()).toArray(BigDecimal[]::new);
+            legTimestamps[i] = sortedNeighbors.stream().map(neighbor -> currencyLegs.get(neighbor).timestamp()).toArray(Instant[]::new);
+        }
+
+        this.rows = new AtomicReferenceArray<>(currencies.length);
+    }
+
+    /// Creates an engine from the given known rates, rounding cross rates with the [default math context][ExchangeRate#DEFAULT_MATH_CONTEXT].
+    ///
+    /// If there are several rates of the same pair, the one with the latest timestamp is used.
+    ///
+    /// @param rates the known exchange rates *(this collection is defensively copied)*
+    /// @return a new instance
+    /// @throws NullPointerException if `rates` is `null` or contains `null`
+    public static CrossRateEngine of(Collection<ExchangeRate> rates) {
+        return of(rates, ExchangeRate.DEFAULT_MATH_CONTEXT);
+    }
+
+    /// Creates an engine from the given known rates, rounding cross rates with the given math context.
+    ///
+    /// If there are several rates of the same pair, the one with the latest timestamp is used.
+    ///
+    /// @param rates       the known exchange rates *(this collection is defensively copied)*
+    /// @param mathContext the precision and rounding mode of each multiplication along a path (and of inverse legs)
+    /// @return a new instance
+    /// @throws NullPointerException if an argument is `null` or `rates` contains `null`
+    public static CrossRateEngine of(Collection<ExchangeRate> rates, MathContext mathContext) {
+        Objects.requireNonNull(rates, "exchange rates cannot be null");
+        Objects.requireNonNull(mathContext, "math context cannot be null");
+        return new CrossRateEngine(rates, mathContext);
+    }
+
+    /// Creates an engine from the rates a provider has for the given pairs on the given date.
+    ///
+    /// Usually, it's enough to request the rates of one currency against all others (e.g. `EURUSD`, `EURJPY`, `EURSEK`, etc.),
+    /// and every other pair can be derived from those.
+    ///
+    /// @param provider the provider to fetch known rates from
+    /// @param pairs    the currency pairs to fetch *(this set is defensively copied)*
+    /// @param date     the date to fetch rates for
+    /// @return a new instance
+    /// @throws NullPointerException if an argument is `null` or `pairs` contains `null`
+    public static CrossRateEngine fromProvider(ForexDataProvider provider, Set<CurrencyPair> pairs, LocalDate date) {
+        Objects.requireNonNull(provider, "forex data provider cannot be null");
+        try (var rates = provider.exchangeRates(pairs, date)) {
+            return of(rates.toList());
+        }
+    }
+
+    /// Returns all currencies that appear in the known rates.
+    ///
+    /// @return an unmodifiable set of currencies, sorted by their codes
+    public Set<Currency> currencies() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(currencies)));
+    }
+
+    /// Finds or derives the exchange rate of the given currency pair.
+    ///
+    /// Known rates are returned as they are.
+    ///
+    /// @param pair an arbitrary currency pair
+    /// @return an `Optional` with the exchange rate, or an empty `Optional` if either currency is unknown
+    ///         or there's no path between them in the graph of known rates
+    /// @throws NullPointerException if `pair` is `null`
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+
+        var baseIndex = indices.get(pair.base());
+        var quoteIndex = indices.get(pair.quote());
+        if (baseIndex == null || quoteIndex == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(exchangeRate(baseIndex, quoteIndex));
+    }
+
+    /// Returns the exchange rates of all pairs that can be derived from the known rates, i.e. a full cross-rate matrix.
+    ///
+    /// The rates are ordered by base currency code, then by quote currency code.
+    ///
+    /// @return a stream of exchange rates of all derivable pairs
+    public Stream<ExchangeRate> exchangeRates() {
+        return IntStream.range(0, currencies.length)
+                .boxed()
+                .flatMap(base -> IntStream.range(0, currencies.length)
+                        .filter(quote -> quote != base)
+                        .mapToObj(quote -> exchangeRate(base, quote))
+                        .filter(Objects::nonNull));
+    }
+
+    /// Returns the number of known currencies, i.e. the exclusive upper bound of indices used by package-private methods.
+    int size() {
+        return currencies.length;
+    }
+
+    /// Returns the known currency with the given index; indices follow the order of currency codes.
+    Currency currency(int index) {
+        return currencies[index];
+    }
+
+    /// Returns the derived rate value for a pair of known currencies by their indices, or `null` if there's no path between them.
+    @Nullable BigDecimal rateValue(int baseIndex, int quoteIndex) {
+        return row(baseIndex).rates[quoteIndex];
+    }
+
+    private @Nullable ExchangeRate exchangeRate(int baseIndex, int quoteIndex) {
+        var row = row(baseIndex);
+        var value = row.rates[quoteIndex];
+        if (value == null || baseIndex == quoteIndex) {
+            return null;
+        }
+        var pair = CurrencyPair.of(currencies[baseIndex], currencies[quoteIndex]);
+        return new ExchangeRate(pair, value, Objects.requireNonNull(row.timestamps[quoteIndex]));
+    }
+
+    private Row row(int baseIndex) {
+        var row = rows.getAcquire(baseIndex);
+        if (row == null) {
+            // Concurrent callers may compute the same row, but they all get equal results, so it's harmless
+            row = computeRow(baseIndex);
+            rows.setRelease(baseIndex, row);
+        }
+        return row;
+    }
+
+    // Breadth-first traversal from the base currency, multiplying leg rates along the way
+    private Row computeRow(int baseIndex) {
+        var rates = new BigDecimal[currencies.length];
+        var timestamps = new Instant[currencies.length];
+        rates[baseIndex] = BigDecimal.ONE;
+
+        int[] queue = new int[currencies.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = baseIndex;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int leg = 0; leg < neighbors[current].length; leg++) {
+                int next = neighbors[current][leg];
+                if (rates[next] != null) {
+                    continue;
+                }
+
+                if (current == baseIndex) {
+                    rates[next] = legRates[current][leg];
+                    timestamps[next] = legTimestamps[current][leg];
+                } else {
+                    rates[next] = rates[current].multiply(legRates[current][leg], mathContext);
+                    var legTimestamp = legTimestamps[current][leg];
+                    timestamps[next] = legTimestamp.isBefore(timestamps[current]) ? legTimestamp : timestamps[current];
+                }
+                queue[tail++] = next;
+            }
+        }
+        return new Row(rates, timestamps);
+    }
+
+    // Derived rates and timestamps from one base currency, indexed by quote currency (null where there's no path)
+    private record Row(@Nullable BigDecimal[] rates, @Nullable Instant[] timestamps) {
+    }
+}
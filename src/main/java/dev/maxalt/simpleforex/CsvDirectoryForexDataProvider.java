@@ -0,0 +1,162 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] over a directory of daily CSV rate files.
+///
+/// The rates for a date are in a file named after it, e.g. `2025-12-30.csv`, in the format of [ExchangeRateCsvReader].
+/// Each rate is for the date of its file, regardless of its timestamp. Other files are ignored, and dates without a file have no rates.
+///
+/// Files are read on every query, so changes to the directory are visible immediately, and memory use doesn't depend on its size.
+/// Wrap this provider into a [CachingForexDataProvider] to avoid re-reading files that are queried repeatedly.
+/// I/O errors and malformed files are reported with an [UncheckedIOException].
+///
+/// This class is immutable and thread-safe.
+@NullMarked
+public final class CsvDirectoryForexDataProvider implements ForexDataProvider {
+
+    private static final String EXTENSION = ".csv";
+
+    private final Path directory;
+
+    private CsvDirectoryForexDataProvider(Path directory) {
+        this.directory = directory;
+    }
+
+    /// Creates a provider over the given directory, which doesn't need to exist yet.
+    ///
+    /// @param directory the directory of the rate files
+    /// @return a new provider
+    /// @throws NullPointerException if `directory` is `null`
+    public static CsvDirectoryForexDataProvider of(Path directory) {
+        return new CsvDirectoryForexDataProvider(Objects.requireNonNull(directory, "directory cannot be null"));
+    }
+
+    /// Returns the file that holds the rates for the given date, e.g. to [write][ExchangeRateCsvWriter] it.
+    ///
+    /// @param date a date
+    /// @return the path of the date's file, which might not exist
+    /// @throws NullPointerException if `date` is `null`
+    public Path file(LocalDate date) {
+        return directory.resolve(Objects.requireNonNull(date, "date cannot be null") + EXTENSION);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        return read(file(date), rate -> requestedPairs.contains(rate.currencyPair())).stream();
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rates are ordered by date, then in the order of their file. Each file is read as the stream reaches it.
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        return dates()
+                .filter(date -> !date.isBefore(from) && !date.isAfter(to))
+                .sorted()
+                .flatMap(date -> read(file(date), rate -> requestedPairs.contains(rate.currencyPair())).stream());
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        return read(file(date), rate -> rate.currencyPair().equals(pair)).stream().findFirst();
+    }
+
+    /// Returns the date of the earliest file in the directory, or [LocalDate#MIN] if there are none.
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return dates().min(LocalDate::compareTo).orElse(LocalDate.MIN);
+    }
+
+    // Lists the dates that have a file; the listing is taken eagerly, so the stream doesn't hold the directory open
+    private Stream<LocalDate> dates() {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        try (var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .flatMap(name -> parseDate(name.substring(0, name.length() - EXTENSION.length())).stream())
+                    .toList()
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<LocalDate> parseDate(String text) {
+        try {
+            return Optional.of(LocalDate.parse(text));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static List<ExchangeRate> read(Path file, Predicate<ExchangeRate> filter) {
+        try (var reader = new ExchangeRateCsvReader(Files.newInputStream(file))) {
+            var rates = new ArrayList<ExchangeRate>();
+            for (var rate = reader.read(); rate != null; rate = reader.read()) {
+                if (filter.test(rate)) {
+                    rates.add(rate);
+                }
+            }
+            return rates;
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage() + " in " + file, e);
+        }
+    }
+}
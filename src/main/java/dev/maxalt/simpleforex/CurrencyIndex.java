@@ -0,0 +1,112 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+
+/// Dense ordinals of all currencies available to the JVM.
+///
+/// Ordinals are assigned in ascending order of currency codes, so they only change when the set of available currencies does
+/// (e.g. after a Java upgrade or an override of the JDK's currency data).
+///
+/// Currency codes are resolved through a flat table indexed by the three code letters, so no hashing or string allocation is involved.
+@NullMarked
+final class CurrencyIndex {
+
+    /// The number of distinct three-letter uppercase codes (`AAA` to `ZZZ`).
+    static final int CODE_SPACE = 26 * 26 * 26;
+
+    private static final Currency[] CURRENCIES;
+    private static final short[] ORDINALS_BY_CODE;
+
+    static {
+        CURRENCIES = Currency.getAvailableCurrencies().stream()
+                .filter(currency -> codeIndex(currency.getCurrencyCode()) >= 0)
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .toArray(Currency[]::new);
+
+        ORDINALS_BY_CODE = new short[CODE_SPACE];
+        Arrays.fill(ORDINALS_BY_CODE, (short) -1);
+        for (int ordinal = 0; ordinal < CURRENCIES.length; ordinal++) {
+            ORDINALS_BY_CODE[codeIndex(CURRENCIES[ordinal].getCurrencyCode())] = (short) ordinal;
+        }
+    }
+
+    private CurrencyIndex() {
+    }
+
+    /// Returns the number of indexed currencies, i.e. the exclusive upper bound of ordinals.
+    static int size() {
+        return CURRENCIES.length;
+    }
+
+    /// Returns the ordinal of the given currency, or `-1` if it wasn't available when this class was initialized.
+    static int ordinal(Currency currency) {
+        return ordinalOfCode(codeIndex(currency.getCurrencyCode()));
+    }
+
+    /// Returns the ordinal of a currency by its [code index][#codeIndex(char, char, char)], or `-1` if there's no such currency.
+    static int ordinalOfCode(int codeIndex) {
+        return codeIndex < 0 || codeIndex >= CODE_SPACE ? -1 : ORDINALS_BY_CODE[codeIndex];
+    }
+
+    /// Returns the currency with the given ordinal.
+    static Currency currency(int ordinal) {
+        return CURRENCIES[ordinal];
+    }
+
+    /// Returns the currency with the given [code index][#codeIndex(char, char, char)], or `null` if there's no such currency.
+    static @Nullable Currency currencyOfCode(int codeIndex) {
+        int ordinal = ordinalOfCode(codeIndex);
+        return ordinal < 0 ? null : CURRENCIES[ordinal];
+    }
+
+    /// Maps a three-letter uppercase code to a number in `[0, CODE_SPACE)`, or returns `-1` if the code isn't three uppercase latin letters.
+    static int codeIndex(String code) {
+        return code.length() == 3 ? codeIndex(code.charAt(0), code.charAt(1), code.charAt(2)) : -1;
+    }
+
+    /// Maps three uppercase latin letters to a number in `[0, CODE_SPACE)`, or returns `-1` if any of them is something else.
+    static int codeIndex(char first, char second, char third) {
+        if (isUppercaseLatin(first) && isUppercaseLatin(second) && isUppercaseLatin(third)) {
+            return ((first - 'A') * 26 + (second - 'A')) * 26 + (third - 'A');
+        }
+        return -1;
+    }
+
+    private static boolean isUppercaseLatin(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
@@ -32,20 +32,43 @@ package dev.maxalt.simpleforex;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Currency;
 import java.util.Objects;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /// A [pair of currencies](https://en.wikipedia.org/wiki/Currency_pair) in an exchange.
 ///
 /// This is an immutable, value-based class. Use it as you would use [java.time.LocalDate] or [java.util.Optional].
 ///
+/// The static factory methods return canonical instances, i.e. the same object for the same base and quote.
+/// Prefer them over the constructor on hot paths: they don't allocate once a pair has been requested,
+/// and canonical instances can be compared by identity as a shortcut for [#equals(Object)].
+///
 /// @param base  the currency that you're *giving* in an exchange (never `null` and never equal to the quote)
 /// @param quote the currency that you're *receiving* in an exchange (never `null` and never equal to the base)
 /// @see Currency
 @NullMarked
 public record CurrencyPair(Currency base, Currency quote) {
 
+    // The length of the string form, e.g. "EURUSD"
+    private static final int SYMBOL_LENGTH = 6;
+
+    // A packed key holds two code indices (see CurrencyIndex.codeIndex) of 15 bits each
+    private static final int PACKED_CODE_BITS = 15;
+    private static final int PACKED_CODE_MASK = (1 << PACKED_CODE_BITS) - 1;
+
+    // Canonical instances, indexed by base ordinal * currency count + quote ordinal, populated on first request.
+    private static final AtomicReferenceArray<CurrencyPair> CANONICAL =
+            new AtomicReferenceArray<>(CurrencyIndex.size() * CurrencyIndex.size());
+
+    // String forms of pairs, indexed like CANONICAL and populated on first use.
+    // Racy writes are benign here: strings are immutable, so any thread sees either null or a complete string.
+    private static final String[] SYMBOLS = new String[CurrencyIndex.size() * CurrencyIndex.size()];
+
     /// Main constructor.
     ///
     /// @param base  the pair's base currency, not `null`
@@ -61,26 +84,168 @@ public record CurrencyPair(Currency base, Currency quote) {
         }
     }
 
+    /// Returns the canonical pair of the given currencies.
+    ///
+    /// The result is equal to `new CurrencyPair(base, quote)`, but repeated calls with the same arguments return the same instance.
+    ///
+    /// @param base  the pair's base currency, not `null`
+    /// @param quote the pair's quote currency, not `null`
+    /// @return the canonical instance
+    /// @throws NullPointerException     if either currency is `null`
+    /// @throws IllegalArgumentException if `base` is equal to `quote`
+    public static CurrencyPair of(Currency base, Currency quote) {
+        Objects.requireNonNull(base, "currency pair cannot contain a null base currency");
+        Objects.requireNonNull(quote, "currency pair cannot contain a null quote currency");
+
+        int baseOrdinal = CurrencyIndex.ordinal(base);
+        int quoteOrdinal = CurrencyIndex.ordinal(quote);
+        if (baseOrdinal < 0 || quoteOrdinal < 0) {
+            // Only possible for currencies that appeared after CurrencyIndex was initialized, which can't be interned
+            return new CurrencyPair(base, quote);
+        }
+        return canonical(baseOrdinal, quoteOrdinal);
+    }
+
     /// A shortcut to create a [CurrencyPair] from [ISO 4217](https://www.iso.org/iso-4217-currency-codes.html) currency codes directly.
     ///
     /// @param baseCode  the base currency code, not `null`
     /// @param quoteCode the quote currency code, not `null`
-    /// @return a new instance
+    /// @return the canonical instance (see [#of(Currency, Currency)])
     /// @throws NullPointerException     if either currency code is `null`
     /// @throws IllegalArgumentException if either currency code is unsupported by Java's [Currency] class or the base and quote are equal
     public static CurrencyPair fromIsoCodes(String baseCode, String quoteCode) {
         var base = Currency.getInstance(baseCode);
         var quote = Currency.getInstance(quoteCode);
-        return new CurrencyPair(base, quote);
+        return of(base, quote);
     }
 
-    // TODO: parse() static factory method for values created by toString() (for symmetry)
+    /// Decodes a key created by [#toPackedKey()].
+    ///
+    /// @param packedKey a packed key of a currency pair
+    /// @return the canonical instance (see [#of(Currency, Currency)])
+    /// @throws IllegalArgumentException if the key doesn't represent a pair of currencies supported by Java's [Currency] class
+    public static CurrencyPair fromPackedKey(int packedKey) {
+        int baseOrdinal = packedKey < 0 ? -1 : CurrencyIndex.ordinalOfCode(packedKey >>> PACKED_CODE_BITS);
+        int quoteOrdinal = CurrencyIndex.ordinalOfCode(packedKey & PACKED_CODE_MASK);
+        if (baseOrdinal < 0 || quoteOrdinal < 0) {
+            throw new IllegalArgumentException("invalid packed currency pair key: " + packedKey);
+        }
+        return canonical(baseOrdinal, quoteOrdinal);
+    }
 
-    /// Creates a new pair with the base and quote swapped.
+    /// Returns the canonical pair of the currencies with the given [CurrencyIndex] ordinals.
+    static CurrencyPair canonical(int baseOrdinal, int quoteOrdinal) {
+        int slot = baseOrdinal * CurrencyIndex.size() + quoteOrdinal;
+
+        var pair = CANONICAL.getAcquire(slot);
+        if (pair == null) {
+            var created = new CurrencyPair(CurrencyIndex.currency(baseOrdinal), CurrencyIndex.currency(quoteOrdinal));
+            var witness = CANONICAL.compareAndExchange(slot, null, created);
+            pair = witness == null ? created : witness;
+        }
+        return pair;
+    }
+
+    /// Parses a pair from a concatenation of its currency codes, such as `EURUSD` - the format produced by [#toString()].
     ///
-    /// @return a new instance
+    /// This method doesn't allocate on success.
+    ///
+    /// @param text six uppercase latin letters, not `null`
+    /// @return the canonical instance (see [#of(Currency, Currency)])
+    /// @throws NullPointerException     if `text` is `null`
+    /// @throws IllegalArgumentException if `text` is not a concatenation of two distinct currency codes supported by Java's [Currency] class
+    public static CurrencyPair parse(CharSequence text) {
+        Objects.requireNonNull(text, "cannot parse a null currency pair");
+
+        if (text.length() == SYMBOL_LENGTH) {
+            int baseCode = CurrencyIndex.codeIndex(text.charAt(0), text.charAt(1), text.charAt(2));
+            int quoteCode = CurrencyIndex.codeIndex(text.charAt(3), text.charAt(4), text.charAt(5));
+            var pair = resolve(baseCode, quoteCode);
+            if (pair != null) {
+                return pair;
+            }
+        }
+        throw new IllegalArgumentException("cannot parse currency pair: " + text);
+    }
+
+    /// Parses a pair from six ASCII characters at the given position of a byte array, e.g. a fragment of a network message.
+    ///
+    /// This is the same as [#parse(CharSequence)], but without decoding bytes into a string first.
+    ///
+    /// @param bytes  a byte array containing ASCII text, not `null`
+    /// @param offset the position of the first character of the pair
+    /// @return the canonical instance (see [#of(Currency, Currency)])
+    /// @throws NullPointerException      if `bytes` is `null`
+    /// @throws IndexOutOfBoundsException if there are less than six bytes from `offset` to the end of the array
+    /// @throws IllegalArgumentException  if the bytes are not a concatenation of two distinct currency codes supported by Java's [Currency] class
+    public static CurrencyPair parse(byte[] bytes, int offset) {
+        Objects.checkFromIndexSize(offset, SYMBOL_LENGTH, bytes.length);
+
+        int baseCode = CurrencyIndex.codeIndex(ascii(bytes[offset]), ascii(bytes[offset + 1]), ascii(bytes[offset + 2]));
+        int quoteCode = CurrencyIndex.codeIndex(ascii(bytes[offset + 3]), ascii(bytes[offset + 4]), ascii(bytes[offset + 5]));
+        var pair = resolve(baseCode, quoteCode);
+        if (pair == null) {
+            var text = new String(bytes, offset, SYMBOL_LENGTH, StandardCharsets.ISO_8859_1);
+            throw new IllegalArgumentException("cannot parse currency pair: " + text);
+        }
+        return pair;
+    }
+
+    /// Parses a pair from six ASCII characters at the given absolute position of a buffer.
+    ///
+    /// This is the same as [#parse(byte[], int)]. The buffer's position, limit and mark are not modified.
+    ///
+    /// @param buffer a buffer containing ASCII text, not `null`
+    /// @param index  the absolute position of the first character of the pair
+    /// @return the canonical instance (see [#of(Currency, Currency)])
+    /// @throws NullPointerException      if `buffer` is `null`
+    /// @throws IndexOutOfBoundsException if there are less than six bytes from `index` to the buffer's limit
+    /// @throws IllegalArgumentException  if the bytes are not a concatenation of two distinct currency codes supported by Java's [Currency] class
+    public static CurrencyPair parse(ByteBuffer buffer, int index) {
+        Objects.checkFromIndexSize(index, SYMBOL_LENGTH, buffer.limit());
+
+        int baseCode = CurrencyIndex.codeIndex(ascii(buffer.get(index)), ascii(buffer.get(index + 1)), ascii(buffer.get(index + 2)));
+        int quoteCode = CurrencyIndex.codeIndex(ascii(buffer.get(index + 3)), ascii(buffer.get(index + 4)), ascii(buffer.get(index + 5)));
+        var pair = resolve(baseCode, quoteCode);
+        if (pair == null) {
+            var bytes = new byte[SYMBOL_LENGTH];
+            buffer.get(index, bytes);
+            throw new IllegalArgumentException("cannot parse currency pair: " + new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+        return pair;
+    }
+
+    private static @Nullable CurrencyPair resolve(int baseCode, int quoteCode) {
+        int baseOrdinal = CurrencyIndex.ordinalOfCode(baseCode);
+        int quoteOrdinal = CurrencyIndex.ordinalOfCode(quoteCode);
+        if (baseOrdinal < 0 || quoteOrdinal < 0 || baseOrdinal == quoteOrdinal) {
+            return null;
+        }
+        return canonical(baseOrdinal, quoteOrdinal);
+    }
+
+    private static char ascii(byte b) {
+        return (char) (b & 0xFF);
+    }
+
+    /// Returns the pair with the base and quote swapped.
+    ///
+    /// @return the canonical instance (see [#of(Currency, Currency)])
     public CurrencyPair swapped() {
-        return new CurrencyPair(quote, base);
+        return of(quote, base);
+    }
+
+    /// Encodes this pair into a non-negative `int`, e.g. for use as a key in primitive collections or binary formats.
+    ///
+    /// Each currency code is mapped to its position among all possible three-letter codes (`AAA` is `0`, `ZZZ` is `17575`),
+    /// so the key only depends on the currency codes and is stable across JVM runs and Java versions.
+    /// Distinct pairs always have distinct keys.
+    ///
+    /// @return a packed key that can be decoded with [#fromPackedKey(int)]
+    public int toPackedKey() {
+        int baseCode = CurrencyIndex.codeIndex(base.getCurrencyCode());
+        int quoteCode = CurrencyIndex.codeIndex(quote.getCurrencyCode());
+        return baseCode << PACKED_CODE_BITS | quoteCode;
     }
 
     /// Checks if the given currency is involved in this pair.
@@ -114,9 +279,66 @@ public record CurrencyPair(Currency base, Currency quote) {
     /// This is the forex industry convention for web APIs,
     /// [Bloomberg terminals](https://www.bloomberg.com/professional/products/bloomberg-terminal/), and other computerized financial systems.
     ///
+    /// The result is computed once per pair and reused afterward, so calling this method repeatedly doesn't allocate.
+    ///
     /// @return a concatenation of two ISO 4217 currency codes (the resulting string is always 6 uppercase latin letters)
     @Override
     public String toString() {
-        return base.getCurrencyCode() + quote.getCurrencyCode();
+        int baseOrdinal = CurrencyIndex.ordinal(base);
+        int quoteOrdinal = CurrencyIndex.ordinal(quote);
+        if (baseOrdinal < 0 || quoteOrdinal < 0) {
+            return base.getCurrencyCode() + quote.getCurrencyCode();
+        }
+
+        int slot = baseOrdinal * CurrencyIndex.size() + quoteOrdinal;
+        var symbol = SYMBOLS[slot];
+        if (symbol == null) {
+            symbol = base.getCurrencyCode() + quote.getCurrencyCode();
+            SYMBOLS[slot] = symbol;
+        }
+        return symbol;
+    }
+
+    /// Writes the [string form][#toString()] of this pair as six ASCII bytes into the given array.
+    ///
+    /// @param destination the array to write to, not `null`
+    /// @param offset      the position of the first written byte
+    /// @return the number of written bytes, which is always `6`
+    /// @throws NullPointerException      if `destination` is `null`
+    /// @throws IndexOutOfBoundsException if there are less than six bytes from `offset` to the end of the array
+    public int writeAscii(byte[] destination, int offset) {
+        Objects.checkFromIndexSize(offset, SYMBOL_LENGTH, destination.length);
+
+        var baseCode = base.getCurrencyCode();
+        var quoteCode = quote.getCurrencyCode();
+        for (int i = 0; i < 3; i++) {
+            destination[offset + i] = (byte) baseCode.charAt(i);
+            destination[offset + 3 + i] = (byte) quoteCode.charAt(i);
+        }
+        return SYMBOL_LENGTH;
+    }
+
+    /// Writes the [string form][#toString()] of this pair as six ASCII bytes into the given buffer at its current position,
+    /// then advances the position by six.
+    ///
+    /// @param destination the buffer to write to, not `null`
+    /// @return the number of written bytes, which is always `6`
+    /// @throws NullPointerException              if `destination` is `null`
+    /// @throws BufferOverflowException          if there are less than six bytes remaining in the buffer (nothing is written in this case)
+    /// @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+    public int writeAscii(ByteBuffer destination) {
+        if (destination.remaining() < SYMBOL_LENGTH) {
+            throw new BufferOverflowException();
+        }
+
+        var baseCode = base.getCurrencyCode();
+        var quoteCode = quote.getCurrencyCode();
+        for (int i = 0; i < 3; i++) {
+            destination.put((byte) baseCode.charAt(i));
+        }
+        for (int i = 0; i < 3; i++) {
+            destination.put((byte) quoteCode.charAt(i));
+        }
+        return SYMBOL_LENGTH;
     }
 }
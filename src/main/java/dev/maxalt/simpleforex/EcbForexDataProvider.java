@@ -0,0 +1,440 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] of the euro foreign exchange reference rates published by the European Central Bank.
+///
+/// The rates are parsed from the ECB's XML format, e.g. the
+/// [full history](https://www.ecb.europa.eu/stats/eurofxref/eurofxref-hist.xml) or the
+/// [latest rates](https://www.ecb.europa.eu/stats/eurofxref/eurofxref-daily.xml), which look like this:
+///
+/// ```xml
+/// <gesmes:Envelope xmlns:gesmes="http://www.gesmes.org/xml/2002-08-01" xmlns="http://www.ecb.int/vocabulary/2002-08-01/eurofxref">
+///     <Cube>
+///         <Cube time="2025-12-31">
+///             <Cube currency="USD" rate="1.1750"/>
+///             <Cube currency="JPY" rate="184.09"/>
+///         </Cube>
+///     </Cube>
+/// </gesmes:Envelope>
+/// ```
+///
+/// The document is read with a streaming parser in a single pass, and the rates are kept in a compact columnar index
+/// of about 10 bytes per rate (roughly 2 MB for the full history since 1999) instead of a tree of XML nodes or [ExchangeRate] objects.
+/// [ExchangeRate] objects are only created lazily, as query result streams are consumed.
+///
+/// All rates have `EUR` as their base currency, so only pairs like `EURUSD` are found; a [CrossRateEngine] can derive the others.
+/// The timestamp of a rate is 16:00 Frankfurt time on its date, which is when the ECB publishes the rates.
+/// Rates of currencies unknown to the JVM are skipped.
+///
+/// This class is immutable and thread-safe.
+@NullMarked
+public final class EcbForexDataProvider implements ForexDataProvider {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final ZoneId FRANKFURT = ZoneId.of("Europe/Berlin");
+    private static final LocalTime PUBLICATION_TIME = LocalTime.of(16, 0);
+
+    // Values are packed with their scale in the low bits, since ECB rates never have more than a few digits
+    private static final int SCALE_BITS = 5;
+    private static final long MAX_UNSCALED_VALUE = Long.MAX_VALUE >> SCALE_BITS;
+
+    // Days in ascending order; the rates of day i are at indices [dayStarts[i], dayStarts[i + 1]) of the rate columns,
+    // ordered by currency ordinal (which is also the order of the pairs' packed keys)
+    private final int[] epochDays;
+    private final int[] dayStarts;
+    private final short[] currencyOrdinals;
+    private final long[] packedValues;
+    private final Currency[] currencies;
+
+    private EcbForexDataProvider(int[] epochDays, int[] dayStarts, short[] currencyOrdinals, long[] packedValues) {
+        this.epochDays = epochDays;
+        this.dayStarts = dayStarts;
+        this.currencyOrdinals = currencyOrdinals;
+        this.packedValues = packedValues;
+
+        var found = new boolean[CurrencyIndex.size()];
+        found[CurrencyIndex.ordinal(EUR)] = true;
+        for (short ordinal : currencyOrdinals) {
+            found[ordinal] = true;
+        }
+        this.currencies = IntStream.range(0, found.length)
+                .filter(ordinal -> found[ordinal])
+                .mapToObj(CurrencyIndex::currency)
+                .toArray(Currency[]::new);
+    }
+
+    /// Parses an ECB rate file.
+    ///
+    /// @param path the file to parse
+    /// @return a provider of the rates in the file
+    /// @throws NullPointerException if `path` is `null`
+    /// @throws IOException          if the file can't be read or isn't a valid ECB rate document
+    public static EcbForexDataProvider parse(Path path) throws IOException {
+        Objects.requireNonNull(path, "path cannot be null");
+        try (var input = Files.newInputStream(path)) {
+            return parse(input);
+        }
+    }
+
+    /// Parses an ECB rate document from a stream, which is read to the end but not closed.
+    ///
+    /// @param input the stream to parse
+    /// @return a provider of the rates in the document
+    /// @throws NullPointerException if `input` is `null`
+    /// @throws IOException          if the stream can't be read or isn't a valid ECB rate document
+    public static EcbForexDataProvider parse(InputStream input) throws IOException {
+        Objects.requireNonNull(input, "input stream cannot be null");
+
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            var reader = factory.createXMLStreamReader(new BufferedInputStream(input));
+            try {
+                return new Parser(reader).parse();
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("malformed ECB rate document: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requested = requestedOrdinals(pairs);
+        int day = dayIndex(Objects.requireNonNull(date, "date cannot be null").toEpochDay());
+        return day < 0 ? Stream.empty() : exchangeRates(day, requested);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rates are ordered by date, then by [packed key][CurrencyPair#toPackedKey()] of their pair.
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requested = requestedOrdinals(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        int fromDay = lowerBound(from.toEpochDay());
+        int toDay = to.equals(LocalDate.MAX) ? epochDays.length : lowerBound(to.toEpochDay() + 1);
+        return IntStream.range(fromDay, toDay).boxed().flatMap(day -> exchangeRates(day, requested));
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        int day = dayIndex(Objects.requireNonNull(date, "date cannot be null").toEpochDay());
+        if (day < 0 || !pair.base().equals(EUR)) {
+            return Optional.empty();
+        }
+
+        int index = indexOf(day, CurrencyIndex.ordinal(pair.quote()));
+        return index < 0 ? Optional.empty() : Optional.of(exchangeRate(index, timestamp(day)));
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The days before the date are scanned from the latest one, so the search ends at the first day that quotes the currency.
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        long epochDay = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+        int ordinal = pair.base().equals(EUR) ? CurrencyIndex.ordinal(pair.quote()) : -1;
+        if (ordinal < 0) {
+            return Optional.empty();
+        }
+
+        for (int day = lowerBound(epochDay + 1) - 1; day >= 0; day--) {
+            int index = indexOf(day, ordinal);
+            if (index >= 0) {
+                return Optional.of(exchangeRate(index, timestamp(day)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The days after the date are scanned from the earliest one, so the search ends at the first day that quotes the currency.
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        long epochDay = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+        int ordinal = pair.base().equals(EUR) ? CurrencyIndex.ordinal(pair.quote()) : -1;
+        if (ordinal < 0) {
+            return Optional.empty();
+        }
+
+        for (int day = lowerBound(epochDay); day < epochDays.length; day++) {
+            int index = indexOf(day, ordinal);
+            if (index >= 0) {
+                return Optional.of(exchangeRate(index, timestamp(day)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /// Returns `EUR` and all currencies that the document has rates for.
+    ///
+    /// @return a stream of the supported currencies, ordered by currency code
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return Arrays.stream(currencies);
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return epochDays.length == 0 ? LocalDate.MIN : LocalDate.ofEpochDay(epochDays[0]);
+    }
+
+    /// Returns the number of rates in the document, excluding skipped ones.
+    ///
+    /// @return the rate count
+    public int size() {
+        return packedValues.length;
+    }
+
+    private Stream<ExchangeRate> exchangeRates(int day, boolean[] requested) {
+        var timestamp = timestamp(day);
+        return IntStream.range(dayStarts[day], dayStarts[day + 1])
+                .filter(index -> requested[currencyOrdinals[index]])
+                .mapToObj(index -> exchangeRate(index, timestamp));
+    }
+
+    private ExchangeRate exchangeRate(int index, Instant timestamp) {
+        var quote = CurrencyIndex.currency(currencyOrdinals[index]);
+        long packed = packedValues[index];
+        var value = new FixedRate(packed >>> SCALE_BITS, (int) (packed & ((1 << SCALE_BITS) - 1)));
+        return new ExchangeRate(CurrencyPair.of(EUR, quote), value, timestamp);
+    }
+
+    private Instant timestamp(int day) {
+        return LocalDate.ofEpochDay(epochDays[day]).atTime(PUBLICATION_TIME).atZone(FRANKFURT).toInstant();
+    }
+
+    // Marks the quote currencies of the requested EUR-based pairs
+    private static boolean[] requestedOrdinals(Set<CurrencyPair> pairs) {
+        var requested = new boolean[CurrencyIndex.size()];
+        for (var pair : Set.copyOf(pairs)) {
+            if (pair.base().equals(EUR)) {
+                int ordinal = CurrencyIndex.ordinal(pair.quote());
+                if (ordinal >= 0) {
+                    requested[ordinal] = true;
+                }
+            }
+        }
+        return requested;
+    }
+
+    // Returns the index of the rate of the currency on the day, or -1 if the day doesn't quote it
+    private int indexOf(int day, int ordinal) {
+        for (int index = dayStarts[day]; index < dayStarts[day + 1]; index++) {
+            if (currencyOrdinals[index] == ordinal) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int dayIndex(long epochDay) {
+        int day = lowerBound(epochDay);
+        return day < epochDays.length && epochDays[day] == epochDay ? day : -1;
+    }
+
+    // Returns the index of the first day at or after the given epoch day
+    private int lowerBound(long epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochDays[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Collects the rates of a document into growing columns, in document order
+    private static final class Parser {
+
+        private final XMLStreamReader reader;
+
+        private int[] epochDays = new int[64];
+        private int[] dayStarts = new int[65];
+        private short[] currencyOrdinals = new short[1024];
+        private long[] packedValues = new long[1024];
+        private int dayCount;
+        private int rateCount;
+
+        Parser(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        EcbForexDataProvider parse() throws XMLStreamException, IOException {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !reader.getLocalName().equals("Cube")) {
+                    continue;
+                }
+
+                var time = reader.getAttributeValue(null, "time");
+                var currency = reader.getAttributeValue(null, "currency");
+                var rate = reader.getAttributeValue(null, "rate");
+                if (time != null) {
+                    startDay(time);
+                } else if (currency != null && rate != null) {
+                    addRate(currency, rate);
+                }
+            }
+            dayStarts[dayCount] = rateCount;
+            return sortedByDay();
+        }
+
+        private void startDay(String time) throws IOException {
+            int epochDay;
+            try {
+                epochDay = Math.toIntExact(LocalDate.parse(time).toEpochDay());
+            } catch (DateTimeException | ArithmeticException e) {
+                throw invalid("invalid date '" + time + "'");
+            }
+
+            dayStarts[dayCount] = rateCount;
+            if (dayCount + 1 == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, epochDays.length * 2);
+                dayStarts = Arrays.copyOf(dayStarts, epochDays.length + 1);
+            }
+            epochDays[dayCount++] = epochDay;
+        }
+
+        private void addRate(String code, String rate) throws IOException {
+            if (dayCount == 0) {
+                throw invalid("rate outside of a dated Cube element");
+            }
+            int ordinal = CurrencyIndex.ordinalOfCode(CurrencyIndex.codeIndex(code));
+            if (ordinal < 0) {
+                return;
+            }
+
+            FixedRate value;
+            try {
+                value = FixedRate.of(new BigDecimal(rate)).stripTrailingZeros();
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw invalid("invalid " + code + " rate '" + rate + "'");
+            } catch (IllegalArgumentException e) {
+                throw invalid(code + " rate is not positive: " + rate);
+            }
+            if (value.unscaledValue() > MAX_UNSCALED_VALUE) {
+                throw invalid(code + " rate has too many digits: " + rate);
+            }
+
+            // Keeps the rates of the current day ordered by currency with an insertion sort, as days only have a few dozen rates
+            int dayStart = dayStarts[dayCount - 1];
+            int index = rateCount;
+            while (index > dayStart && currencyOrdinals[index - 1] >= ordinal) {
+                if (currencyOrdinals[index - 1] == ordinal) {
+                    throw invalid("duplicate " + code + " rate on " + LocalDate.ofEpochDay(epochDays[dayCount - 1]));
+                }
+                index--;
+            }
+            if (rateCount == packedValues.length) {
+                currencyOrdinals = Arrays.copyOf(currencyOrdinals, rateCount * 2);
+                packedValues = Arrays.copyOf(packedValues, rateCount * 2);
+            }
+            System.arraycopy(currencyOrdinals, index, currencyOrdinals, index + 1, rateCount - index);
+            System.arraycopy(packedValues, index, packedValues, index + 1, rateCount - index);
+            currencyOrdinals[index] = (short) ordinal;
+            packedValues[index] = value.unscaledValue() << SCALE_BITS | value.scale();
+            rateCount++;
+        }
+
+        // The ECB lists days from the most recent one, so they usually have to be reordered
+        private EcbForexDataProvider sortedByDay() throws IOException {
+            var order = IntStream.range(0, dayCount)
+                    .mapToLong(day -> (long) epochDays[day] << 32 | day)
+                    .sorted()
+                    .mapToInt(sortKey -> (int) sortKey)
+                    .toArray();
+
+            var sortedDays = new int[dayCount];
+            var sortedStarts = new int[dayCount + 1];
+            var sortedOrdinals = new short[rateCount];
+            var sortedValues = new long[rateCount];
+            int rate = 0;
+            for (int i = 0; i < dayCount; i++) {
+                int day = order[i];
+                if (i > 0 && epochDays[day] == sortedDays[i - 1]) {
+                    throw new IOException("malformed ECB rate document: duplicate date " + LocalDate.ofEpochDay(epochDays[day]));
+                }
+                int length = dayStarts[day + 1] - dayStarts[day];
+                System.arraycopy(currencyOrdinals, dayStarts[day], sortedOrdinals, rate, length);
+                System.arraycopy(packedValues, dayStarts[day], sortedValues, rate, length);
+                sortedDays[i] = epochDays[day];
+                sortedStarts[i] = rate;
+                rate += length;
+            }
+            sortedStarts[dayCount] = rate;
+            return new EcbForexDataProvider(sortedDays, sortedStarts, sortedOrdinals, sortedValues);
+        }
+
+        private IOException invalid(String message) {
+            return new IOException("malformed ECB rate document at line " + reader.getLocation().getLineNumber() + ": " + message);
+        }
+    }
+}
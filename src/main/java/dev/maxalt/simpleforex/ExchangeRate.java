@@ -33,6 +33,7 @@ import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.Objects;
@@ -50,6 +51,14 @@ public record ExchangeRate(CurrencyPair currencyPair, BigDecimal value, Instant
     // Source: https://en.wikipedia.org/wiki/Rounding#History
     // It's worth researching what IS standard in the banking/forex industry.
 
+    /// The default precision and rounding mode of exchange rate arithmetic operations that can't be computed exactly, such as [#inverse()].
+    ///
+    /// This is 16 significant digits with the [default rounding mode][#DEFAULT_ROUNDING_MODE].
+    public static final MathContext DEFAULT_MATH_CONTEXT = new MathContext(16, DEFAULT_ROUNDING_MODE);
+
+    // Values with this many digits or more are inverted with BigDecimal arithmetic
+    private static final int FAST_RECIPROCAL_DIGITS = 18;
+
     /// Main constructor.
     ///
     /// @param currencyPair a pair of exchanged currencies
@@ -67,10 +76,77 @@ public record ExchangeRate(CurrencyPair currencyPair, BigDecimal value, Instant
         }
     }
 
-    // TODO: inverse() and inverse(RoundingMode)
+    /// Creates an exchange rate with a fixed-point value.
+    ///
+    /// @param currencyPair a pair of exchanged currencies
+    /// @param value        the numeric value of this exchange rate
+    /// @param timestamp    the timestamp of when this exchange rate was recorded
+    /// @throws NullPointerException if any argument is `null`
+    public ExchangeRate(CurrencyPair currencyPair, FixedRate value, Instant timestamp) {
+        this(currencyPair, Objects.requireNonNull(value, "an exchange rate cannot have a null numeric value").toBigDecimal(), timestamp);
+    }
+
+    /// Returns the value of this exchange rate as a [FixedRate].
+    ///
+    /// @return a numerically equal fixed rate
+    /// @throws ArithmeticException if the value can't be represented as a [FixedRate] without rounding
+    public FixedRate fixedValue() {
+        return FixedRate.of(value);
+    }
+
+    /// Returns the exchange rate of the swapped currency pair, rounded with the [default math context][#DEFAULT_MATH_CONTEXT].
+    ///
+    /// For example, the inverse of `EURUSD 1.25` is `USDEUR 0.8`.
+    ///
+    /// @return an exchange rate of [the swapped pair][CurrencyPair#swapped()] with the same timestamp
+    public ExchangeRate inverse() {
+        return inverse(DEFAULT_MATH_CONTEXT);
+    }
+
+    /// Returns the exchange rate of the swapped currency pair, rounded with the given math context.
+    ///
+    /// The value of the result is numerically equal to `BigDecimal.ONE.divide(value(), mathContext)`.
+    /// For values of up to 17 digits and precisions of up to 18 digits, it's computed with `long` arithmetic instead,
+    /// which is considerably faster.
+    ///
+    /// @param mathContext the precision and rounding mode of the result
+    /// @return an exchange rate of [the swapped pair][CurrencyPair#swapped()] with the same timestamp
+    /// @throws NullPointerException if `mathContext` is `null`
+    /// @throws ArithmeticException  if the result is inexact but the rounding mode is [RoundingMode#UNNECESSARY],
+    ///                              or the precision is unlimited and the result has a non-terminating decimal expansion
+    public ExchangeRate inverse(MathContext mathContext) {
+        Objects.requireNonNull(mathContext, "math context cannot be null");
+        return new ExchangeRate(currencyPair.swapped(), reciprocal(value, mathContext), timestamp);
+    }
 
-    // TODO: Override Javadoc for equals and hashCode, documenting how they ignore scale
+    private static BigDecimal reciprocal(BigDecimal value, MathContext mathContext) {
+        int precision = mathContext.getPrecision();
+        if (precision > 0 && precision <= FixedPoint.MAX_SCALE && value.precision() < FAST_RECIPROCAL_DIGITS) {
+            long unscaledValue = value.unscaledValue().longValue();
+            // Terminating reciprocals (of 2, 0.8, 1.25, etc.) are left to BigDecimal, which strips their trailing zeros
+            if (!FixedPoint.hasTerminatingReciprocal(unscaledValue)) {
+                // Picks the exponent for which 10^exponent / unscaledValue has exactly `precision` digits before rounding
+                int exponent = precision + FixedPoint.digitLength(unscaledValue) - 1;
+                long quotient = FixedPoint.reciprocal(unscaledValue, exponent, mathContext.getRoundingMode());
+                int scale = exponent - value.scale();
+                if (quotient == FixedPoint.powerOfTen(precision)) {
+                    // Rounding carried over into an extra digit, e.g. 0.9999 to 1.000
+                    quotient /= 10;
+                    scale--;
+                }
+                return BigDecimal.valueOf(quotient, scale);
+            }
+        }
+        return BigDecimal.ONE.divide(value, mathContext);
+    }
 
+    /// Checks if the given object is an equal exchange rate.
+    ///
+    /// Values are compared numerically, i.e. their scales are ignored: a rate of `1.5` is equal to a rate of `1.50`
+    /// if their currency pairs and timestamps are equal.
+    ///
+    /// @param obj an arbitrary object, `null` is allowed
+    /// @return `true` if `obj` is an [ExchangeRate] with an equal pair, a numerically equal value and an equal timestamp
     @Override
     public boolean equals(@Nullable Object obj) {
         if (this == obj) {
@@ -83,9 +159,18 @@ public record ExchangeRate(CurrencyPair currencyPair, BigDecimal value, Instant
                 && timestamp.equals(otherTimestamp);
     }
 
+    /// Returns a hash code that is consistent with [#equals(Object)], i.e. that ignores the scale of the value.
+    ///
+    /// The value is hashed through its closest `double`, which is the same for numerically equal values.
+    /// Unlike [BigDecimal#stripTrailingZeros()], this doesn't allocate for values of typical precision.
+    ///
+    /// @return a hash code of this exchange rate
     @Override
     public int hashCode() {
-        return Objects.hash(currencyPair, value.stripTrailingZeros(), timestamp);
+        int result = currencyPair.hashCode();
+        result = 31 * result + Double.hashCode(value.doubleValue());
+        result = 31 * result + timestamp.hashCode();
+        return result;
     }
 
     /// Formats this exchange rate to a concise string representation.
@@ -0,0 +1,298 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/// Reads exchange rates from CSV written by an [ExchangeRateCsvWriter].
+///
+/// Each line is a rate of the form `EURUSD,1.0825,2025-12-30T16:00:00Z`: a [pair][CurrencyPair#parse(CharSequence)],
+/// a plain decimal value, and an ISO-8601 UTC timestamp like the ones [Instant#toString()] produces.
+/// Lines may end with `\n` or `\r\n`, and the first line may be a `pair,value,timestamp` header.
+///
+/// Lines are parsed straight from a byte buffer without decoding them into strings: pairs resolve to canonical instances,
+/// values of up to 18 digits are accumulated into a `long`, and timestamps are parsed field by field, so the only allocations per rate are
+/// the [ExchangeRate], its value and its timestamp. Values with more digits and timestamps beyond year 9999 take a slower path.
+///
+/// Instances are not thread-safe.
+@NullMarked
+public final class ExchangeRateCsvReader implements AutoCloseable {
+
+    static final String HEADER = "pair,value,timestamp";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int SYMBOL_LENGTH = 6;
+    private static final int MAX_FAST_DIGITS = FixedRate.MAX_SCALE;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long lineNumber;
+
+    // Rows of a rate file usually share their date, so its epoch day is only computed when it changes
+    private int lastDate = -1;
+    private long lastEpochDay;
+
+    /// Creates a reader of the given stream, which [#close()] closes.
+    ///
+    /// @param input the stream to read, which doesn't need to be buffered
+    /// @throws NullPointerException if `input` is `null`
+    public ExchangeRateCsvReader(InputStream input) {
+        this.input = Objects.requireNonNull(input, "input stream cannot be null");
+    }
+
+    /// Reads the next exchange rate.
+    ///
+    /// @return the next rate, or `null` at the end of the input
+    /// @throws IOException if the input can't be read or a line is malformed
+    public @Nullable ExchangeRate read() throws IOException {
+        while (true) {
+            int end = nextLineEnd();
+            if (end < 0) {
+                return null;
+            }
+            int start = position;
+            position = end < limit ? end + 1 : end;
+            lineNumber++;
+
+            if (end > start && buffer[end - 1] == '\r') {
+                end--;
+            }
+            if (end == start || (lineNumber == 1 && isHeader(start, end))) {
+                continue;
+            }
+            return parse(start, end);
+        }
+    }
+
+    /// Returns a lazy stream of the remaining exchange rates.
+    ///
+    /// Closing the stream closes this reader.
+    ///
+    /// @return a sequential stream of rates, which throws an [UncheckedIOException] if the input can't be read or a line is malformed
+    public Stream<ExchangeRate> exchangeRates() {
+        var spliterator = new Spliterators.AbstractSpliterator<ExchangeRate>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super ExchangeRate> action) {
+                try {
+                    var rate = read();
+                    if (rate == null) {
+                        return false;
+                    }
+                    action.accept(rate);
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /// Closes the underlying stream.
+    ///
+    /// @throws IOException if the stream can't be closed
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    // Returns the index of the '\n' ending the line at the current position, the end of the last line if it has no '\n',
+    // or -1 at the end of the input
+    private int nextLineEnd() throws IOException {
+        int scanned = position;
+        while (true) {
+            for (int i = scanned; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+            if (endOfInput) {
+                return position < limit ? limit : -1;
+            }
+
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            if (limit == buffer.length) {
+                throw malformed("line is longer than " + buffer.length + " bytes");
+            }
+            scanned = limit;
+            int read = input.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+    }
+
+    private boolean isHeader(int start, int end) {
+        return end - start == HEADER.length() && text(start, end).equals(HEADER);
+    }
+
+    private ExchangeRate parse(int start, int end) throws IOException {
+        if (end - start < SYMBOL_LENGTH + 2 || buffer[start + SYMBOL_LENGTH] != ',') {
+            throw malformed("expected a currency pair followed by a comma");
+        }
+        CurrencyPair pair;
+        try {
+            pair = CurrencyPair.parse(buffer, start);
+        } catch (IllegalArgumentException e) {
+            throw malformed(e.getMessage());
+        }
+
+        int valueStart = start + SYMBOL_LENGTH + 1;
+        int valueEnd = valueStart;
+        while (valueEnd < end && buffer[valueEnd] != ',') {
+            valueEnd++;
+        }
+        if (valueEnd == end) {
+            throw malformed("expected a value followed by a comma");
+        }
+
+        var timestamp = parseTimestamp(valueEnd + 1, end);
+        try {
+            return parseValue(pair, valueStart, valueEnd, timestamp);
+        } catch (IllegalArgumentException e) {
+            throw malformed(e.getMessage());
+        }
+    }
+
+    private ExchangeRate parseValue(CurrencyPair pair, int start, int end, Instant timestamp) throws IOException {
+        long unscaledValue = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            int b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                unscaledValue = unscaledValue * 10 + (b - '0');
+                digits++;
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            } else {
+                throw malformed("invalid value '" + text(start, end) + "'");
+            }
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            throw malformed("invalid value '" + text(start, end) + "'");
+        }
+        if (digits > MAX_FAST_DIGITS) {
+            return new ExchangeRate(pair, new BigDecimal(text(start, end)), timestamp);
+        }
+        return new ExchangeRate(pair, BigDecimal.valueOf(unscaledValue, Math.max(scale, 0)), timestamp);
+    }
+
+    // Parses "yyyy-MM-ddTHH:mm:ss[.fraction]Z", or anything else Instant.parse() accepts on a slower path
+    private Instant parseTimestamp(int start, int end) throws IOException {
+        int length = end - start;
+        if (length >= 20 && length != 21 && length <= 30 && buffer[end - 1] == 'Z' && buffer[start + 4] == '-' && buffer[start + 7] == '-'
+                && buffer[start + 10] == 'T' && buffer[start + 13] == ':' && buffer[start + 16] == ':' && (length == 20 || buffer[start + 19] == '.')) {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            int hour = digits(start + 11, 2);
+            int minute = digits(start + 14, 2);
+            int second = digits(start + 17, 2);
+            int fractionDigits = Math.max(length - 21, 0);
+            int fraction = fractionDigits == 0 ? 0 : digits(start + 20, fractionDigits);
+            if ((year | month | day | hour | minute | second | fraction) >= 0 && hour < 24 && minute < 60 && second < 60) {
+                int date = (year * 100 + month) * 100 + day;
+                if (date != lastDate) {
+                    try {
+                        lastEpochDay = LocalDate.of(year, month, day).toEpochDay();
+                    } catch (DateTimeException e) {
+                        throw malformed("invalid timestamp '" + text(start, end) + "'");
+                    }
+                    lastDate = date;
+                }
+                long nanos = fraction * FixedPoint.powerOfTen(9 - fractionDigits);
+                return Instant.ofEpochSecond(lastEpochDay * 86_400 + hour * 3600 + minute * 60 + second, nanos);
+            }
+        }
+
+        try {
+            return Instant.parse(text(start, end));
+        } catch (DateTimeException e) {
+            throw malformed("invalid timestamp '" + text(start, end) + "'");
+        }
+    }
+
+    // Returns the value of the given number of ASCII digits, or a negative number if any of them isn't a digit
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private String text(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    private IOException malformed(String message) {
+        return new IOException("malformed exchange rate CSV at line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,222 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/// Writes exchange rates as CSV that an [ExchangeRateCsvReader] can read.
+///
+/// The output starts with a `pair,value,timestamp` header, followed by one `\n`-terminated line per rate,
+/// e.g. `EURUSD,1.0825,2025-12-30T16:00:00Z`. Values are written in plain notation, and timestamps like [java.time.Instant#toString()] does.
+///
+/// Lines are formatted into a reusable byte buffer, which is written to the underlying stream whenever it fills up,
+/// so the underlying stream doesn't need to be buffered. Values and timestamps are formatted digit by digit without intermediate strings,
+/// except for values with a negative scale or more than 18 digits and timestamps beyond year 9999, which take a slower path.
+///
+/// Instances are not thread-safe.
+@NullMarked
+public final class ExchangeRateCsvWriter implements AutoCloseable, Flushable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long FIRST_FAST_EPOCH_SECOND = LocalDate.of(0, 1, 1).toEpochDay() * 86_400;
+    private static final long LAST_FAST_EPOCH_SECOND = LocalDate.of(9999, 12, 31).toEpochDay() * 86_400 + 86_399;
+    // A pair, a value of up to 18 digits and a point, a timestamp with nanoseconds, two commas and a line break
+    private static final int MAX_FAST_LINE_LENGTH = 6 + 20 + 30 + 3;
+
+    private final OutputStream output;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    // Rows of a rate file usually share their date, so it's only formatted when it changes
+    private long lastEpochDay = Long.MIN_VALUE;
+    private final byte[] lastDate = new byte[10];
+
+    /// Creates a writer to the given stream, which [#close()] closes, and writes the header line.
+    ///
+    /// @param output the stream to write to
+    /// @throws NullPointerException if `output` is `null`
+    public ExchangeRateCsvWriter(OutputStream output) {
+        this.output = Objects.requireNonNull(output, "output stream cannot be null");
+        var header = (ExchangeRateCsvReader.HEADER + "\n").getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, buffer, 0, header.length);
+        position = header.length;
+    }
+
+    /// Writes an exchange rate.
+    ///
+    /// @param rate the rate to write
+    /// @return this writer
+    /// @throws NullPointerException if `rate` is `null`
+    /// @throws IOException          if the underlying stream can't be written
+    public ExchangeRateCsvWriter write(ExchangeRate rate) throws IOException {
+        Objects.requireNonNull(rate, "exchange rate cannot be null");
+
+        var value = rate.value();
+        var timestamp = rate.timestamp();
+        boolean fast = value.scale() >= 0 && value.scale() <= FixedRate.MAX_SCALE && value.precision() <= FixedRate.MAX_SCALE
+                && timestamp.getEpochSecond() >= FIRST_FAST_EPOCH_SECOND && timestamp.getEpochSecond() <= LAST_FAST_EPOCH_SECOND;
+        if (!fast) {
+            writeAscii(rate.currencyPair() + "," + value.toPlainString() + "," + timestamp + "\n");
+            return this;
+        }
+
+        if (BUFFER_SIZE - position < MAX_FAST_LINE_LENGTH) {
+            flushBuffer();
+        }
+        int offset = position;
+        offset += rate.currencyPair().writeAscii(buffer, offset);
+        buffer[offset++] = ',';
+        offset = writeDecimal(value.unscaledValue().longValue(), value.scale(), offset);
+        buffer[offset++] = ',';
+        offset = writeTimestamp(timestamp.getEpochSecond(), timestamp.getNano(), offset);
+        buffer[offset++] = '\n';
+        position = offset;
+        return this;
+    }
+
+    /// Writes exchange rates in iteration order.
+    ///
+    /// @param rates the rates to write
+    /// @return this writer
+    /// @throws NullPointerException if `rates` is or contains `null`
+    /// @throws IOException          if the underlying stream can't be written
+    public ExchangeRateCsvWriter writeAll(Iterable<ExchangeRate> rates) throws IOException {
+        for (var rate : rates) {
+            write(rate);
+        }
+        return this;
+    }
+
+    /// Writes the buffered lines and flushes the underlying stream.
+    ///
+    /// @throws IOException if the underlying stream can't be written
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        output.flush();
+    }
+
+    /// Writes the buffered lines and closes the underlying stream.
+    ///
+    /// @throws IOException if the underlying stream can't be written or closed
+    @Override
+    public void close() throws IOException {
+        try (output) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private int writeDecimal(long unscaledValue, int scale, int offset) {
+        int digits = Math.max(FixedPoint.digitLength(unscaledValue), scale + 1);
+        int end = offset + digits + (scale > 0 ? 1 : 0);
+        int index = end;
+        for (int i = 0; i < digits; i++) {
+            if (i == scale && scale > 0) {
+                buffer[--index] = '.';
+            }
+            buffer[--index] = (byte) ('0' + unscaledValue % 10);
+            unscaledValue /= 10;
+        }
+        return end;
+    }
+
+    // Formats "yyyy-MM-ddTHH:mm:ss[.fraction]Z" for years 0 to 9999, with 3, 6 or 9 fractional digits like Instant.toString()
+    private int writeTimestamp(long epochSecond, int nanos, int offset) {
+        long epochDay = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = Math.floorMod(epochSecond, 86_400);
+        if (epochDay != lastEpochDay) {
+            var date = LocalDate.ofEpochDay(epochDay);
+            writeDigits(lastDate, 0, date.getYear(), 4);
+            lastDate[4] = '-';
+            writeDigits(lastDate, 5, date.getMonthValue(), 2);
+            lastDate[7] = '-';
+            writeDigits(lastDate, 8, date.getDayOfMonth(), 2);
+            lastEpochDay = epochDay;
+        }
+        System.arraycopy(lastDate, 0, buffer, offset, lastDate.length);
+        offset += lastDate.length;
+
+        buffer[offset] = 'T';
+        writeDigits(buffer, offset + 1, secondOfDay / 3600, 2);
+        buffer[offset + 3] = ':';
+        writeDigits(buffer, offset + 4, secondOfDay / 60 % 60, 2);
+        buffer[offset + 6] = ':';
+        writeDigits(buffer, offset + 7, secondOfDay % 60, 2);
+        offset += 9;
+
+        if (nanos != 0) {
+            buffer[offset++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                writeDigits(buffer, offset, nanos / 1_000_000, 3);
+                offset += 3;
+            } else if (nanos % 1000 == 0) {
+                writeDigits(buffer, offset, nanos / 1000, 6);
+                offset += 6;
+            } else {
+                writeDigits(buffer, offset, nanos, 9);
+                offset += 9;
+            }
+        }
+        buffer[offset++] = 'Z';
+        return offset;
+    }
+
+    private static void writeDigits(byte[] destination, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            destination[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void writeAscii(String text) throws IOException {
+        var bytes = text.getBytes(StandardCharsets.US_ASCII);
+        if (BUFFER_SIZE - position < bytes.length) {
+            flushBuffer();
+        }
+        if (bytes.length > BUFFER_SIZE) {
+            output.write(bytes);
+        } else {
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+}
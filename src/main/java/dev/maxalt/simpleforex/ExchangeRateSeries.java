@@ -0,0 +1,328 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/// A time series of exchange rates of one currency pair, stored in columns of primitives.
+///
+/// Each point is an epoch millisecond timestamp and a fixed-point value with the series' scale, so a point takes 16 bytes
+/// (plus the spare capacity of the growing arrays) rather than an [ExchangeRate] object graph of about 150 bytes.
+/// [ExchangeRate] and [FixedRate] objects are only created when points are read as such.
+///
+/// Points are appended in strictly increasing timestamp order, so lookups by time are binary searches.
+/// [#between(Instant, Instant)] returns a read-only view of a time range that shares the storage of this series.
+///
+/// Appends are serialized, and reads don't block: a reader sees a consistent prefix of the series, which may not include
+/// points appended concurrently. Views see the points that were in their range when they were created.
+@NullMarked
+public final class ExchangeRateSeries {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final CurrencyPair pair;
+    private final int scale;
+    private final RoundingMode roundingMode;
+    private final int offset;
+    private final boolean readOnly;
+
+    // Appends write the columns first and the size last, so reading the size first gives a consistent snapshot
+    private volatile Columns columns;
+    private volatile int size;
+
+    /// Creates an empty series that only accepts values that are exact at the given scale.
+    ///
+    /// @param pair  the currency pair of all points
+    /// @param scale the number of digits after the decimal point of all values (must be between `0` and [FixedRate#MAX_SCALE])
+    /// @throws NullPointerException     if `pair` is `null`
+    /// @throws IllegalArgumentException if `scale` is out of range
+    public ExchangeRateSeries(CurrencyPair pair, int scale) {
+        this(pair, scale, RoundingMode.UNNECESSARY);
+    }
+
+    /// Creates an empty series that rounds appended values to the given scale.
+    ///
+    /// @param pair         the currency pair of all points
+    /// @param scale        the number of digits after the decimal point of all values (must be between `0` and [FixedRate#MAX_SCALE])
+    /// @param roundingMode how to round appended values with more digits after the decimal point
+    /// @throws NullPointerException     if `pair` or `roundingMode` is `null`
+    /// @throws IllegalArgumentException if `scale` is out of range
+    public ExchangeRateSeries(CurrencyPair pair, int scale, RoundingMode roundingMode) {
+        this(pair, scale, roundingMode, INITIAL_CAPACITY);
+    }
+
+    // Lets readers that know the number of points up front size the columns exactly
+    ExchangeRateSeries(CurrencyPair pair, int scale, RoundingMode roundingMode, int initialCapacity) {
+        this.pair = Objects.requireNonNull(pair, "currency pair cannot be null");
+        this.roundingMode = Objects.requireNonNull(roundingMode, "rounding mode cannot be null");
+        if (scale < 0 || scale > FixedRate.MAX_SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + FixedRate.MAX_SCALE + ": " + scale);
+        }
+        this.scale = scale;
+        this.offset = 0;
+        this.readOnly = false;
+        int capacity = Math.clamp(initialCapacity, 1, MAX_CAPACITY);
+        this.columns = new Columns(new long[capacity], new long[capacity]);
+    }
+
+    private ExchangeRateSeries(ExchangeRateSeries source, Columns columns, int offset, int size) {
+        this.pair = source.pair;
+        this.scale = source.scale;
+        this.roundingMode = source.roundingMode;
+        this.offset = offset;
+        this.readOnly = true;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /// Appends a point given as primitives.
+    ///
+    /// @param epochMilli    the timestamp, which must be after the timestamp of the last point
+    /// @param unscaledValue the value multiplied by 10<sup>[scale][#scale()]</sup> (must be positive)
+    /// @throws IllegalArgumentException      if the timestamp is out of order or the value isn't positive
+    /// @throws UnsupportedOperationException if this is a [view][#between(Instant, Instant)]
+    /// @throws IllegalStateException         if the series is full
+    public synchronized void append(long epochMilli, long unscaledValue) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("series views are read-only");
+        }
+        if (unscaledValue <= 0) {
+            throw new IllegalArgumentException("the value of an exchange rate must be positive");
+        }
+
+        int count = size;
+        var current = columns;
+        if (count > 0 && epochMilli <= current.epochMillis[count - 1]) {
+            throw new IllegalArgumentException("timestamps must be strictly increasing: " + Instant.ofEpochMilli(epochMilli)
+                    + " is not after " + Instant.ofEpochMilli(current.epochMillis[count - 1]));
+        }
+        if (count == current.epochMillis.length) {
+            if (count == MAX_CAPACITY) {
+                throw new IllegalStateException("series is full");
+            }
+            int capacity = count < MAX_CAPACITY / 2 ? count * 2 : MAX_CAPACITY;
+            current = new Columns(Arrays.copyOf(current.epochMillis, capacity), Arrays.copyOf(current.unscaledValues, capacity));
+            columns = current;
+        }
+        current.epochMillis[count] = epochMilli;
+        current.unscaledValues[count] = unscaledValue;
+        size = count + 1;
+    }
+
+    /// Appends an exchange rate, rounding its value to the series' scale.
+    ///
+    /// @param rate an exchange rate of the series' pair
+    /// @throws NullPointerException          if `rate` is `null`
+    /// @throws IllegalArgumentException      if the rate is of another pair or its timestamp is out of order
+    /// @throws ArithmeticException           if the value needs rounding but the series doesn't round,
+    ///                                       or doesn't fit into a `long` or rounds to zero at the series' scale
+    /// @throws UnsupportedOperationException if this is a [view][#between(Instant, Instant)]
+    public void append(ExchangeRate rate) {
+        Objects.requireNonNull(rate, "exchange rate cannot be null");
+        if (!rate.currencyPair().equals(pair)) {
+            throw new IllegalArgumentException("cannot append a rate of " + rate.currencyPair() + " to a series of " + pair);
+        }
+
+        long unscaledValue = rate.value().setScale(scale, roundingMode).unscaledValue().longValueExact();
+        if (unscaledValue == 0) {
+            throw new ArithmeticException("value rounds to zero at scale " + scale + ": " + rate.value());
+        }
+        append(rate.timestamp().toEpochMilli(), unscaledValue);
+    }
+
+    /// Returns the currency pair of all points.
+    ///
+    /// @return the currency pair
+    public CurrencyPair pair() {
+        return pair;
+    }
+
+    /// Returns the number of digits after the decimal point of all values.
+    ///
+    /// @return the scale of unscaled values
+    public int scale() {
+        return scale;
+    }
+
+    /// Returns the number of points.
+    ///
+    /// @return the current size
+    public int size() {
+        return size;
+    }
+
+    /// Checks if there are no points.
+    ///
+    /// @return `true` if the series is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /// Returns the timestamp of a point in epoch milliseconds.
+    ///
+    /// @param index the index of the point
+    /// @return the timestamp
+    /// @throws IndexOutOfBoundsException if the index is out of range
+    public long epochMilli(int index) {
+        Objects.checkIndex(index, size);
+        return columns.epochMillis[offset + index];
+    }
+
+    /// Returns the value of a point multiplied by 10<sup>[scale][#scale()]</sup>.
+    ///
+    /// @param index the index of the point
+    /// @return the unscaled value
+    /// @throws IndexOutOfBoundsException if the index is out of range
+    public long unscaledValue(int index) {
+        Objects.checkIndex(index, size);
+        return columns.unscaledValues[offset + index];
+    }
+
+    /// Returns a point as an exchange rate.
+    ///
+    /// @param index the index of the point
+    /// @return the exchange rate, whose value has no trailing zeros after the decimal point
+    /// @throws IndexOutOfBoundsException if the index is out of range
+    public ExchangeRate exchangeRate(int index) {
+        Objects.checkIndex(index, size);
+        var snapshot = columns;
+        return exchangeRate(snapshot, offset + index);
+    }
+
+    /// Returns the last point, i.e. the most recent exchange rate.
+    ///
+    /// @return an `Optional` with the last point as an exchange rate, or an empty `Optional` if the series is empty
+    public Optional<ExchangeRate> latest() {
+        int count = size;
+        return count == 0 ? Optional.empty() : Optional.of(exchangeRate(columns, offset + count - 1));
+    }
+
+    /// Finds the last point at or before the given time.
+    ///
+    /// @param epochMilli a timestamp in epoch milliseconds
+    /// @return the index of the point, or `-1` if all points are after the given time
+    public int indexAtOrBefore(long epochMilli) {
+        int count = size;
+        var snapshot = columns;
+        int after = lowerBound(snapshot.epochMillis, offset, count, epochMilli);
+        return after < count && snapshot.epochMillis[offset + after] == epochMilli ? after : after - 1;
+    }
+
+    /// Returns a read-only view of the points at or after `start` and before `end`.
+    ///
+    /// The view shares the storage of this series, so creating it doesn't copy any points,
+    /// but it doesn't include points appended to this series afterward.
+    ///
+    /// @param start the start of the time range, inclusive
+    /// @param end   the end of the time range, exclusive
+    /// @return a view of the range (empty if `end` isn't after `start`)
+    /// @throws NullPointerException if an argument is `null`
+    public ExchangeRateSeries between(Instant start, Instant end) {
+        long startMilli = saturatedEpochMilli(Objects.requireNonNull(start, "start cannot be null"));
+        long endMilli = saturatedEpochMilli(Objects.requireNonNull(end, "end cannot be null"));
+
+        int count = size;
+        var snapshot = columns;
+        int from = lowerBound(snapshot.epochMillis, offset, count, startMilli);
+        int to = Math.max(from, lowerBound(snapshot.epochMillis, offset, count, endMilli));
+        return new ExchangeRateSeries(this, snapshot, offset + from, to - from);
+    }
+
+    /// Returns all points as exchange rates, in timestamp order.
+    ///
+    /// @return a stream of the points that were in the series when this method was called
+    public Stream<ExchangeRate> exchangeRates() {
+        int count = size;
+        var snapshot = columns;
+        return IntStream.range(offset, offset + count).mapToObj(index -> exchangeRate(snapshot, index));
+    }
+
+    /// Returns the timestamps of all points in epoch milliseconds.
+    ///
+    /// @return a new array
+    public long[] epochMillis() {
+        int count = size;
+        return Arrays.copyOfRange(columns.epochMillis, offset, offset + count);
+    }
+
+    /// Returns the unscaled values of all points.
+    ///
+    /// @return a new array
+    public long[] unscaledValues() {
+        int count = size;
+        return Arrays.copyOfRange(columns.unscaledValues, offset, offset + count);
+    }
+
+    @Override
+    public String toString() {
+        return "ExchangeRateSeries[" + pair + ", size=" + size + "]";
+    }
+
+    /// Converts an instant to epoch milliseconds, saturating instead of overflowing.
+    static long saturatedEpochMilli(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException overflow) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private ExchangeRate exchangeRate(Columns snapshot, int index) {
+        var value = new FixedRate(snapshot.unscaledValues[index], scale).stripTrailingZeros();
+        return new ExchangeRate(pair, value, Instant.ofEpochMilli(snapshot.epochMillis[index]));
+    }
+
+    // Returns the number of points (relative to the offset) whose timestamp is before the given one
+    private static int lowerBound(long[] epochMillis, int offset, int count, long epochMilli) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochMillis[offset + middle] < epochMilli) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record Columns(long[] epochMillis, long[] unscaledValues) {
+    }
+}
@@ -0,0 +1,394 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/// Compact encoding of [ExchangeRateSeries] for history files.
+///
+/// Rate series compress well: timestamps are regular and values move by a few pips at a time.
+/// In the spirit of Facebook's Gorilla time series compression, each point is encoded as the delta of its timestamp delta
+/// and the delta of its fixed-point value, both as zig-zag varints. A daily series with a constant spacing and values moving
+/// by less than 64 units of the last digit takes 2 bytes per point, compared to 16 bytes in memory and about 38 bytes per CSV row.
+///
+/// Unlike Gorilla, the encoding is aligned to bytes rather than bits, which keeps decoding branch-light and fast at a small cost in size.
+///
+/// ## Format
+///
+/// A file starts with the magic number `SFXS` and a format version byte (`1`), followed by a varint series count and the series.
+/// Each series is a varint [packed key][CurrencyPair#toPackedKey()] of its pair, a scale byte and a varint point count,
+/// followed by its points. The first point is a zig-zag varint epoch millisecond and a varint unscaled value;
+/// every following point is a zig-zag varint of its timestamp delta minus the previous one, and a zig-zag varint of its value delta.
+/// Deltas wrap around on overflow, so any series round-trips exactly.
+@NullMarked
+public final class ExchangeRateSeriesCodec {
+
+    static final int MAGIC = 'S' | 'F' << 8 | 'X' << 16 | 'S' << 24;
+    static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_VARINT_LENGTH = 10;
+
+    private ExchangeRateSeriesCodec() {
+    }
+
+    /// Encodes series to a stream, which is flushed but not closed.
+    ///
+    /// Each series is encoded with the points it has when it's reached, so concurrent appends are either included or not.
+    ///
+    /// @param series the series to encode
+    /// @param output the stream to write to, which doesn't need to be buffered
+    /// @throws NullPointerException if an argument is `null` or `series` contains `null`
+    /// @throws IOException          if the stream can't be written
+    public static void write(Collection<ExchangeRateSeries> series, OutputStream output) throws IOException {
+        var snapshot = List.copyOf(series);
+        var encoder = new Encoder(Objects.requireNonNull(output, "output stream cannot be null"));
+        encoder.writeInt(MAGIC);
+        encoder.writeByte(VERSION);
+        encoder.writeVarint(snapshot.size());
+        for (var pairSeries : snapshot) {
+            encoder.writeSeries(pairSeries);
+        }
+        encoder.flush();
+    }
+
+    /// Encodes series to a file, replacing it atomically if it exists.
+    ///
+    /// @param series the series to encode
+    /// @param path   the file to write
+    /// @throws NullPointerException if an argument is `null` or `series` contains `null`
+    /// @throws IOException          if the file can't be written
+    public static void write(Collection<ExchangeRateSeries> series, Path path) throws IOException {
+        Objects.requireNonNull(path, "path cannot be null");
+        var temporaryFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (var output = Files.newOutputStream(temporaryFile)) {
+                write(series, output);
+            }
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /// Decodes all series from a stream into primitive columns. The stream isn't closed.
+    ///
+    /// @param input the stream to read, which doesn't need to be buffered
+    /// @return the decoded series, in the order they were written
+    /// @throws NullPointerException if `input` is `null`
+    /// @throws IOException          if the stream can't be read or isn't a valid encoding
+    public static List<ExchangeRateSeries> read(InputStream input) throws IOException {
+        var decoder = new Decoder(Objects.requireNonNull(input, "input stream cannot be null"));
+        int count = decoder.readHeader();
+        var series = new ArrayList<ExchangeRateSeries>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            decoder.readSeriesHeader();
+            var pairSeries = new ExchangeRateSeries(decoder.pair(), decoder.scale, RoundingMode.UNNECESSARY, Math.min(decoder.remaining, 1 << 20));
+            while (decoder.readPoint()) {
+                try {
+                    pairSeries.append(decoder.epochMilli, decoder.unscaledValue);
+                } catch (IllegalArgumentException e) {
+                    throw decoder.corrupt(e.getMessage());
+                }
+            }
+            series.add(pairSeries);
+        }
+        return series;
+    }
+
+    /// Decodes all series from a file into primitive columns.
+    ///
+    /// @param path the file to read
+    /// @return the decoded series, in the order they were written
+    /// @throws NullPointerException if `path` is `null`
+    /// @throws IOException          if the file can't be read or isn't a valid encoding
+    public static List<ExchangeRateSeries> read(Path path) throws IOException {
+        try (var input = Files.newInputStream(Objects.requireNonNull(path, "path cannot be null"))) {
+            return read(input);
+        }
+    }
+
+    /// Lazily decodes the points of all series from a stream into exchange rates, series by series.
+    ///
+    /// Closing the returned stream closes the input stream.
+    ///
+    /// @param input the stream to read, which doesn't need to be buffered
+    /// @return a sequential stream of rates, which throws an [UncheckedIOException] if the input can't be read or isn't a valid encoding
+    /// @throws NullPointerException if `input` is `null`
+    public static Stream<ExchangeRate> exchangeRates(InputStream input) {
+        var decoder = new Decoder(Objects.requireNonNull(input, "input stream cannot be null"));
+        var spliterator = new Spliterators.AbstractSpliterator<ExchangeRate>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int remainingSeries = -1;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super ExchangeRate> action) {
+                try {
+                    if (remainingSeries < 0) {
+                        remainingSeries = decoder.readHeader();
+                    }
+                    while (!decoder.readPoint()) {
+                        if (remainingSeries == 0) {
+                            return false;
+                        }
+                        decoder.readSeriesHeader();
+                        remainingSeries--;
+                    }
+                    FixedRate value;
+                    try {
+                        value = new FixedRate(decoder.unscaledValue, decoder.scale).stripTrailingZeros();
+                    } catch (IllegalArgumentException e) {
+                        throw decoder.corrupt(e.getMessage());
+                    }
+                    action.accept(new ExchangeRate(decoder.pair(), value, Instant.ofEpochMilli(decoder.epochMilli)));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static long zigZag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static long unZigZag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static final class Encoder {
+
+        private final OutputStream output;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        Encoder(OutputStream output) {
+            this.output = output;
+        }
+
+        void writeSeries(ExchangeRateSeries series) throws IOException {
+            // Reading the size once pins the points to encode, even if more are appended meanwhile
+            int size = series.size();
+            writeVarint(series.pair().toPackedKey());
+            writeByte(series.scale());
+            writeVarint(size);
+            if (size == 0) {
+                return;
+            }
+
+            long previousMilli = series.epochMilli(0);
+            long previousValue = series.unscaledValue(0);
+            long previousDelta = 0;
+            writeVarint(zigZag(previousMilli));
+            writeVarint(previousValue);
+            for (int i = 1; i < size; i++) {
+                long epochMilli = series.epochMilli(i);
+                long unscaledValue = series.unscaledValue(i);
+                long delta = epochMilli - previousMilli;
+                writeVarint(zigZag(delta - previousDelta));
+                writeVarint(zigZag(unscaledValue - previousValue));
+                previousMilli = epochMilli;
+                previousValue = unscaledValue;
+                previousDelta = delta;
+            }
+        }
+
+        void writeInt(int value) throws IOException {
+            for (int i = 0; i < Integer.BYTES; i++) {
+                writeByte(value >>> 8 * i);
+            }
+        }
+
+        void writeByte(int value) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarint(long value) throws IOException {
+            if (buffer.length - position < MAX_VARINT_LENGTH) {
+                flushBuffer();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            output.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    // Reads series headers and points; the current series and point are kept in fields to avoid allocating per point
+    private static final class Decoder {
+
+        private final InputStream input;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private @Nullable CurrencyPair pair;
+        int scale;
+        int remaining;
+        private boolean first;
+        long epochMilli;
+        long unscaledValue;
+        private long delta;
+
+        Decoder(InputStream input) {
+            this.input = input;
+        }
+
+        int readHeader() throws IOException {
+            int magic = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                magic |= readByte() << 8 * i;
+            }
+            if (magic != MAGIC) {
+                throw new IOException("not an exchange rate series encoding");
+            }
+            int version = readByte();
+            if (version != VERSION) {
+                throw new IOException("unsupported exchange rate series encoding version " + version);
+            }
+            return readCount();
+        }
+
+        void readSeriesHeader() throws IOException {
+            long key = readVarint();
+            try {
+                pair = CurrencyPair.fromPackedKey(Math.toIntExact(key));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                throw corrupt("invalid currency pair key " + key);
+            }
+            scale = readByte();
+            if (scale > FixedRate.MAX_SCALE) {
+                throw corrupt("invalid scale " + scale);
+            }
+            remaining = readCount();
+            first = true;
+        }
+
+        // Advances to the next point of the current series, or returns false at its end
+        boolean readPoint() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            if (first) {
+                epochMilli = unZigZag(readVarint());
+                unscaledValue = readVarint();
+                delta = 0;
+                first = false;
+            } else {
+                delta += unZigZag(readVarint());
+                epochMilli += delta;
+                unscaledValue += unZigZag(readVarint());
+            }
+            remaining--;
+            return true;
+        }
+
+        CurrencyPair pair() {
+            return Objects.requireNonNull(pair, "no series header was read");
+        }
+
+        IOException corrupt(String message) {
+            return new IOException("corrupt exchange rate series encoding: " + message);
+        }
+
+        private int readCount() throws IOException {
+            long count = readVarint();
+            if (count > Integer.MAX_VALUE) {
+                throw corrupt("invalid count " + count);
+            }
+            return (int) count;
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+            throw corrupt("varint is too long");
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) {
+                limit = input.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    throw new IOException("truncated exchange rate series encoding");
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+    }
+}
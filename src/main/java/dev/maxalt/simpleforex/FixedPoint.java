@@ -0,0 +1,300 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/// Primitive arithmetic on fixed-point decimals, i.e. `long` unscaled values with an implied power-of-ten scale.
+///
+/// None of these methods allocate. Overflows are reported with [ArithmeticException], like in [Math#multiplyExact(long, long)].
+@NullMarked
+final class FixedPoint {
+
+    /// The greatest supported scale, i.e. the greatest power of ten that fits into a `long`.
+    static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    /// Returns `10^exponent` for an exponent in `[0, MAX_SCALE]`.
+    static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /// Returns the number of decimal digits of a positive value.
+    static int digitLength(long value) {
+        int length = 1;
+        while (length <= MAX_SCALE && value >= POWERS_OF_TEN[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /// Divides `dividend` by a positive `divisor`, rounding the quotient with the given mode like [java.math.BigDecimal] does.
+    ///
+    /// @throws ArithmeticException if `mode` is [RoundingMode#UNNECESSARY] and the division is inexact
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - divisor * quotient;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int signum = dividend < 0 ? -1 : 1;
+        return roundingIncrement(quotient, signum, Math.abs(remainder), divisor, mode) ? quotient + signum : quotient;
+    }
+
+    /// Decides whether a truncated quotient must be incremented (away from zero) to round it with the given mode.
+    ///
+    /// @param quotient  the truncated quotient
+    /// @param signum    the sign of the exact quotient, `-1` or `1`
+    /// @param remainder the absolute value of the division remainder, greater than zero and less than `divisor`
+    /// @param divisor   the absolute value of the divisor
+    /// @throws ArithmeticException if `mode` is [RoundingMode#UNNECESSARY]
+    static boolean roundingIncrement(long quotient, int signum, long remainder, long divisor, RoundingMode mode) {
+        return switch (mode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                // Compares the remainder to half the divisor without overflowing
+                long comparison = remainder - (divisor - remainder);
+                if (comparison == 0) {
+                    yield mode == RoundingMode.HALF_UP || (mode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+                }
+                yield comparison > 0;
+            }
+        };
+    }
+
+    /// Converts an unscaled value from one scale to another, rounding it if the scale decreases.
+    ///
+    /// @throws ArithmeticException if the result overflows, or rounding is necessary with [RoundingMode#UNNECESSARY]
+    static long rescale(long unscaledValue, int fromScale, int toScale, RoundingMode mode) {
+        if (toScale >= fromScale) {
+            return multiplyByPowerOfTen(unscaledValue, toScale - fromScale);
+        }
+
+        int exponent = fromScale - toScale;
+        if (exponent > MAX_SCALE) {
+            // The divisor doesn't fit into a long, but it's greater than any long, so the truncated quotient is zero
+            return unscaledValue == 0 ? 0 : roundFraction(unscaledValue, exponent, mode);
+        }
+        return divide(unscaledValue, POWERS_OF_TEN[exponent], mode);
+    }
+
+    /// Multiplies a value by `10^exponent` for a non-negative exponent.
+    ///
+    /// @throws ArithmeticException if the result overflows
+    static long multiplyByPowerOfTen(long value, int exponent) {
+        if (value == 0) {
+            return 0;
+        }
+        if (exponent > MAX_SCALE) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.multiplyExact(value, POWERS_OF_TEN[exponent]);
+    }
+
+    /// Computes `10^exponent / divisor`, rounded with the given mode.
+    ///
+    /// The divisor must be greater than `1` and less than `10^17`, and the rounded result must have at most 18 digits.
+    /// The quotient is computed with long division in chunks of several digits at a time, so it takes a few hardware divisions.
+    ///
+    /// @throws ArithmeticException if `mode` is [RoundingMode#UNNECESSARY] and the division is inexact
+    static long reciprocal(long divisor, int exponent, RoundingMode mode) {
+        // The remainder is less than the divisor, so it can be multiplied by up to 10^(18 - digits) without overflowing
+        int chunkLength = MAX_SCALE - digitLength(divisor);
+
+        long quotient = 0;
+        long remainder = 1;
+        for (int remaining = exponent; remaining > 0; ) {
+            int length = Math.min(remaining, chunkLength);
+            long dividend = remainder * POWERS_OF_TEN[length];
+            quotient = quotient * POWERS_OF_TEN[length] + dividend / divisor;
+            remainder = dividend % divisor;
+            remaining -= length;
+        }
+
+        if (remainder == 0) {
+            return quotient;
+        }
+        return roundingIncrement(quotient, 1, remainder, divisor, mode) ? quotient + 1 : quotient;
+    }
+
+    /// Checks if `1 / value` has a finite decimal expansion, i.e. if a positive value has no prime factors other than 2 and 5.
+    static boolean hasTerminatingReciprocal(long value) {
+        long remaining = value >> Long.numberOfTrailingZeros(value);
+        while (remaining % 5 == 0) {
+            remaining /= 5;
+        }
+        return remaining == 1;
+    }
+
+    /// Compares two fixed-point values numerically, regardless of their scales.
+    static int compare(long left, int leftScale, long right, int rightScale) {
+        if (leftScale == rightScale) {
+            return Long.compare(left, right);
+        }
+
+        int leftSignum = Long.signum(left);
+        int rightSignum = Long.signum(right);
+        if (leftSignum != rightSignum) {
+            return Integer.compare(leftSignum, rightSignum);
+        }
+
+        // Brings the value with the smaller scale to the greater scale; if that overflows, its magnitude is the greater one
+        boolean leftIsCoarser = leftScale < rightScale;
+        long coarse = leftIsCoarser ? left : right;
+        long fine = leftIsCoarser ? right : left;
+        int comparison;
+        try {
+            comparison = Long.compare(multiplyByPowerOfTen(coarse, Math.abs(leftScale - rightScale)), fine);
+        } catch (ArithmeticException overflow) {
+            comparison = leftSignum;
+        }
+        return leftIsCoarser ? comparison : -comparison;
+    }
+
+    /// Returns the scale of the given value with trailing zeros stripped (possibly negative).
+    static int strippedScale(long unscaledValue, int scale) {
+        if (unscaledValue == 0) {
+            return 0;
+        }
+        while (unscaledValue % 10 == 0) {
+            unscaledValue /= 10;
+            scale--;
+        }
+        return scale;
+    }
+
+    /// Returns the given unscaled value with trailing zeros stripped.
+    static long strippedUnscaledValue(long unscaledValue) {
+        if (unscaledValue == 0) {
+            return 0;
+        }
+        while (unscaledValue % 10 == 0) {
+            unscaledValue /= 10;
+        }
+        return unscaledValue;
+    }
+
+    /// A rounding division by a constant, prepared for dividing many values.
+    ///
+    /// [#divide(long)] has no data-dependent branches: it computes the quotient with a multiplication by a precomputed reciprocal
+    /// (Granlund and Montgomery, *Division by Invariant Integers using Multiplication*, 1994), and makes the rounding decision,
+    /// which would be a mispredicted branch about half the time, with arithmetic.
+    /// That makes it several times faster than [FixedPoint#divide(long, long, RoundingMode)] on values with random remainders,
+    /// and lets vector code do the same with lane-wise operations.
+    ///
+    /// @param divisor       the divisor, at least `2`
+    /// @param reciprocal    the unsigned multiplier `ceil(2^(63 + l) / divisor)`, where `l = ceil(log2(divisor))`
+    /// @param shift         `l - 1`, which completes the division of the high word of the product
+    /// @param parityMask    `1` if odd quotients are rounded up at exactly half (half-even), `0` otherwise
+    /// @param positiveLimit the greatest remainder (plus parity) of positive values that rounds toward zero
+    /// @param negativeLimit the greatest remainder (plus parity) of negative values that rounds toward zero
+    record Divisor(long divisor, long reciprocal, int shift, long parityMask, long positiveLimit, long negativeLimit) {
+
+        /// Prepares a division by a divisor of at least `2`.
+        ///
+        /// @throws IllegalArgumentException if `mode` is [RoundingMode#UNNECESSARY], which can't be decided without branching
+        static Divisor of(long divisor, RoundingMode mode) {
+            long half = divisor / 2;
+            // Only even divisors can leave a remainder of exactly half
+            long parityMask = mode == RoundingMode.HALF_EVEN ? ~divisor & 1 : 0;
+            return switch (mode) {
+                case UNNECESSARY -> throw new IllegalArgumentException("rounding mode must not be UNNECESSARY");
+                case DOWN -> of(divisor, 0, Long.MAX_VALUE, Long.MAX_VALUE);
+                case UP -> of(divisor, 0, 0, 0);
+                case CEILING -> of(divisor, 0, 0, Long.MAX_VALUE);
+                case FLOOR -> of(divisor, 0, Long.MAX_VALUE, 0);
+                case HALF_UP -> of(divisor, 0, (divisor - 1) / 2, (divisor - 1) / 2);
+                case HALF_DOWN, HALF_EVEN -> of(divisor, parityMask, half, half);
+            };
+        }
+
+        private static Divisor of(long divisor, long parityMask, long positiveLimit, long negativeLimit) {
+            // The reciprocal is less than 2^64 and exceeds 2^(63 + l) / divisor by less than 2^l,
+            // which makes the quotients of all dividends below 2^63 exact
+            int log2 = Long.SIZE - Long.numberOfLeadingZeros(divisor - 1);
+            var reciprocal = BigInteger.ONE.shiftLeft(Long.SIZE - 1 + log2)
+                    .add(BigInteger.valueOf(divisor - 1))
+                    .divide(BigInteger.valueOf(divisor));
+            return new Divisor(divisor, reciprocal.longValue(), log2 - 1, parityMask, positiveLimit, negativeLimit);
+        }
+
+        /// Divides a value other than [Long#MIN_VALUE], rounding the quotient like [FixedPoint#divide(long, long, RoundingMode)] does.
+        long divide(long dividend) {
+            long sign = dividend >> 63;
+            long magnitude = (dividend ^ sign) - sign;
+            long quotient = Math.unsignedMultiplyHigh(magnitude, reciprocal) >>> shift;
+            long remainder = magnitude - quotient * divisor;
+            long limit = positiveLimit ^ ((positiveLimit ^ negativeLimit) & sign);
+            // The limits are only zero when there's no parity, so a remainder of zero never rounds away from zero
+            long increment = (limit - (remainder + (quotient & parityMask))) >>> 63;
+            return ((quotient + increment) ^ sign) - sign;
+        }
+    }
+
+    // Rounds unscaledValue / 10^exponent to an integer, given that the exponent is greater than MAX_SCALE
+    private static long roundFraction(long unscaledValue, int exponent, RoundingMode mode) {
+        int signum = unscaledValue < 0 ? -1 : 1;
+        // Half of the divisor is 5 * 10^(exponent - 1), which only fits into a long when the exponent is 19
+        long halfDivisor = POWERS_OF_TEN[MAX_SCALE] / 2 * 10;
+        int comparisonToHalf = -1;
+        if (exponent == MAX_SCALE + 1) {
+            comparisonToHalf = unscaledValue == Long.MIN_VALUE ? 1 : Long.compare(Math.abs(unscaledValue), halfDivisor);
+        }
+        boolean increment = switch (mode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP -> comparisonToHalf >= 0;
+            case HALF_DOWN, HALF_EVEN -> comparisonToHalf > 0;
+        };
+        return increment ? signum : 0;
+    }
+}
@@ -0,0 +1,298 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/// A positive fixed-point decimal number, equal to `unscaledValue × 10^-scale`.
+///
+/// This is a compact alternative to [BigDecimal] for the [value of an exchange rate][ExchangeRate#value()]:
+/// it's a pair of primitives, so it can be stored in primitive arrays or binary formats,
+/// and its arithmetic operations don't allocate anything other than their results.
+/// Conversions to and from [BigDecimal] are lossless; values that don't fit into a `long` with a scale of at most
+/// [#MAX_SCALE] are rejected rather than rounded.
+///
+/// Like [ExchangeRate], equality is numeric and ignores the scale: `1.5` is equal to `1.50`.
+///
+/// This is an immutable, value-based class. Use it as you would use [java.time.LocalDate] or [java.util.Optional].
+///
+/// @param unscaledValue the unscaled value (must be positive)
+/// @param scale         the number of digits after the decimal point (must be between `0` and [#MAX_SCALE])
+@NullMarked
+public record FixedRate(long unscaledValue, int scale) implements Comparable<FixedRate> {
+
+    /// The greatest supported scale.
+    public static final int MAX_SCALE = FixedPoint.MAX_SCALE;
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_FAST_RECIPROCAL_VALUE = FixedPoint.powerOfTen(17);
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    /// Main constructor.
+    ///
+    /// @param unscaledValue the unscaled value (must be positive)
+    /// @param scale         the number of digits after the decimal point (must be between `0` and [#MAX_SCALE])
+    /// @throws IllegalArgumentException if `unscaledValue` is zero or negative, or `scale` is out of bounds
+    public FixedRate {
+        if (unscaledValue <= 0) {
+            throw new IllegalArgumentException("the value of an exchange rate must be positive");
+        }
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("the scale of a fixed rate must be between 0 and " + MAX_SCALE + ", got " + scale);
+        }
+    }
+
+    /// Converts a [BigDecimal] to a [FixedRate] without losing precision.
+    ///
+    /// Trailing zeros are only stripped if that's necessary to fit the value, so the scale is preserved whenever possible.
+    ///
+    /// @param value a positive decimal number
+    /// @return an equal fixed rate
+    /// @throws NullPointerException     if `value` is `null`
+    /// @throws IllegalArgumentException if `value` is zero or negative
+    /// @throws ArithmeticException      if `value` can't be represented as a [FixedRate] without rounding
+    public static FixedRate of(BigDecimal value) {
+        Objects.requireNonNull(value, "a fixed rate cannot be created from a null value");
+        if (value.signum() <= 0) {
+            throw new IllegalArgumentException("the value of an exchange rate must be positive");
+        }
+
+        var normalized = value;
+        if (normalized.scale() < 0) {
+            normalized = normalized.setScale(0, RoundingMode.UNNECESSARY);
+        }
+        if (normalized.scale() > MAX_SCALE || normalized.precision() > MAX_SCALE + 1) {
+            var stripped = normalized.stripTrailingZeros();
+            normalized = stripped.scale() < 0 ? stripped.setScale(0, RoundingMode.UNNECESSARY) : stripped;
+        }
+        if (normalized.scale() > MAX_SCALE) {
+            throw new ArithmeticException("a fixed rate cannot have more than " + MAX_SCALE + " digits after the decimal point: " + value);
+        }
+
+        long unscaledValue;
+        try {
+            unscaledValue = normalized.unscaledValue().longValueExact();
+        } catch (ArithmeticException overflow) {
+            throw new ArithmeticException("value is too large for a fixed rate: " + value);
+        }
+        return new FixedRate(unscaledValue, normalized.scale());
+    }
+
+    /// Converts this value to a [BigDecimal] with the same unscaled value and scale.
+    ///
+    /// @return an equal [BigDecimal]
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    /// Converts this value to the closest `double`.
+    ///
+    /// @return the closest `double` value
+    public double toDouble() {
+        if (unscaledValue < MAX_EXACT_DOUBLE) {
+            // Both operands are exact, so the quotient is correctly rounded
+            return unscaledValue / DOUBLE_POWERS_OF_TEN[scale];
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    /// Returns an equal or rounded value with the given scale.
+    ///
+    /// @param newScale the scale of the result (must be between `0` and [#MAX_SCALE])
+    /// @param mode     the rounding mode to apply when the scale decreases
+    /// @return a fixed rate with the given scale
+    /// @throws IllegalArgumentException if `newScale` is out of bounds
+    /// @throws ArithmeticException      if the result overflows, rounds to zero, or rounding is necessary with [RoundingMode#UNNECESSARY]
+    public FixedRate withScale(int newScale, RoundingMode mode) {
+        Objects.requireNonNull(mode, "rounding mode cannot be null");
+        checkScale(newScale);
+
+        if (newScale == scale) {
+            return this;
+        }
+        return positive(FixedPoint.rescale(unscaledValue, scale, newScale, mode), newScale);
+    }
+
+    /// Returns an equal value without trailing zeros after the decimal point, e.g. `1.5` for `1.500`.
+    ///
+    /// Unlike [BigDecimal#stripTrailingZeros()], the scale never becomes negative: `100` stays `100`.
+    ///
+    /// @return a fixed rate with the smallest scale that represents this value exactly
+    public FixedRate stripTrailingZeros() {
+        long stripped = unscaledValue;
+        int strippedScale = scale;
+        while (strippedScale > 0 && stripped % 10 == 0) {
+            stripped /= 10;
+            strippedScale--;
+        }
+        return strippedScale == scale ? this : new FixedRate(stripped, strippedScale);
+    }
+
+    /// Multiplies this rate by another one, e.g. to compute `EURJPY` from `EURUSD` and `USDJPY`.
+    ///
+    /// @param multiplicand the rate to multiply by
+    /// @param resultScale  the scale of the result (must be between `0` and [#MAX_SCALE])
+    /// @param mode         the rounding mode of the result
+    /// @return the rounded product
+    /// @throws NullPointerException     if `multiplicand` or `mode` is `null`
+    /// @throws IllegalArgumentException if `resultScale` is out of bounds
+    /// @throws ArithmeticException      if the result overflows, rounds to zero, or rounding is necessary with [RoundingMode#UNNECESSARY]
+    public FixedRate multiply(FixedRate multiplicand, int resultScale, RoundingMode mode) {
+        Objects.requireNonNull(multiplicand, "cannot multiply by a null rate");
+        Objects.requireNonNull(mode, "rounding mode cannot be null");
+        checkScale(resultScale);
+
+        long high = Math.multiplyHigh(unscaledValue, multiplicand.unscaledValue);
+        long product = unscaledValue * multiplicand.unscaledValue;
+        if (high == 0 && product > 0) {
+            return positive(FixedPoint.rescale(product, scale + multiplicand.scale, resultScale, mode), resultScale);
+        }
+        return fromBigDecimal(toBigDecimal().multiply(multiplicand.toBigDecimal()).setScale(resultScale, mode));
+    }
+
+    /// Divides this rate by another one, e.g. to compute `SEKNOK` from `EURNOK` and `EURSEK`.
+    ///
+    /// @param divisor     the rate to divide by
+    /// @param resultScale the scale of the result (must be between `0` and [#MAX_SCALE])
+    /// @param mode        the rounding mode of the result
+    /// @return the rounded quotient
+    /// @throws NullPointerException     if `divisor` or `mode` is `null`
+    /// @throws IllegalArgumentException if `resultScale` is out of bounds
+    /// @throws ArithmeticException      if the result overflows, rounds to zero, or rounding is necessary with [RoundingMode#UNNECESSARY]
+    public FixedRate divide(FixedRate divisor, int resultScale, RoundingMode mode) {
+        Objects.requireNonNull(divisor, "cannot divide by a null rate");
+        Objects.requireNonNull(mode, "rounding mode cannot be null");
+        checkScale(resultScale);
+
+        // this / divisor = (this.unscaled * 10^exponent / divisor.unscaled) * 10^-resultScale
+        int exponent = resultScale + divisor.scale - scale;
+        if (exponent >= 0 && exponent <= MAX_SCALE) {
+            long high = Math.multiplyHigh(unscaledValue, FixedPoint.powerOfTen(exponent));
+            long dividend = unscaledValue * FixedPoint.powerOfTen(exponent);
+            if (high == 0 && dividend > 0) {
+                return positive(FixedPoint.divide(dividend, divisor.unscaledValue, mode), resultScale);
+            }
+        }
+        return fromBigDecimal(toBigDecimal().divide(divisor.toBigDecimal(), resultScale, mode));
+    }
+
+    /// Computes `1 / this`, e.g. to get the `USDEUR` rate from the `EURUSD` one.
+    ///
+    /// For values with up to 17 digits, the result is computed with `long` arithmetic only.
+    ///
+    /// @param resultScale the scale of the result (must be between `0` and [#MAX_SCALE])
+    /// @param mode        the rounding mode of the result
+    /// @return the rounded reciprocal
+    /// @throws NullPointerException     if `mode` is `null`
+    /// @throws IllegalArgumentException if `resultScale` is out of bounds
+    /// @throws ArithmeticException      if the result overflows, rounds to zero, or rounding is necessary with [RoundingMode#UNNECESSARY]
+    public FixedRate reciprocal(int resultScale, RoundingMode mode) {
+        Objects.requireNonNull(mode, "rounding mode cannot be null");
+        checkScale(resultScale);
+
+        // 1 / this = (10^exponent / this.unscaled) * 10^-resultScale, which has at most exponent - digits + 1 digits
+        int exponent = resultScale + scale;
+        if (unscaledValue > 1 && unscaledValue < MAX_FAST_RECIPROCAL_VALUE
+                && exponent - FixedPoint.digitLength(unscaledValue) < MAX_SCALE) {
+            return positive(FixedPoint.reciprocal(unscaledValue, exponent, mode), resultScale);
+        }
+        return fromBigDecimal(BigDecimal.ONE.divide(toBigDecimal(), resultScale, mode));
+    }
+
+    /// Compares two rates numerically, ignoring their scales.
+    ///
+    /// @param other the rate to compare to
+    /// @return a negative number, zero or a positive number as this rate is less than, equal to or greater than `other`
+    @Override
+    public int compareTo(FixedRate other) {
+        return FixedPoint.compare(unscaledValue, scale, other.unscaledValue, other.scale);
+    }
+
+    /// Checks if the given object is a numerically equal [FixedRate].
+    ///
+    /// Unlike the default implementation for records, this ignores the scale, which is consistent with [#compareTo(FixedRate)].
+    ///
+    /// @param obj an arbitrary object, `null` is allowed
+    /// @return `true` if `obj` is a [FixedRate] with the same numeric value, `false` otherwise
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof FixedRate other && compareTo(other) == 0;
+    }
+
+    /// Returns a hash code that is consistent with [#equals(Object)], i.e. that ignores trailing zeros.
+    ///
+    /// @return a hash code of the numeric value
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(FixedPoint.strippedUnscaledValue(unscaledValue)) + FixedPoint.strippedScale(unscaledValue, scale);
+    }
+
+    /// Formats this value as a plain decimal number, such as `1.0825`.
+    ///
+    /// @return the same string as [BigDecimal#toPlainString()] would return
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("the scale of a fixed rate must be between 0 and " + MAX_SCALE + ", got " + scale);
+        }
+    }
+
+    private static FixedRate positive(long unscaledValue, int scale) {
+        if (unscaledValue <= 0) {
+            throw new ArithmeticException("fixed rate rounds to zero at scale " + scale);
+        }
+        return new FixedRate(unscaledValue, scale);
+    }
+
+    // Unlike of(), keeps the scale of the given value
+    private static FixedRate fromBigDecimal(BigDecimal value) {
+        if (value.signum() <= 0) {
+            throw new ArithmeticException("fixed rate rounds to zero at scale " + value.scale());
+        }
+        if (value.unscaledValue().bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("value is too large for a fixed rate at scale " + value.scale() + ": " + value);
+        }
+        return new FixedRate(value.unscaledValue().longValue(), value.scale());
+    }
+}
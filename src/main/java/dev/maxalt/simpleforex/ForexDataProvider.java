@@ -32,7 +32,9 @@ package dev.maxalt.simpleforex;
 import org.jspecify.annotations.NullMarked;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.Currency;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -81,6 +83,39 @@ public interface ForexDataProvider {
     /// @throws NullPointerException if either argument is `null`
     Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date);
 
+    /// Finds the exchange rate of the given currency pair on the given date or, if there is none,
+    /// on the latest date before it that has one (e.g. the Friday before a weekend).
+    ///
+    /// The default implementation tries [#findExchangeRate(CurrencyPair, LocalDate)] first,
+    /// then [queries ranges][#exchangeRates(Set, LocalDate, LocalDate)] of the dates before, starting with a week and doubling in length,
+    /// so a rate from before a long holiday usually takes one more query. It searches back at most a year,
+    /// and not past the [earliest supported date][#getEarliestSupportedDate()].
+    /// Providers that index their rates by date override it to find the rate with a single search, however far back it is.
+    ///
+    /// @param pair the currency pair you want the exchange rate of
+    /// @param date the latest date the exchange rate may be for
+    /// @return an `Optional` with the exchange rate of the latest date on or before `date` that has one,
+    /// or an empty `Optional` if none was found
+    /// @throws NullPointerException if either argument is `null`
+    default Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        return findNearestExchangeRate(pair, date, false);
+    }
+
+    /// Finds the exchange rate of the given currency pair on the given date or, if there is none,
+    /// on the earliest date after it that has one (e.g. the Monday after a weekend).
+    ///
+    /// The default implementation searches the way [#findLatestExchangeRateOnOrBefore(CurrencyPair, LocalDate)] does,
+    /// but forward, and at most a year ahead.
+    ///
+    /// @param pair the currency pair you want the exchange rate of
+    /// @param date the earliest date the exchange rate may be for
+    /// @return an `Optional` with the exchange rate of the earliest date on or after `date` that has one,
+    /// or an empty `Optional` if none was found
+    /// @throws NullPointerException if either argument is `null`
+    default Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        return findNearestExchangeRate(pair, date, true);
+    }
+
     /// Returns all currencies supported by this provider.
     ///
     /// @return a stream of all supported currencies (neither the stream nor its contents are `null`)
@@ -99,4 +134,35 @@ public interface ForexDataProvider {
     default LocalDate getEarliestSupportedDate() {
         return LocalDate.MIN;
     }
+
+    private Optional<ExchangeRate> findNearestExchangeRate(CurrencyPair pair, LocalDate date, boolean forward) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+
+        var exactMatch = findExchangeRate(pair, date);
+        if (exactMatch.isPresent()) {
+            return exactMatch;
+        }
+
+        long day = date.toEpochDay();
+        long limit = forward
+                ? Math.min(day + 366, LocalDate.MAX.toEpochDay())
+                : Math.max(day - 366, getEarliestSupportedDate().toEpochDay());
+        var pairs = Set.of(pair);
+        var byTimestamp = Comparator.comparing(ExchangeRate::timestamp);
+        // Each range starts next to the days already searched, and is twice as long as the previous one
+        for (long length = 7, searched = day; forward ? searched < limit : searched > limit; length *= 2) {
+            long next = forward ? Math.min(searched + length, limit) : Math.max(searched - length, limit);
+            var start = LocalDate.ofEpochDay(forward ? searched + 1 : next);
+            var end = LocalDate.ofEpochDay(forward ? next : searched - 1);
+            try (var rates = exchangeRates(pairs, start, end)) {
+                var nearest = forward ? rates.min(byTimestamp) : rates.max(byTimestamp);
+                if (nearest.isPresent()) {
+                    return nearest;
+                }
+            }
+            searched = next;
+        }
+        return Optional.empty();
+    }
 }
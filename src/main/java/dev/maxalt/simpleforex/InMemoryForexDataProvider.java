@@ -0,0 +1,371 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/// A [ForexDataProvider] that keeps exchange rates in memory, indexed for fast lookups.
+///
+/// The rates of each pair are kept in two parallel arrays sorted by date: `int` epoch days and the rates themselves.
+/// Lookups are a hash lookup of the pair followed by a binary search of the days, and range queries stream straight out of the arrays
+/// (merging the arrays of several pairs lazily) without copying them.
+///
+/// Rates are added in batches with a [Loader], or one at a time with [#put(LocalDate, ExchangeRate)].
+/// Each batch is published atomically by swapping in a new immutable snapshot of the index, which shares the arrays of the pairs
+/// the batch doesn't touch. Publishing retries if another batch was published in the meantime, so updates never block queries,
+/// and queries (including streams that are still being consumed) always see a consistent snapshot.
+///
+/// This class is thread-safe.
+@NullMarked
+public final class InMemoryForexDataProvider implements ForexDataProvider {
+
+    private static final Snapshot EMPTY = new Snapshot(Map.of());
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(EMPTY);
+
+    /// Creates an empty provider.
+    public InMemoryForexDataProvider() {
+    }
+
+    /// Creates a loader of a batch of rates into this provider.
+    ///
+    /// @return a new loader
+    public Loader loader() {
+        return new Loader();
+    }
+
+    /// Adds an exchange rate for the given date, replacing the pair's rate for that date if there is one.
+    ///
+    /// This is a shortcut for loading a batch of one rate, so prefer a [Loader] to add many rates.
+    ///
+    /// @param date the date the rate is for
+    /// @param rate the exchange rate
+    /// @return this provider
+    /// @throws NullPointerException     if an argument is `null`
+    /// @throws IllegalArgumentException if the date is too far from the epoch to be stored as an `int` epoch day
+    public InMemoryForexDataProvider put(LocalDate date, ExchangeRate rate) {
+        loader().add(date, rate).load();
+        return this;
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+
+        var current = snapshot.get();
+        return requestedPairs.stream()
+                .map(current.pairs()::get)
+                .filter(Objects::nonNull)
+                .mapMulti((rates, downstream) -> {
+                    int index = rates.find(day);
+                    if (index >= 0) {
+                        downstream.accept(rates.rates()[index]);
+                    }
+                });
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rates are ordered by date, then by [packed key][CurrencyPair#toPackedKey()] of their pair.
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        long fromDay = (start.isBefore(end) ? start : end).toEpochDay();
+        long toDay = (start.isBefore(end) ? end : start).toEpochDay();
+
+        var current = snapshot.get();
+        var slices = requestedPairs.stream()
+                .sorted(Comparator.comparingInt(CurrencyPair::toPackedKey))
+                .map(current.pairs()::get)
+                .filter(Objects::nonNull)
+                .map(rates -> new Slice(rates, rates.lowerBound(fromDay), rates.lowerBound(toDay + 1)))
+                .filter(slice -> slice.position < slice.end)
+                .toArray(Slice[]::new);
+        if (slices.length == 1) {
+            return Arrays.stream(slices[0].rates.rates(), slices[0].position, slices[0].end);
+        }
+        return StreamSupport.stream(new MergingSpliterator(slices), false);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+
+        var rates = snapshot.get().pairs().get(pair);
+        if (rates == null) {
+            return Optional.empty();
+        }
+        int index = rates.find(day);
+        return index < 0 ? Optional.empty() : Optional.of(rates.rates()[index]);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+
+        var rates = snapshot.get().pairs().get(pair);
+        int index = rates == null ? -1 : rates.lowerBound(day + 1) - 1;
+        return index < 0 ? Optional.empty() : Optional.of(rates.rates()[index]);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+
+        var rates = snapshot.get().pairs().get(pair);
+        int index = rates == null ? -1 : rates.lowerBound(day);
+        return index < 0 || index == rates.rates().length ? Optional.empty() : Optional.of(rates.rates()[index]);
+    }
+
+    /// Returns the currencies of the pairs this provider has rates for.
+    ///
+    /// @return a stream of distinct currencies
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return snapshot.get().pairs().keySet().stream()
+                .flatMap(pair -> Stream.of(pair.base(), pair.quote()))
+                .distinct();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        var earliestDay = snapshot.get().pairs().values().stream()
+                .mapToInt(rates -> rates.epochDays()[0])
+                .min();
+        return earliestDay.isPresent() ? LocalDate.ofEpochDay(earliestDay.getAsInt()) : LocalDate.MIN;
+    }
+
+    /// Returns the number of rates in this provider.
+    ///
+    /// @return the rate count
+    public int size() {
+        return snapshot.get().pairs().values().stream().mapToInt(rates -> rates.rates().length).sum();
+    }
+
+    private record Snapshot(Map<CurrencyPair, PairRates> pairs) {
+    }
+
+    // The rates of one pair, sorted by epoch day without duplicate days
+    private record PairRates(int[] epochDays, ExchangeRate[] rates) {
+
+        int find(long day) {
+            int index = lowerBound(day);
+            return index < epochDays.length && epochDays[index] == day ? index : -1;
+        }
+
+        // Returns the index of the first rate at or after the given day
+        int lowerBound(long day) {
+            int low = 0;
+            int high = epochDays.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (epochDays[middle] < day) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Merges rates sorted by day into these, with the given ones replacing existing rates for the same day
+        PairRates merge(int[] addedDays, ExchangeRate[] addedRates) {
+            var days = new int[epochDays.length + addedDays.length];
+            var merged = new ExchangeRate[days.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < epochDays.length || j < addedDays.length) {
+                if (j == addedDays.length || (i < epochDays.length && epochDays[i] < addedDays[j])) {
+                    days[size] = epochDays[i];
+                    merged[size++] = rates[i++];
+                } else {
+                    if (i < epochDays.length && epochDays[i] == addedDays[j]) {
+                        i++;
+                    }
+                    days[size] = addedDays[j];
+                    merged[size++] = addedRates[j++];
+                }
+            }
+            return new PairRates(Arrays.copyOf(days, size), Arrays.copyOf(merged, size));
+        }
+    }
+
+    private static final class Slice {
+
+        final PairRates rates;
+        int position;
+        final int end;
+
+        Slice(PairRates rates, int position, int end) {
+            this.rates = rates;
+            this.position = position;
+            this.end = end;
+        }
+    }
+
+    // Merges slices ordered by pair key into one sequence ordered by day, then by pair key
+    private static final class MergingSpliterator extends Spliterators.AbstractSpliterator<ExchangeRate> {
+
+        private final Slice[] slices;
+
+        MergingSpliterator(Slice[] slices) {
+            super(Arrays.stream(slices).mapToLong(slice -> slice.end - slice.position).sum(),
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED);
+            this.slices = slices;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ExchangeRate> action) {
+            // Pairs are few, so a linear scan for the earliest day beats a heap
+            Slice earliest = null;
+            int earliestDay = 0;
+            for (var slice : slices) {
+                if (slice.position < slice.end) {
+                    int day = slice.rates.epochDays()[slice.position];
+                    if (earliest == null || day < earliestDay) {
+                        earliest = slice;
+                        earliestDay = day;
+                    }
+                }
+            }
+            if (earliest == null) {
+                return false;
+            }
+            action.accept(earliest.rates.rates()[earliest.position++]);
+            return true;
+        }
+    }
+
+    /// Collects a batch of exchange rates and loads them into an [InMemoryForexDataProvider] atomically.
+    ///
+    /// Each rate is stored with the date it's the rate *for*, which is what queries match, rather than the date of its timestamp.
+    /// Adding a rate of a pair for a date that already has one, in the batch or in the provider, replaces it.
+    ///
+    /// Instances are not thread-safe, but several loaders can load into the same provider concurrently.
+    public final class Loader {
+
+        private final Map<CurrencyPair, TreeMap<Integer, ExchangeRate>> batch = new HashMap<>();
+
+        private Loader() {
+        }
+
+        /// Adds an exchange rate for the given date to the batch.
+        ///
+        /// @param date the date the rate is for
+        /// @param rate the exchange rate
+        /// @return this loader
+        /// @throws NullPointerException     if an argument is `null`
+        /// @throws IllegalArgumentException if the date is too far from the epoch to be stored as an `int` epoch day
+        public Loader add(LocalDate date, ExchangeRate rate) {
+            Objects.requireNonNull(rate, "exchange rate cannot be null");
+            long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+            if (day != (int) day) {
+                throw new IllegalArgumentException("date out of range: " + date);
+            }
+            batch.computeIfAbsent(rate.currencyPair(), pair -> new TreeMap<>()).put((int) day, rate);
+            return this;
+        }
+
+        /// Adds the rates a provider has for each date of a range to the batch,
+        /// fetched with [single-date queries][ForexDataProvider#exchangeRates(Set, LocalDate)].
+        ///
+        /// @param provider the provider to copy rates from
+        /// @param pairs    the currency pairs to copy
+        /// @param start    range start date, inclusive
+        /// @param end      range end date, inclusive
+        /// @return this loader
+        /// @throws NullPointerException if an argument is `null` or contains `null`
+        public Loader addAll(ForexDataProvider provider, Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+            Objects.requireNonNull(provider, "provider cannot be null");
+            var requestedPairs = Set.copyOf(pairs);
+            Objects.requireNonNull(start, "start date cannot be null");
+            Objects.requireNonNull(end, "end date cannot be null");
+
+            var from = start.isBefore(end) ? start : end;
+            var to = start.isBefore(end) ? end : start;
+            for (var date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                try (var found = provider.exchangeRates(requestedPairs, date)) {
+                    var day = date;
+                    found.forEach(rate -> add(day, rate));
+                }
+            }
+            return this;
+        }
+
+        /// Publishes the batch to the provider in one atomic step, then clears it so that this loader can collect the next one.
+        ///
+        /// Queries see either none or all of the batch.
+        ///
+        /// @return the provider
+        public InMemoryForexDataProvider load() {
+            // The batch's arrays don't depend on the snapshot, so only the merge is redone if publishing races with another loader
+            var added = new HashMap<CurrencyPair, PairRates>();
+            batch.forEach((pair, rates) -> added.put(pair, new PairRates(
+                    rates.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                    rates.values().toArray(ExchangeRate[]::new))));
+            batch.clear();
+            if (added.isEmpty()) {
+                return InMemoryForexDataProvider.this;
+            }
+
+            snapshot.updateAndGet(current -> {
+                var pairs = new HashMap<>(current.pairs());
+                added.forEach((pair, rates) -> pairs.merge(pair, rates, (existing, batchRates) -> existing.merge(batchRates.epochDays(), batchRates.rates())));
+                return new Snapshot(Map.copyOf(pairs));
+            });
+            return InMemoryForexDataProvider.this;
+        }
+    }
+}
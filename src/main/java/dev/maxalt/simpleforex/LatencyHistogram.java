@@ -0,0 +1,144 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/// A lock-free histogram of latencies, with a relative error of at most 12.5%.
+///
+/// Latencies are counted in buckets of nanoseconds: each power of two is split into eight equal buckets,
+/// so recording is a couple of atomic increments and the memory footprint is fixed (about 4 KiB) whatever the number of samples.
+/// Reported percentiles are the upper bounds of the buckets they fall into.
+///
+/// Reads are not atomic with respect to concurrent writes, so they may reflect a few samples more or less than actually recorded.
+@NullMarked
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram() {
+    }
+
+    /// Records a latency; negative values are recorded as zero.
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /// Returns the number of recorded latencies.
+    ///
+    /// @return the sample count
+    public long count() {
+        return count.get();
+    }
+
+    /// Returns the mean of recorded latencies.
+    ///
+    /// @return the exact mean, or [Duration#ZERO] if nothing was recorded
+    public Duration mean() {
+        long samples = count.get();
+        return samples == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.get() / samples);
+    }
+
+    /// Returns the highest recorded latency.
+    ///
+    /// @return the exact maximum, or [Duration#ZERO] if nothing was recorded
+    public Duration max() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /// Returns the latency below or at which the given percentage of recorded latencies fall, e.g. `99` for the 99th percentile.
+    ///
+    /// @param percentile a number between `0` and `100`
+    /// @return the approximate percentile, never greater than [the maximum][#max()], or [Duration#ZERO] if nothing was recorded
+    /// @throws IllegalArgumentException if `percentile` is out of range
+    public Duration percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+
+        long total = 0;
+        var snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(upperBoundOf(i), maxNanos.get()));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram[count=%d, mean=%s, p50=%s, p99=%s, max=%s]"
+                .formatted(count(), mean(), percentile(50), percentile(99), max());
+    }
+
+    // Values below 8 get a bucket each, larger ones share a bucket with the values that have the same 4 most significant bits
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        // Saturates for the topmost bucket, whose bound overflows
+        long bound = ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+        return bound < 0 ? Long.MAX_VALUE : bound;
+    }
+}
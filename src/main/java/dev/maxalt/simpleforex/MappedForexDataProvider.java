@@ -0,0 +1,436 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] backed by a memory-mapped file of historical exchange rates.
+///
+/// The file is mapped rather than loaded, so opening it takes constant time and memory regardless of its size,
+/// and the rates live in the OS page cache rather than the Java heap. [ExchangeRate] objects are only created for query results.
+///
+/// ## File format
+///
+/// All numbers are little-endian. A 32-byte header is followed by fixed-width 24-byte records:
+///
+/// | Offset | Header field               | Offset | Record field                                      |
+/// |-------:|----------------------------|-------:|---------------------------------------------------|
+/// |      0 | magic number `SFXR`        |      0 | `int` [packed key][CurrencyPair#toPackedKey()]    |
+/// |      4 | `int` format version (`1`) |      4 | `int` epoch day of the date the rate is for       |
+/// |      8 | `int` scale of all values  |      8 | `long` epoch millisecond of the rate's timestamp  |
+/// |     12 | reserved                   |     16 | `long` unscaled value                             |
+/// |     16 | `long` record count        |        |                                                   |
+/// |     24 | `int` earliest epoch day   |        |                                                   |
+/// |     28 | `int` latest epoch day     |        |                                                   |
+///
+/// Records are sorted by pair key, then by epoch day, with at most one record per pair and day,
+/// so lookups are binary searches and each pair's history is contiguous on disk.
+/// Files are created by a [Writer].
+///
+/// Since all values share one scale and timestamps are stored in milliseconds, a file doesn't keep rates exactly as they were written:
+/// values are read back without trailing zeros (a written `1.0800` is read as `1.08`), and timestamps lose their sub-millisecond part.
+///
+/// This class is thread-safe. [Closing][#close()] it unmaps the file, after which queries fail with an [IllegalStateException].
+@NullMarked
+public final class MappedForexDataProvider implements ForexDataProvider, AutoCloseable {
+
+    static final int MAGIC = 'S' | 'F' << 8 | 'X' << 16 | 'R' << 24;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 24;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment records;
+    private final int scale;
+    private final int size;
+    private final LocalDate earliestDate;
+
+    private MappedForexDataProvider(Arena arena, MemorySegment records, int scale, int size, LocalDate earliestDate) {
+        this.arena = arena;
+        this.records = records;
+        this.scale = scale;
+        this.size = size;
+        this.earliestDate = earliestDate;
+    }
+
+    /// Maps a file created by a [Writer].
+    ///
+    /// @param path the file to map
+    /// @return a provider of the rates in the file, which should be [closed][#close()] once it's no longer needed
+    /// @throws NullPointerException if `path` is `null`
+    /// @throws IOException          if the file can't be read or isn't a valid rate file
+    public static MappedForexDataProvider open(Path path) throws IOException {
+        Objects.requireNonNull(path, "path cannot be null");
+
+        var arena = Arena.ofShared();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (file.byteSize() < HEADER_SIZE || file.get(INT, 0) != MAGIC) {
+                throw new IOException("not an exchange rate file: " + path);
+            }
+            if (file.get(INT, 4) != VERSION) {
+                throw new IOException("unsupported exchange rate file version " + file.get(INT, 4) + ": " + path);
+            }
+
+            int scale = file.get(INT, 8);
+            long count = file.get(LONG, 16);
+            if (scale < 0 || scale > FixedRate.MAX_SCALE || count < 0 || count > Integer.MAX_VALUE
+                    || file.byteSize() != HEADER_SIZE + count * RECORD_SIZE) {
+                throw new IOException("corrupt exchange rate file: " + path);
+            }
+            var earliestDate = count == 0 ? LocalDate.MIN : LocalDate.ofEpochDay(file.get(INT, 24));
+            return new MappedForexDataProvider(arena, file.asSlice(HEADER_SIZE), scale, (int) count, earliestDate);
+        } catch (Throwable e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /// Creates a writer that picks the smallest scale at which all values are exact.
+    ///
+    /// @return a new writer
+    public static Writer writer() {
+        return new Writer(-1, RoundingMode.UNNECESSARY);
+    }
+
+    /// Creates a writer that rounds all values to the given scale.
+    ///
+    /// @param scale        the number of fractional digits of stored values (between `0` and [FixedRate#MAX_SCALE])
+    /// @param roundingMode how to round values with more fractional digits
+    /// @return a new writer
+    /// @throws NullPointerException     if `roundingMode` is `null`
+    /// @throws IllegalArgumentException if `scale` is out of range
+    public static Writer writer(int scale, RoundingMode roundingMode) {
+        if (scale < 0 || scale > FixedRate.MAX_SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + FixedRate.MAX_SCALE + ": " + scale);
+        }
+        return new Writer(scale, Objects.requireNonNull(roundingMode, "rounding mode cannot be null"));
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+
+        return requestedPairs.stream()
+                .mapToInt(pair -> find(pair.toPackedKey(), day))
+                .filter(index -> index >= 0)
+                .mapToObj(this::exchangeRate);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rates are ordered by date, then by [packed key][CurrencyPair#toPackedKey()] of their pair.
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        int fromDay = epochDay(start.isBefore(end) ? start : end);
+        int toDay = epochDay(start.isBefore(end) ? end : start);
+
+        // Each pair's slice of records is ordered by day, so sorting by day, then by index merges the slices
+        var sortKeys = requestedPairs.stream()
+                .flatMapToLong(pair -> {
+                    int key = pair.toPackedKey();
+                    int from = lowerBound(key, fromDay);
+                    int to = toDay == Integer.MAX_VALUE ? lowerBound(key + 1, Integer.MIN_VALUE) : lowerBound(key, toDay + 1);
+                    return IntStream.range(from, to).mapToLong(index -> (long) day(index) << 32 | index);
+                })
+                .toArray();
+        Arrays.sort(sortKeys);
+        return Arrays.stream(sortKeys).mapToObj(sortKey -> exchangeRate((int) sortKey));
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        int index = find(pair.toPackedKey(), Objects.requireNonNull(date, "date cannot be null").toEpochDay());
+        return index < 0 ? Optional.empty() : Optional.of(exchangeRate(index));
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        int key = Objects.requireNonNull(pair, "currency pair cannot be null").toPackedKey();
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+        if (day < Integer.MIN_VALUE) {
+            return Optional.empty();
+        }
+
+        int index = (day >= Integer.MAX_VALUE ? lowerBound(key + 1, Integer.MIN_VALUE) : lowerBound(key, (int) day + 1)) - 1;
+        return index < 0 || key(index) != key ? Optional.empty() : Optional.of(exchangeRate(index));
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        int key = Objects.requireNonNull(pair, "currency pair cannot be null").toPackedKey();
+        long day = Objects.requireNonNull(date, "date cannot be null").toEpochDay();
+        if (day > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+
+        int index = lowerBound(key, epochDay(date));
+        return index == size || key(index) != key ? Optional.empty() : Optional.of(exchangeRate(index));
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return earliestDate;
+    }
+
+    /// Returns the number of rates in the file.
+    ///
+    /// @return the record count
+    public int size() {
+        return size;
+    }
+
+    /// Unmaps the file. This method is idempotent.
+    ///
+    /// @throws IllegalStateException if a query is running concurrently
+    @Override
+    public synchronized void close() {
+        if (arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+
+    private int find(int key, long day) {
+        if (day != (int) day) {
+            return -1;
+        }
+        int index = lowerBound(key, (int) day);
+        return index < size && key(index) == key && day(index) == day ? index : -1;
+    }
+
+    // Returns the index of the first record at or after the given pair key and day
+    private int lowerBound(int key, int day) {
+        long target = sortKey(key, day);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortKey(key(middle), day(middle)) < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int key(int index) {
+        return records.get(INT, (long) index * RECORD_SIZE);
+    }
+
+    private int day(int index) {
+        return records.get(INT, (long) index * RECORD_SIZE + 4);
+    }
+
+    private ExchangeRate exchangeRate(int index) {
+        long offset = (long) index * RECORD_SIZE;
+        var pair = CurrencyPair.fromPackedKey(records.get(INT, offset));
+        var timestamp = Instant.ofEpochMilli(records.get(LONG, offset + 8));
+        // Strip the zeros that padding to the common scale added (the file doesn't tell them from zeros the writer was given)
+        var value = new FixedRate(records.get(LONG, offset + 16), scale).stripTrailingZeros();
+        return new ExchangeRate(pair, value, timestamp);
+    }
+
+    // Orders keys (which are never negative) first, then days as signed numbers
+    private static long sortKey(int key, int day) {
+        return (long) key << 32 | (day ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+    }
+
+    // Dates too far from the epoch can't be stored, so for range queries they're as good as the farthest ones that can
+    private static int epochDay(LocalDate date) {
+        return Math.clamp(date.toEpochDay(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /// Collects exchange rates and writes them to a file that [MappedForexDataProvider] can map.
+    ///
+    /// Each rate is stored with the date it's the rate *for*, which is what queries match,
+    /// rather than the date of its timestamp (a rate for a Monday might have been published on the Friday before).
+    /// Adding a rate of a pair for a date that already has one replaces it.
+    ///
+    /// Instances are not thread-safe.
+    public static final class Writer {
+
+        private final int scale;
+        private final RoundingMode roundingMode;
+        private final Map<RateKey, ExchangeRate> rates = new HashMap<>();
+
+        private Writer(int scale, RoundingMode roundingMode) {
+            this.scale = scale;
+            this.roundingMode = roundingMode;
+        }
+
+        /// Adds an exchange rate for the given date.
+        ///
+        /// @param date the date the rate is for
+        /// @param rate the exchange rate
+        /// @return this writer
+        /// @throws NullPointerException     if an argument is `null`
+        /// @throws IllegalArgumentException if the date is too far from the epoch to be stored as an `int` epoch day
+        public Writer add(LocalDate date, ExchangeRate rate) {
+            Objects.requireNonNull(rate, "exchange rate cannot be null");
+            if (epochDay(date) != date.toEpochDay()) {
+                throw new IllegalArgumentException("date out of range: " + date);
+            }
+            rates.put(new RateKey(rate.currencyPair(), date), rate);
+            return this;
+        }
+
+        /// Adds the rates a provider has for each date of a range, fetched with [single-date queries][ForexDataProvider#exchangeRates(Set, LocalDate)].
+        ///
+        /// @param provider the provider to copy rates from
+        /// @param pairs    the currency pairs to copy
+        /// @param start    range start date, inclusive
+        /// @param end      range end date, inclusive
+        /// @return this writer
+        /// @throws NullPointerException if an argument is `null` or contains `null`
+        public Writer addAll(ForexDataProvider provider, Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+            Objects.requireNonNull(provider, "provider cannot be null");
+            var requestedPairs = Set.copyOf(pairs);
+            Objects.requireNonNull(start, "start date cannot be null");
+            Objects.requireNonNull(end, "end date cannot be null");
+
+            var from = start.isBefore(end) ? start : end;
+            var to = start.isBefore(end) ? end : start;
+            for (var date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                try (var found = provider.exchangeRates(requestedPairs, date)) {
+                    var day = date;
+                    found.forEach(rate -> add(day, rate));
+                }
+            }
+            return this;
+        }
+
+        /// Writes the collected rates to a file, replacing it atomically if it exists.
+        ///
+        /// @param path the file to write
+        /// @throws NullPointerException if `path` is `null`
+        /// @throws ArithmeticException  if a value can't be represented at the writer's scale without rounding
+        ///                              (for a writer [with automatic scale][MappedForexDataProvider#writer()],
+        ///                              if it needs more than [FixedRate#MAX_SCALE] fractional digits),
+        ///                              or doesn't fit into a `long` or rounds to zero at that scale
+        /// @throws IOException          if the file can't be written
+        public void write(Path path) throws IOException {
+            Objects.requireNonNull(path, "path cannot be null");
+
+            var entries = new ArrayList<>(rates.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> sortKey(entry.getKey().pair().toPackedKey(), epochDay(entry.getKey().date()))));
+            int fileScale = scale >= 0 ? scale : entries.stream()
+                    .mapToInt(entry -> Math.max(entry.getValue().value().stripTrailingZeros().scale(), 0))
+                    .max()
+                    .orElse(0);
+            if (fileScale > FixedRate.MAX_SCALE) {
+                throw new ArithmeticException("values need more than " + FixedRate.MAX_SCALE + " fractional digits, use a writer with a fixed scale");
+            }
+            var unscaledValues = entries.stream()
+                    .mapToLong(entry -> unscaledValue(entry.getValue().value(), fileScale))
+                    .toArray();
+
+            var temporaryFile = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (var channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    var buffer = ByteBuffer.allocate(HEADER_SIZE + 1024 * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                    buffer.putInt(MAGIC)
+                            .putInt(VERSION)
+                            .putInt(fileScale)
+                            .putInt(0)
+                            .putLong(entries.size())
+                            .putInt(entries.stream().mapToInt(entry -> epochDay(entry.getKey().date())).min().orElse(0))
+                            .putInt(entries.stream().mapToInt(entry -> epochDay(entry.getKey().date())).max().orElse(0));
+                    for (int i = 0; i < entries.size(); i++) {
+                        if (buffer.remaining() < RECORD_SIZE) {
+                            writeFully(channel, buffer);
+                        }
+                        var entry = entries.get(i);
+                        buffer.putInt(entry.getKey().pair().toPackedKey())
+                                .putInt(epochDay(entry.getKey().date()))
+                                .putLong(entry.getValue().timestamp().toEpochMilli())
+                                .putLong(unscaledValues[i]);
+                    }
+                    writeFully(channel, buffer);
+                    channel.force(false);
+                }
+                Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+
+        private long unscaledValue(BigDecimal value, int fileScale) {
+            long unscaledValue = value.setScale(fileScale, roundingMode).unscaledValue().longValueExact();
+            if (unscaledValue <= 0) {
+                throw new ArithmeticException("value rounds to zero at scale " + fileScale + ": " + value);
+            }
+            return unscaledValue;
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
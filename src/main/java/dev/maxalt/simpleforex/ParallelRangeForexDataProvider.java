@@ -0,0 +1,246 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Currency;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/// A [ForexDataProvider] decorator that splits long date range queries into chunks and fetches them concurrently.
+///
+/// Each chunk of consecutive dates is fetched with a [range query][ForexDataProvider#exchangeRates(Set, LocalDate, LocalDate)]
+/// of the delegate on its own virtual thread, while a limit of concurrent delegate calls (shared by all queries of this provider)
+/// keeps the delegate from being flooded.
+/// The returned stream yields the chunks in date order, each as soon as it's fetched, so it's ordered the same as the delegate would order
+/// a single query as long as the delegate orders its results by date.
+/// Each query fetches at most as many chunks ahead of its consumer as the concurrency limit, and starts the next chunk
+/// whenever the stream moves on to a fetched one, so only that many chunks are held in memory however long the range is.
+///
+/// [Closing][Stream#close()] the returned stream interrupts the chunks that are still being fetched,
+/// and so does a failure to fetch a chunk, which is rethrown when the stream reaches that chunk.
+/// Ranges that fit into one chunk, single-date queries and single-pair lookups are passed to the delegate as is.
+///
+/// This class is thread-safe if the delegate is.
+@NullMarked
+public final class ParallelRangeForexDataProvider implements ForexDataProvider {
+
+    /// The default number of dates per chunk.
+    public static final int DEFAULT_CHUNK_DAYS = 31;
+
+    /// The default maximum number of concurrent delegate calls.
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private final ForexDataProvider delegate;
+    private final int chunkDays;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+
+    /// Creates a provider with the [default chunk size][#DEFAULT_CHUNK_DAYS] and [concurrency limit][#DEFAULT_MAX_CONCURRENCY].
+    ///
+    /// @param delegate the provider to fetch chunks from
+    /// @throws NullPointerException if `delegate` is `null`
+    public ParallelRangeForexDataProvider(ForexDataProvider delegate) {
+        this(delegate, DEFAULT_CHUNK_DAYS, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /// Main constructor.
+    ///
+    /// @param delegate       the provider to fetch chunks from
+    /// @param chunkDays      the number of dates per chunk (must be positive)
+    /// @param maxConcurrency the maximum number of concurrent delegate calls (must be positive)
+    /// @throws NullPointerException     if `delegate` is `null`
+    /// @throws IllegalArgumentException if `chunkDays` or `maxConcurrency` is zero or negative
+    public ParallelRangeForexDataProvider(ForexDataProvider delegate, int chunkDays, int maxConcurrency) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+
+        if (chunkDays <= 0) {
+            throw new IllegalArgumentException("chunk size must be positive");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maximum concurrency must be positive");
+        }
+        this.chunkDays = chunkDays;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        return delegate.exchangeRates(pairs, date);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        if (ChronoUnit.DAYS.between(from, to) < chunkDays) {
+            return delegate.exchangeRates(requestedPairs, from, to);
+        }
+
+        var chunks = new Chunks(requestedPairs, from, to);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream)
+                .onClose(chunks::cancel);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        return delegate.findExchangeRate(pair, date);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        return delegate.findLatestExchangeRateOnOrBefore(pair, date);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        return delegate.findEarliestExchangeRateOnOrAfter(pair, date);
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    private Chunk fetch(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var result = new CompletableFuture<List<ExchangeRate>>();
+        var thread = Thread.ofVirtual().name("simpleforex-range-" + start).start(() -> {
+            try {
+                permits.acquire();
+                try (var rates = delegate.exchangeRates(pairs, start, end)) {
+                    result.complete(rates.toList());
+                } finally {
+                    permits.release();
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Chunk(thread, result);
+    }
+
+    // The chunks of a range query, started in date order as the consumer moves on, at most maxConcurrency at a time.
+    // The started chunks are guarded by this object's monitor, since the stream may be closed by another thread.
+    private final class Chunks implements Iterator<List<ExchangeRate>> {
+
+        private final Set<CurrencyPair> pairs;
+        private final LocalDate to;
+        private final Deque<Chunk> started = new ArrayDeque<>();
+        private @Nullable LocalDate next;
+
+        Chunks(Set<CurrencyPair> pairs, LocalDate from, LocalDate to) {
+            this.pairs = pairs;
+            this.to = to;
+            this.next = from;
+            synchronized (this) {
+                startChunks();
+            }
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return !started.isEmpty();
+        }
+
+        @Override
+        public List<ExchangeRate> next() {
+            Chunk chunk;
+            synchronized (this) {
+                chunk = started.peekFirst();
+            }
+            if (chunk == null) {
+                throw new NoSuchElementException();
+            }
+            try {
+                var rates = Futures.join(chunk.result);
+                synchronized (this) {
+                    started.remove(chunk);
+                    startChunks();
+                }
+                return rates;
+            } catch (Throwable e) {
+                // The whole stream fails with this chunk, so there's no point in fetching the rest
+                cancel();
+                throw e;
+            }
+        }
+
+        synchronized void cancel() {
+            next = null;
+            for (var chunk : started) {
+                if (!chunk.result.isDone()) {
+                    chunk.thread.interrupt();
+                }
+            }
+            started.clear();
+        }
+
+        // Must be called while holding the monitor
+        private void startChunks() {
+            while (next != null && started.size() < maxConcurrency) {
+                var chunkStart = next;
+                // Compared by distance, since plusDays would overflow for chunks ending near LocalDate.MAX
+                var chunkEnd = ChronoUnit.DAYS.between(chunkStart, to) < chunkDays ? to : chunkStart.plusDays(chunkDays - 1);
+                next = chunkEnd.equals(to) ? null : chunkEnd.plusDays(1);
+                started.addLast(fetch(pairs, chunkStart, chunkEnd));
+            }
+        }
+    }
+
+    private record Chunk(Thread thread, CompletableFuture<List<ExchangeRate>> result) {
+    }
+}
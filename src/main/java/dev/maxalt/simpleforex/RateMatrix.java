@@ -0,0 +1,173 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+/// A dense snapshot of exchange rates between every two currencies of a [CrossRateEngine], for O(1) lookups.
+///
+/// Rates are stored as `double` values in a single flat array indexed by `baseIndex * size + quoteIndex`,
+/// where indices are positions in [#currencies()]. Missing rates (between currencies that aren't connected) are `NaN`,
+/// and the rate of each currency to itself is `1`.
+///
+/// Since `double` has about 16 significant digits, this class is meant for risk and analytics calculations
+/// rather than for settlement. Use [CrossRateEngine] for exact [java.math.BigDecimal] values.
+///
+/// This class is immutable, so it can be shared between threads without synchronization.
+@NullMarked
+public final class RateMatrix {
+
+    private final List<Currency> currencies;
+    private final double[] rates;
+    private final short[] indicesByOrdinal;
+
+    private RateMatrix(CrossRateEngine engine) {
+        int size = engine.size();
+
+        var currencyArray = new Currency[size];
+        for (int i = 0; i < size; i++) {
+            currencyArray[i] = engine.currency(i);
+        }
+        this.currencies = List.of(currencyArray);
+
+        this.indicesByOrdinal = new short[CurrencyIndex.size()];
+        Arrays.fill(indicesByOrdinal, (short) -1);
+        for (int i = 0; i < size; i++) {
+            int ordinal = CurrencyIndex.ordinal(currencyArray[i]);
+            if (ordinal >= 0) {
+                indicesByOrdinal[ordinal] = (short) i;
+            }
+        }
+
+        this.rates = new double[size * size];
+        for (int base = 0; base < size; base++) {
+            for (int quote = 0; quote < size; quote++) {
+                var value = engine.rateValue(base, quote);
+                rates[base * size + quote] = base == quote ? 1 : value == null ? Double.NaN : value.doubleValue();
+            }
+        }
+    }
+
+    /// Creates a snapshot of all rates that the given engine can derive.
+    ///
+    /// @param engine a cross-rate engine
+    /// @return a new instance
+    /// @throws NullPointerException if `engine` is `null`
+    public static RateMatrix of(CrossRateEngine engine) {
+        Objects.requireNonNull(engine, "cross-rate engine cannot be null");
+        return new RateMatrix(engine);
+    }
+
+    /// Creates a snapshot of all rates that can be derived from the given known rates.
+    ///
+    /// This is a shortcut for `RateMatrix.of(CrossRateEngine.of(rates))`.
+    ///
+    /// @param rates the known exchange rates
+    /// @return a new instance
+    /// @throws NullPointerException if `rates` is `null` or contains `null`
+    public static RateMatrix of(Collection<ExchangeRate> rates) {
+        return of(CrossRateEngine.of(rates));
+    }
+
+    /// Creates a snapshot of all rates that can be derived from the rates a provider has for the given pairs on the given date.
+    ///
+    /// This is a shortcut for `RateMatrix.of(CrossRateEngine.fromProvider(provider, pairs, date))`.
+    ///
+    /// @param provider the provider to fetch known rates from
+    /// @param pairs    the currency pairs to fetch *(this set is defensively copied)*
+    /// @param date     the date to fetch rates for
+    /// @return a new instance
+    /// @throws NullPointerException if an argument is `null` or `pairs` contains `null`
+    public static RateMatrix fromProvider(ForexDataProvider provider, Set<CurrencyPair> pairs, LocalDate date) {
+        return of(CrossRateEngine.fromProvider(provider, pairs, date));
+    }
+
+    /// Returns the currencies of this matrix; the position of a currency in this list is its index.
+    ///
+    /// @return an unmodifiable list of currencies, sorted by their codes
+    public List<Currency> currencies() {
+        return currencies;
+    }
+
+    /// Returns the index of the given currency in this matrix.
+    ///
+    /// @param currency an arbitrary currency, not `null`
+    /// @return the position of `currency` in [#currencies()], or `-1` if it's not in this matrix
+    /// @throws NullPointerException if `currency` is `null`
+    public int indexOf(Currency currency) {
+        int ordinal = CurrencyIndex.ordinal(currency);
+        return ordinal < 0 ? currencies.indexOf(currency) : indicesByOrdinal[ordinal];
+    }
+
+    /// Returns the rate between two currencies by their indices.
+    ///
+    /// @param baseIndex  the index of the base currency
+    /// @param quoteIndex the index of the quote currency
+    /// @return the exchange rate value, or `NaN` if the currencies aren't connected
+    /// @throws IndexOutOfBoundsException if either index is out of bounds
+    public double rate(int baseIndex, int quoteIndex) {
+        Objects.checkIndex(baseIndex, currencies.size());
+        Objects.checkIndex(quoteIndex, currencies.size());
+        return rates[baseIndex * currencies.size() + quoteIndex];
+    }
+
+    /// Returns the rate of the given currency pair.
+    ///
+    /// @param pair an arbitrary currency pair, not `null`
+    /// @return the exchange rate value, or `NaN` if either currency isn't in this matrix or they aren't connected
+    /// @throws NullPointerException if `pair` is `null`
+    public double rate(CurrencyPair pair) {
+        int baseIndex = indexOf(pair.base());
+        int quoteIndex = indexOf(pair.quote());
+        if (baseIndex < 0 || quoteIndex < 0) {
+            return Double.NaN;
+        }
+        return rates[baseIndex * currencies.size() + quoteIndex];
+    }
+
+    /// Finds the rate of the given currency pair.
+    ///
+    /// @param pair an arbitrary currency pair, not `null`
+    /// @return an `OptionalDouble` with the exchange rate value, or an empty one if [#rate(CurrencyPair)] would return `NaN`
+    /// @throws NullPointerException if `pair` is `null`
+    public OptionalDouble findRate(CurrencyPair pair) {
+        double rate = rate(pair);
+        return Double.isNaN(rate) ? OptionalDouble.empty() : OptionalDouble.of(rate);
+    }
+}
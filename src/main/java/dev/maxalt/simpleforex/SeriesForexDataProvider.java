@@ -0,0 +1,231 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] over a set of [ExchangeRateSeries], one per currency pair.
+///
+/// The rate of a pair on a date is the last point of its series timestamped on that date in the provider's time zone,
+/// e.g. the closing rate of a series of intraday rates. Dates without points have no rate.
+///
+/// The series are not copied, so points appended to them later are visible to subsequent queries.
+///
+/// This class is thread-safe.
+@NullMarked
+public final class SeriesForexDataProvider implements ForexDataProvider {
+
+    private final Map<CurrencyPair, ExchangeRateSeries> series;
+    private final ZoneId zone;
+
+    private SeriesForexDataProvider(Map<CurrencyPair, ExchangeRateSeries> series, ZoneId zone) {
+        this.series = series;
+        this.zone = zone;
+    }
+
+    /// Creates a provider that assigns points to dates in UTC.
+    ///
+    /// @param series the series of exchange rates, at most one per currency pair
+    /// @return a provider of the given series
+    /// @throws NullPointerException     if `series` is `null` or contains `null`
+    /// @throws IllegalArgumentException if two series have the same pair
+    public static SeriesForexDataProvider of(Collection<ExchangeRateSeries> series) {
+        return of(series, ZoneOffset.UTC);
+    }
+
+    /// Creates a provider that assigns points to dates in the given time zone.
+    ///
+    /// @param series the series of exchange rates, at most one per currency pair
+    /// @param zone   the time zone that tells which date a timestamp is on
+    /// @return a provider of the given series
+    /// @throws NullPointerException     if an argument is `null` or `series` contains `null`
+    /// @throws IllegalArgumentException if two series have the same pair
+    public static SeriesForexDataProvider of(Collection<ExchangeRateSeries> series, ZoneId zone) {
+        Objects.requireNonNull(zone, "time zone cannot be null");
+
+        var byPair = new HashMap<CurrencyPair, ExchangeRateSeries>();
+        for (var pairSeries : series) {
+            Objects.requireNonNull(pairSeries, "series cannot be null");
+            if (byPair.putIfAbsent(pairSeries.pair(), pairSeries) != null) {
+                throw new IllegalArgumentException("duplicate series of " + pairSeries.pair());
+            }
+        }
+        return new SeriesForexDataProvider(Map.copyOf(byPair), zone);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(date, "date cannot be null");
+
+        return requestedPairs.stream()
+                .map(pair -> find(pair, date))
+                .flatMap(Optional::stream);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rates are ordered by date, then by [packed key][CurrencyPair#toPackedKey()] of their pair.
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(start, "start date cannot be null");
+        Objects.requireNonNull(end, "end date cannot be null");
+
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        var found = new ArrayList<DatedRate>();
+        for (var pair : requestedPairs) {
+            var pairSeries = series.get(pair);
+            if (pairSeries == null) {
+                continue;
+            }
+
+            // Walks the points of the range and keeps the last one of each date
+            var range = pairSeries.between(startOf(from), endOf(to));
+            for (int i = 0; i < range.size(); i++) {
+                var date = dateOf(range.epochMilli(i));
+                if (i + 1 == range.size() || !dateOf(range.epochMilli(i + 1)).equals(date)) {
+                    found.add(new DatedRate(date, pair.toPackedKey(), range.exchangeRate(i)));
+                }
+            }
+        }
+        found.sort(Comparator.comparing(DatedRate::date).thenComparingInt(DatedRate::pairKey));
+        return found.stream().map(DatedRate::rate);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+        return find(pair, date);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rate is the last point of the latest date on or before `date` that has points.
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+
+        var pairSeries = series.get(pair);
+        if (pairSeries == null) {
+            return Optional.empty();
+        }
+        // The last point before the end of the date is the last point of its own date
+        long dayEnd = ExchangeRateSeries.saturatedEpochMilli(endOf(date));
+        int index = pairSeries.indexAtOrBefore(dayEnd == Long.MAX_VALUE ? dayEnd : dayEnd - 1);
+        return index < 0 ? Optional.empty() : Optional.of(pairSeries.exchangeRate(index));
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The rate is the last point of the earliest date on or after `date` that has points.
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        Objects.requireNonNull(pair, "currency pair cannot be null");
+        Objects.requireNonNull(date, "date cannot be null");
+
+        var pairSeries = series.get(pair);
+        if (pairSeries == null) {
+            return Optional.empty();
+        }
+        long dayStart = ExchangeRateSeries.saturatedEpochMilli(startOf(date));
+        int index = dayStart == Long.MIN_VALUE ? 0 : pairSeries.indexAtOrBefore(dayStart - 1) + 1;
+        return index == pairSeries.size() ? Optional.empty() : find(pair, dateOf(pairSeries.epochMilli(index)));
+    }
+
+    /// Returns the currencies of all series' pairs.
+    ///
+    /// @return a stream of distinct currencies
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return series.keySet().stream()
+                .flatMap(pair -> Stream.of(pair.base(), pair.quote()))
+                .distinct();
+    }
+
+    /// Returns the date of the earliest point of all series.
+    ///
+    /// @return the earliest date with a rate, or [LocalDate#MIN] if all series are empty
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        var earliest = series.values().stream()
+                .filter(pairSeries -> !pairSeries.isEmpty())
+                .mapToLong(pairSeries -> pairSeries.epochMilli(0))
+                .min();
+        return earliest.isPresent() ? dateOf(earliest.getAsLong()) : LocalDate.MIN;
+    }
+
+    private Optional<ExchangeRate> find(CurrencyPair pair, LocalDate date) {
+        var pairSeries = series.get(pair);
+        if (pairSeries == null) {
+            return Optional.empty();
+        }
+        long dayStart = ExchangeRateSeries.saturatedEpochMilli(startOf(date));
+        long dayEnd = ExchangeRateSeries.saturatedEpochMilli(endOf(date));
+        int index = dayEnd > dayStart ? pairSeries.indexAtOrBefore(dayEnd - 1) : -1;
+        if (index < 0 || pairSeries.epochMilli(index) < dayStart) {
+            return Optional.empty();
+        }
+        return Optional.of(pairSeries.exchangeRate(index));
+    }
+
+    private Instant startOf(LocalDate date) {
+        return date.atStartOfDay(zone).toInstant();
+    }
+
+    private Instant endOf(LocalDate date) {
+        return date.equals(LocalDate.MAX) ? Instant.MAX : startOf(date.plusDays(1));
+    }
+
+    private LocalDate dateOf(long epochMilli) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+    }
+
+    private record DatedRate(LocalDate date, int pairKey, ExchangeRate rate) {
+    }
+}
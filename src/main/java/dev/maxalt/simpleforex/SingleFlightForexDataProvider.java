@@ -0,0 +1,167 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/// A [ForexDataProvider] decorator that merges concurrent identical lookups into a single delegate call.
+///
+/// While a rate of a pair on a date is being fetched, other threads asking for the same rate don't call the delegate,
+/// but wait for the call in flight and share its result (or its exception).
+/// Once the call completes, the next lookup of that rate calls the delegate again,
+/// so this decorator is typically placed *under* a [CachingForexDataProvider] to protect the upstream from thundering herds of cache misses.
+///
+/// Single-date queries join per pair: given overlapping sets of pairs, the delegate is only asked for
+/// the pairs that aren't in flight yet, and the rest are awaited.
+/// [Single-pair lookups][#findExchangeRate(CurrencyPair, LocalDate)] and single-date queries share in-flight calls,
+/// so the delegate is expected to answer both consistently.
+/// Date range queries and searches for the nearest rate before or after a date are passed to the delegate as is.
+///
+/// This class is thread-safe if the delegate is.
+@NullMarked
+public final class SingleFlightForexDataProvider implements ForexDataProvider {
+
+    private final ForexDataProvider delegate;
+    private final ConcurrentHashMap<RateKey, CompletableFuture<Optional<ExchangeRate>>> inFlight = new ConcurrentHashMap<>();
+
+    /// Main constructor.
+    ///
+    /// @param delegate the provider to fetch rates from
+    /// @throws NullPointerException if `delegate` is `null`
+    public SingleFlightForexDataProvider(ForexDataProvider delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate provider cannot be null");
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        var requestedPairs = Set.copyOf(pairs);
+        Objects.requireNonNull(date, "date cannot be null");
+
+        // Claim every pair that isn't in flight yet, then fetch the claimed ones before waiting for the others,
+        // so that threads waiting for each other's pairs can't deadlock
+        var claimed = new HashMap<CurrencyPair, CompletableFuture<Optional<ExchangeRate>>>();
+        var awaited = new ArrayList<CompletableFuture<Optional<ExchangeRate>>>();
+        for (var pair : requestedPairs) {
+            var future = new CompletableFuture<Optional<ExchangeRate>>();
+            var existing = inFlight.putIfAbsent(new RateKey(pair, date), future);
+            if (existing == null) {
+                claimed.put(pair, future);
+            } else {
+                awaited.add(existing);
+            }
+        }
+
+        var found = new ArrayList<ExchangeRate>(requestedPairs.size());
+        if (!claimed.isEmpty()) {
+            found.addAll(fetch(claimed, date));
+        }
+        for (var future : awaited) {
+            Futures.join(future).ifPresent(found::add);
+        }
+        return found.stream();
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        return delegate.exchangeRates(pairs, start, end);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        var key = new RateKey(pair, date);
+        var future = new CompletableFuture<Optional<ExchangeRate>>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return Futures.join(existing);
+        }
+
+        try {
+            var rate = delegate.findExchangeRate(pair, date);
+            future.complete(rate);
+            return rate;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+        return delegate.findLatestExchangeRateOnOrBefore(pair, date);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+        return delegate.findEarliestExchangeRateOnOrAfter(pair, date);
+    }
+
+    @Override
+    public Stream<Currency> supportedCurrencies() {
+        return delegate.supportedCurrencies();
+    }
+
+    @Override
+    public LocalDate getEarliestSupportedDate() {
+        return delegate.getEarliestSupportedDate();
+    }
+
+    // Fetches the claimed pairs in one call and completes their futures, whatever the outcome
+    private List<ExchangeRate> fetch(Map<CurrencyPair, CompletableFuture<Optional<ExchangeRate>>> claimed, LocalDate date) {
+        var rates = new HashMap<CurrencyPair, ExchangeRate>();
+        try (var fetched = delegate.exchangeRates(claimed.keySet(), date)) {
+            fetched.filter(rate -> claimed.containsKey(rate.currencyPair()))
+                    .forEach(rate -> rates.putIfAbsent(rate.currencyPair(), rate));
+        } catch (Throwable e) {
+            claimed.forEach((pair, future) -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            claimed.forEach((pair, future) -> {
+                future.complete(Optional.ofNullable(rates.get(pair)));
+                inFlight.remove(new RateKey(pair, date), future);
+            });
+        }
+        return List.copyOf(rates.values());
+    }
+}
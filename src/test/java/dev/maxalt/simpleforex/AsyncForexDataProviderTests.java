@@ -0,0 +1,245 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class AsyncForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair GBPUSD = CurrencyPair.parse("GBPUSD");
+    private static final LocalDate YESTERDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate TODAY = LocalDate.parse("2025-12-31");
+
+    private final TestForexDataProvider upstream = new TestForexDataProvider()
+            .add("EURUSD", "2025-12-30", "1.0825")
+            .add("GBPUSD", "2025-12-30", "1.3440")
+            .add("EURUSD", "2025-12-31", "1.0830")
+            .add("GBPUSD", "2025-12-31", "1.3450");
+
+    private final TestForexDataProvider failing = new TestForexDataProvider() {
+        @Override
+        public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+            throw new IllegalStateException("upstream is down");
+        }
+    };
+
+    @Nested
+    class FromBlocking {
+
+        @Test
+        void findExchangeRateRunsOnTheExecutor() {
+            var executions = new AtomicInteger();
+            Executor executor = task -> {
+                executions.incrementAndGet();
+                task.run();
+            };
+            var provider = AsyncForexDataProvider.of(upstream, executor);
+
+            assertThat(provider.findExchangeRate(EURUSD, TODAY).join()).contains(rate("EURUSD", "2025-12-31", "1.0830"));
+            assertThat(executions).hasValue(1);
+        }
+
+        @Test
+        void exchangeRatesCompletesWithAList() {
+            var provider = AsyncForexDataProvider.of(upstream);
+
+            assertThat(provider.exchangeRates(Set.of(EURUSD, GBPUSD), TODAY).join()).containsExactlyInAnyOrder(
+                    rate("EURUSD", "2025-12-31", "1.0830"),
+                    rate("GBPUSD", "2025-12-31", "1.3450"));
+        }
+
+        @Test
+        void rangeQueriesPublishInOrder() {
+            var subscriber = new TestSubscriber(Long.MAX_VALUE);
+            AsyncForexDataProvider.of(upstream).exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY).subscribe(subscriber);
+
+            assertThat(subscriber.completion.join()).containsExactly(
+                    rate("EURUSD", "2025-12-30", "1.0825"),
+                    rate("EURUSD", "2025-12-31", "1.0830"));
+        }
+
+        @Test
+        void rangeQueriesHonorBackpressure() throws InterruptedException {
+            var subscriber = new TestSubscriber(1);
+            AsyncForexDataProvider.of(upstream).exchangeRates(Set.of(EURUSD, GBPUSD), YESTERDAY, TODAY).subscribe(subscriber);
+
+            while (subscriber.received.isEmpty()) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+            assertThat(subscriber.received).hasSize(1);
+            assertThat(subscriber.completion).isNotDone();
+
+            subscriber.subscription.request(3);
+            assertThat(subscriber.completion.join()).hasSize(4);
+        }
+
+        @Test
+        void rangeQueriesLongerThanTheBufferCompleteOnASingleThread() {
+            var longHistory = new TestForexDataProvider();
+            var start = LocalDate.parse("2025-01-01");
+            for (int i = 0; i < 2 * Flow.defaultBufferSize(); i++) {
+                longHistory.add("EURUSD", start.plusDays(i).toString(), "1.08");
+            }
+            var executor = Executors.newSingleThreadExecutor();
+            try {
+                var subscriber = new TestSubscriber(Long.MAX_VALUE);
+                AsyncForexDataProvider.of(longHistory, executor)
+                        .exchangeRates(Set.of(EURUSD), start, start.plusDays(2L * Flow.defaultBufferSize() - 1))
+                        .subscribe(subscriber);
+
+                assertThat(subscriber.completion.orTimeout(10, TimeUnit.SECONDS).join()).hasSize(2 * Flow.defaultBufferSize());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void rangeQueriesAreFetchedPerSubscriber() {
+            var publisher = AsyncForexDataProvider.of(upstream).exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY);
+            assertThat(upstream.rangeCalls).hasValue(0);
+
+            for (int i = 0; i < 2; i++) {
+                var subscriber = new TestSubscriber(Long.MAX_VALUE);
+                publisher.subscribe(subscriber);
+                assertThat(subscriber.completion.join()).hasSize(2);
+            }
+            assertThat(upstream.rangeCalls).hasValue(2);
+        }
+
+        @Test
+        void failuresCompleteResultsExceptionally() {
+            var subscriber = new TestSubscriber(Long.MAX_VALUE);
+            AsyncForexDataProvider.of(failing).exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY).subscribe(subscriber);
+
+            assertThatExceptionOfType(CompletionException.class)
+                    .isThrownBy(subscriber.completion::join)
+                    .withCauseInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void invalidArgumentsAreThrownEagerly() {
+            var provider = AsyncForexDataProvider.of(upstream);
+
+            assertThatNullPointerException().isThrownBy(() -> provider.findExchangeRate(EURUSD, null));
+            assertThatNullPointerException().isThrownBy(() -> provider.exchangeRates(Set.of(EURUSD), null));
+            assertThatNullPointerException().isThrownBy(() -> provider.exchangeRates(null, YESTERDAY, TODAY));
+        }
+
+        @Test
+        void asBlockingReturnsTheAdaptedProvider() {
+            assertThat(AsyncForexDataProvider.of(upstream).asBlocking()).isSameAs(upstream);
+        }
+    }
+
+    @Nested
+    class ToBlocking {
+
+        private final ForexDataProvider provider = new BlockingForexDataProviderAdapter(AsyncForexDataProvider.of(upstream));
+
+        @Test
+        void waitsForResults() {
+            assertThat(provider.findExchangeRate(GBPUSD, YESTERDAY)).contains(rate("GBPUSD", "2025-12-30", "1.3440"));
+            assertThat(provider.exchangeRates(Set.of(EURUSD, GBPUSD), YESTERDAY)).hasSize(2);
+            assertThat(provider.exchangeRates(Set.of(EURUSD, GBPUSD), YESTERDAY, TODAY)).hasSize(4);
+        }
+
+        @Test
+        void rethrowsFailures() {
+            var blocking = new BlockingForexDataProviderAdapter(AsyncForexDataProvider.of(failing));
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> blocking.exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY))
+                    .withMessage("upstream is down");
+        }
+
+        @Test
+        void ofReturnsTheViewedProvider() {
+            var async = AsyncForexDataProvider.of(upstream);
+
+            assertThat(AsyncForexDataProvider.of(new BlockingForexDataProviderAdapter(async))).isSameAs(async);
+        }
+    }
+
+    // Requests the given number of rates upfront; more can be requested through the subscription
+    private static final class TestSubscriber implements Flow.Subscriber<ExchangeRate> {
+
+        final CompletableFuture<List<ExchangeRate>> completion = new CompletableFuture<>();
+        final List<ExchangeRate> received = new CopyOnWriteArrayList<>();
+        private final long initialRequest;
+        volatile Flow.Subscription subscription;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(ExchangeRate rate) {
+            received.add(rate);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(List.copyOf(received));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class BatchingForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair GBPUSD = CurrencyPair.parse("GBPUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final LocalDate YESTERDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate TODAY = LocalDate.parse("2025-12-31");
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    private final TestForexDataProvider upstream = new TestForexDataProvider()
+            .add("EURUSD", "2025-12-31", "1.0830")
+            .add("GBPUSD", "2025-12-31", "1.3450")
+            .add("USDJPY", "2025-12-31", "156.7")
+            .add("EURUSD", "2025-12-30", "1.0825");
+
+    @Test
+    void fullBatchesAreSentWithoutWaitingForTheWindow() {
+        try (var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 3)) {
+            var eurUsd = provider.findExchangeRateAsync(EURUSD, TODAY);
+            var gbpUsd = provider.findExchangeRateAsync(GBPUSD, TODAY);
+            var usdJpy = provider.findExchangeRateAsync(USDJPY, TODAY);
+
+            assertThat(eurUsd.join()).contains(rate("EURUSD", "2025-12-31", "1.0830"));
+            assertThat(gbpUsd.join()).contains(rate("GBPUSD", "2025-12-31", "1.3450"));
+            assertThat(usdJpy.join()).contains(rate("USDJPY", "2025-12-31", "156.7"));
+            assertThat(upstream.requestedPairs).containsExactly(Set.of(EURUSD, GBPUSD, USDJPY));
+            assertThat(upstream.findCalls).hasValue(0);
+        }
+    }
+
+    @Test
+    void batchesAreSentWhenTheWindowElapses() {
+        try (var provider = new BatchingForexDataProvider(upstream, Duration.ofMillis(20), 100)) {
+            var eurUsd = provider.findExchangeRateAsync(EURUSD, TODAY);
+            var gbpUsd = provider.findExchangeRateAsync(GBPUSD, TODAY);
+
+            assertThat(eurUsd.join()).isPresent();
+            assertThat(gbpUsd.join()).isPresent();
+            assertThat(upstream.requestedPairs).containsExactly(Set.of(EURUSD, GBPUSD));
+            assertThat(provider.queueLatencies().count()).isEqualTo(2);
+            assertThat(provider.queueLatencies().max()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+            assertThat(provider.fetchLatencies().count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void lookupsAreBatchedPerDate() {
+        try (var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 100)) {
+            var today = provider.findExchangeRateAsync(EURUSD, TODAY);
+            var yesterday = provider.findExchangeRateAsync(EURUSD, YESTERDAY);
+            provider.close();
+
+            assertThat(today.join()).contains(rate("EURUSD", "2025-12-31", "1.0830"));
+            assertThat(yesterday.join()).contains(rate("EURUSD", "2025-12-30", "1.0825"));
+            assertThat(upstream.singleDateCalls).hasValue(2);
+        }
+    }
+
+    @Test
+    void duplicateLookupsShareAPair() {
+        try (var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 2)) {
+            var first = provider.findExchangeRateAsync(EURUSD, TODAY);
+            var second = provider.findExchangeRateAsync(EURUSD, TODAY);
+            var third = provider.findExchangeRateAsync(GBPUSD, TODAY);
+
+            assertThat(first.join()).isEqualTo(second.join());
+            assertThat(third.join()).isPresent();
+            assertThat(upstream.requestedPairs).containsExactly(Set.of(EURUSD, GBPUSD));
+        }
+    }
+
+    @Test
+    void missingRatesCompleteEmpty() {
+        try (var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 1)) {
+            assertThat(provider.findExchangeRate(GBPUSD, YESTERDAY)).isEmpty();
+        }
+    }
+
+    @Test
+    void closingSendsPendingBatchesAndRejectsNewLookups() {
+        var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 100);
+        var pending = provider.findExchangeRateAsync(EURUSD, TODAY);
+        provider.close();
+        provider.close();
+
+        assertThat(pending).isCompleted();
+        assertThat(pending.join()).isPresent();
+        assertThatIllegalStateException().isThrownBy(() -> provider.findExchangeRate(EURUSD, TODAY));
+    }
+
+    @Test
+    void delegateFailuresCompleteEveryLookupOfTheBatch() {
+        var failing = new TestForexDataProvider() {
+            @Override
+            public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+                throw new IllegalStateException("upstream is down");
+            }
+        };
+        try (var provider = new BatchingForexDataProvider(failing, LONG_WINDOW, 2)) {
+            var async = provider.findExchangeRateAsync(EURUSD, TODAY);
+
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> provider.findExchangeRate(GBPUSD, TODAY))
+                    .withMessage("upstream is down");
+            assertThatExceptionOfType(CompletionException.class)
+                    .isThrownBy(async::join)
+                    .withCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void setQueriesArePassedThrough() {
+        try (var provider = new BatchingForexDataProvider(upstream, LONG_WINDOW, 100)) {
+            assertThat(provider.exchangeRates(Set.of(EURUSD, GBPUSD), TODAY)).hasSize(2);
+            assertThat(provider.exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY)).hasSize(2);
+
+            assertThat(upstream.singleDateCalls).hasValue(1);
+            assertThat(upstream.rangeCalls).hasValue(1);
+        }
+    }
+
+    @Test
+    void constructorRejectsInvalidBounds() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BatchingForexDataProvider(upstream, Duration.ZERO, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BatchingForexDataProvider(upstream, LONG_WINDOW, 0));
+    }
+}
@@ -0,0 +1,394 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Set;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CachingForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair EURGBP = CurrencyPair.parse("EURGBP");
+    private static final CurrencyPair EURJPY = CurrencyPair.parse("EURJPY");
+    private static final LocalDate YESTERDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate TODAY = LocalDate.parse("2025-12-31");
+
+    private final TestForexDataProvider upstream = new TestForexDataProvider()
+            .add("EURUSD", "2025-12-30", "1.0825")
+            .add("EURGBP", "2025-12-30", "0.83")
+            .add("EURUSD", "2025-12-31", "1.0830");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-12-31T12:00:00Z"), ZoneOffset.UTC);
+
+    private CachingForexDataProvider cache(long maximumSize, long maximumWeight) {
+        return new CachingForexDataProvider(upstream, maximumSize, maximumWeight, Duration.ofMinutes(1), clock);
+    }
+
+    @Test
+    void findExchangeRateFetchesHistoricalRatesOnce() {
+        var cache = cache(100, Long.MAX_VALUE);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.findExchangeRate(EURUSD, YESTERDAY)).contains(rate("EURUSD", "2025-12-30", "1.0825"));
+            clock.advance(Duration.ofDays(1));
+        }
+
+        assertThat(upstream.findCalls).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(2);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findExchangeRateCachesAbsentRates() {
+        var cache = cache(100, Long.MAX_VALUE);
+
+        assertThat(cache.findExchangeRate(EURJPY, YESTERDAY)).isEmpty();
+        assertThat(cache.findExchangeRate(EURJPY, YESTERDAY)).isEmpty();
+
+        assertThat(upstream.findCalls).hasValue(1);
+    }
+
+    @Test
+    void absentRatesExpire() {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.findExchangeRate(EURJPY, YESTERDAY);
+
+        // Yesterday's fixing is published late
+        upstream.add("EURJPY", "2025-12-30", "183.66");
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(cache.findExchangeRate(EURJPY, YESTERDAY)).isEmpty();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.findExchangeRate(EURJPY, YESTERDAY)).contains(rate("EURJPY", "2025-12-30", "183.66"));
+        clock.advance(Duration.ofDays(1));
+        cache.findExchangeRate(EURJPY, YESTERDAY);
+        assertThat(upstream.findCalls).hasValue(2);
+    }
+
+    @Test
+    void absentRatesOutsideLatePublicationWindowDoNotExpire() {
+        var cache = new CachingForexDataProvider(upstream, 100, Long.MAX_VALUE, Duration.ofMinutes(1), Period.ofDays(3), clock);
+        var lastYear = LocalDate.parse("2024-12-28");
+        var withinWindow = LocalDate.parse("2025-12-28");
+        var beforeWindow = LocalDate.parse("2025-12-27");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.findExchangeRate(EURJPY, lastYear)).isEmpty();
+            assertThat(cache.findExchangeRate(EURJPY, beforeWindow)).isEmpty();
+            clock.advance(Duration.ofMinutes(1));
+        }
+        assertThat(upstream.findCalls).hasValue(2);
+
+        cache.findExchangeRate(EURJPY, withinWindow);
+        clock.advance(Duration.ofMinutes(1));
+        cache.findExchangeRate(EURJPY, withinWindow);
+        assertThat(upstream.findCalls).hasValue(4);
+    }
+
+    @Test
+    void exchangeRatesInRangeSpanningOldAbsencesAreServedFromCache() {
+        var cache = cache(100, Long.MAX_VALUE);
+        var saturday = LocalDate.parse("2024-12-28");
+        var monday = LocalDate.parse("2024-12-30");
+        upstream.add("EURUSD", "2024-12-27", "1.0425").add("EURUSD", "2024-12-30", "1.0430");
+        for (var date = saturday.minusDays(1); !date.isAfter(monday); date = date.plusDays(1)) {
+            cache.findExchangeRate(EURUSD, date);
+        }
+
+        clock.advance(Duration.ofHours(1));
+
+        assertThat(cache.exchangeRates(Set.of(EURUSD), saturday.minusDays(1), monday)).hasSize(2);
+        assertThat(upstream.rangeCalls).hasValue(0);
+    }
+
+    @Test
+    void currentDateRatesExpire() {
+        var cache = cache(100, Long.MAX_VALUE);
+
+        cache.findExchangeRate(EURUSD, TODAY);
+        clock.advance(Duration.ofSeconds(59));
+        cache.findExchangeRate(EURUSD, TODAY);
+        assertThat(upstream.findCalls).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        cache.findExchangeRate(EURUSD, TODAY);
+        assertThat(upstream.findCalls).hasValue(2);
+    }
+
+    @Test
+    void currentDateIsDeterminedInClockZone() {
+        // It's already 2026-01-01 in Tokyo, so 2025-12-31 is a historical date there
+        var tokyoClock = new MutableClock(Instant.parse("2025-12-31T16:00:00Z"), ZoneId.of("Asia/Tokyo"));
+        var cache = new CachingForexDataProvider(upstream, 100, Long.MAX_VALUE, Duration.ofMinutes(1), tokyoClock);
+
+        cache.findExchangeRate(EURUSD, TODAY);
+        tokyoClock.advance(Duration.ofHours(1));
+        cache.findExchangeRate(EURUSD, TODAY);
+
+        assertThat(upstream.findCalls).hasValue(1);
+    }
+
+    @Test
+    void exchangeRatesOnlyFetchesMissingPairs() {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+
+        var rates = cache.exchangeRates(Set.of(EURUSD, EURGBP, EURJPY), YESTERDAY).toList();
+        var cachedRates = cache.exchangeRates(Set.of(EURUSD, EURGBP, EURJPY), YESTERDAY).toList();
+
+        assertThat(rates).containsExactlyInAnyOrder(rate("EURUSD", "2025-12-30", "1.0825"), rate("EURGBP", "2025-12-30", "0.83"));
+        assertThat(cachedRates).containsExactlyInAnyOrderElementsOf(rates);
+        assertThat(upstream.singleDateCalls).hasValue(1);
+        assertThat(upstream.requestedPairs).containsExactly(Set.of(EURGBP, EURJPY));
+    }
+
+    @Test
+    void exchangeRatesInRangeAreServedFromCacheOnlyWhenFullyCached() {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.exchangeRates(Set.of(EURUSD), YESTERDAY);
+
+        assertThat(cache.exchangeRates(Set.of(EURUSD), YESTERDAY, TODAY)).hasSize(2);
+        assertThat(upstream.rangeCalls).hasValue(1);
+
+        cache.exchangeRates(Set.of(EURUSD), TODAY);
+        assertThat(cache.exchangeRates(Set.of(EURUSD), TODAY, YESTERDAY)).hasSize(2);
+        assertThat(upstream.rangeCalls).hasValue(1);
+    }
+
+    @Test
+    void partiallyCachedRangesCountAsOneMissWithoutHits() {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), YESTERDAY);
+        var before = cache.stats();
+
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), YESTERDAY, TODAY).toList();
+        assertThat(cache.stats().hitCount()).isEqualTo(before.hitCount());
+        assertThat(cache.stats().missCount()).isEqualTo(before.missCount() + 1);
+
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), TODAY);
+        var afterTodayLookup = cache.stats();
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), YESTERDAY, TODAY).toList();
+        assertThat(cache.stats().hitCount()).isEqualTo(afterTodayLookup.hitCount() + 4);
+        assertThat(cache.stats().missCount()).isEqualTo(afterTodayLookup.missCount());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesBeyondMaximumSize() {
+        var cache = cache(2, Long.MAX_VALUE);
+
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+        cache.findExchangeRate(EURGBP, YESTERDAY);
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+        cache.findExchangeRate(EURJPY, YESTERDAY);
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+        assertThat(upstream.findCalls).hasValue(3);
+        cache.findExchangeRate(EURGBP, YESTERDAY);
+        assertThat(upstream.findCalls).hasValue(4);
+    }
+
+    @Test
+    void evictsEntriesBeyondMaximumWeight() {
+        var cache = cache(100, 500);
+
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+        cache.findExchangeRate(EURGBP, YESTERDAY);
+        cache.findExchangeRate(EURUSD, TODAY);
+
+        assertThat(cache.stats().weight()).isLessThanOrEqualTo(500);
+        assertThat(cache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    void invalidateAllRemovesEntries() {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+
+        cache.invalidateAll();
+        cache.findExchangeRate(EURUSD, YESTERDAY);
+
+        assertThat(upstream.findCalls).hasValue(2);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void loadedSnapshotServesHistoricalRatesWithoutDelegate(@TempDir Path directory) throws IOException {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.exchangeRates(Set.of(EURUSD, EURGBP, EURJPY), YESTERDAY);
+        cache.findExchangeRate(EURUSD, TODAY);
+        var snapshot = directory.resolve("cache.snapshot");
+
+        assertThat(cache.writeSnapshot(snapshot)).isEqualTo(2);
+
+        var restarted = cache(100, Long.MAX_VALUE);
+        assertThat(restarted.loadSnapshot(snapshot)).isEqualTo(2);
+        assertThat(restarted.findExchangeRate(EURUSD, YESTERDAY)).contains(rate("EURUSD", "2025-12-30", "1.0825"));
+        assertThat(restarted.findExchangeRate(EURGBP, YESTERDAY)).contains(rate("EURGBP", "2025-12-30", "0.83"));
+        assertThat(upstream.findCalls).hasValue(1);
+        assertThat(restarted.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotsRestoreRatesExactly(@TempDir Path directory) throws IOException {
+        var upstream = new TestForexDataProvider()
+                .add("EURUSD", "2025-12-30", "1.08254321")
+                .add("EURGBP", "2025-12-30", "123456789012.5")
+                .add("EURJPY", "2025-12-30", "0.000000000000000000012345678901234567890");
+        var cache = new CachingForexDataProvider(upstream, 100, Long.MAX_VALUE, Duration.ofMinutes(1), clock);
+        var cached = cache.exchangeRates(Set.of(EURUSD, EURGBP, EURJPY), YESTERDAY).toList();
+        var snapshot = directory.resolve("cache.snapshot");
+        assertThat(cache.writeSnapshot(snapshot)).isEqualTo(3);
+
+        var restarted = cache(100, Long.MAX_VALUE);
+        restarted.loadSnapshot(snapshot);
+
+        assertThat(restarted.exchangeRates(Set.of(EURUSD, EURGBP, EURJPY), YESTERDAY)).containsExactlyInAnyOrderElementsOf(cached);
+        assertThat(restarted.stats().missCount()).isZero();
+    }
+
+    @Test
+    void snapshotsRestoreLargeWorkingSets(@TempDir Path directory) throws IOException {
+        var pairs = Set.of(EURUSD, EURGBP, EURJPY, CurrencyPair.parse("USDJPY"), CurrencyPair.parse("GBPUSD"));
+        var start = YESTERDAY.minusDays(19_999);
+        var upstream = new TestForexDataProvider();
+        for (var date = start; !date.isAfter(YESTERDAY); date = date.plusDays(1)) {
+            for (var pair : pairs) {
+                upstream.add(pair.toString(), date.toString(), "1." + (date.toEpochDay() & 0xFFFF));
+            }
+        }
+        var cache = new CachingForexDataProvider(upstream, 200_000, Long.MAX_VALUE, Duration.ofMinutes(1), clock);
+        for (var date = start; !date.isAfter(YESTERDAY); date = date.plusDays(1)) {
+            cache.exchangeRates(pairs, date);
+        }
+        var snapshot = directory.resolve("cache.snapshot");
+        assertThat(cache.writeSnapshot(snapshot)).isEqualTo(100_000);
+
+        var restarted = new CachingForexDataProvider(upstream, 200_000, Long.MAX_VALUE, Duration.ofMinutes(1), clock);
+        assertThat(restarted.loadSnapshot(snapshot)).isEqualTo(100_000);
+
+        assertThat(restarted.exchangeRates(pairs, start, YESTERDAY)).hasSize(100_000);
+        assertThat(restarted.exchangeRates(pairs, start.plusDays(12_345))).containsExactlyInAnyOrderElementsOf(
+                cache.exchangeRates(pairs, start.plusDays(12_345)).toList());
+        assertThat(restarted.stats().missCount()).isZero();
+        assertThat(upstream.rangeCalls).hasValue(0);
+    }
+
+    @Test
+    void loadSnapshotRejectsInvalidFiles(@TempDir Path directory) throws IOException {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), YESTERDAY);
+        var snapshot = directory.resolve("cache.snapshot");
+        cache.writeSnapshot(snapshot);
+        var truncated = directory.resolve("truncated.snapshot");
+        var bytes = Files.readAllBytes(snapshot);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        var csv = directory.resolve("rates.csv");
+        Files.writeString(csv, "EURUSD,2025-12-30,1.0825");
+
+        assertThatIOException().isThrownBy(() -> cache(100, Long.MAX_VALUE).loadSnapshot(truncated));
+        assertThatIOException().isThrownBy(() -> cache(100, Long.MAX_VALUE).loadSnapshot(csv));
+    }
+
+    @Test
+    void loadSnapshotKeepsCachedRatesAndRespectsBounds(@TempDir Path directory) throws IOException {
+        var cache = cache(100, Long.MAX_VALUE);
+        cache.exchangeRates(Set.of(EURUSD, EURGBP), YESTERDAY);
+        var snapshot = directory.resolve("cache.snapshot");
+        cache.writeSnapshot(snapshot);
+
+        var restarted = cache(1, Long.MAX_VALUE);
+        restarted.findExchangeRate(EURJPY, YESTERDAY);
+
+        assertThat(restarted.loadSnapshot(snapshot)).isEqualTo(2);
+        assertThat(restarted.stats().size()).isEqualTo(1);
+        assertThat(restarted.stats().evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void constructorRejectsInvalidBounds() {
+        assertThatIllegalArgumentException().isThrownBy(() -> cache(0, 100));
+        assertThatIllegalArgumentException().isThrownBy(() -> cache(100, 0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingForexDataProvider(upstream, 100, 100, Duration.ZERO, clock));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingForexDataProvider(upstream, 100, 100, Duration.ofMinutes(1), Period.ofDays(-1), clock));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final ZoneId zone;
+        private Instant instant;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
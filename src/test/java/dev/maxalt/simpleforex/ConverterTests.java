@@ -0,0 +1,283 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ConverterTests {
+
+    private static Converter converter(String pair, String value, RoundingMode mode) {
+        return Converter.of(new ExchangeRate(CurrencyPair.parse(pair), new BigDecimal(value), Instant.EPOCH), mode);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "EURJPY, 183.66, 12.35, 2268",
+            "EURUSD, 1.1737, 100, 117.37",
+            "EURUSD, 1.5, 0.05, 0.08",
+            "EURUSD, 1.5, -0.05, -0.08",
+            "EURUSD, 1.5, 0.15, 0.22",
+            "JPYKWD, 0.0025, 1001, 2.502",
+            "USDJPY, 156.25, 0.01, 2"})
+    void amountsAreRoundedToTheFractionDigitsOfTheQuoteCurrency(String pair, String value, BigDecimal amount, BigDecimal expected) {
+        var converter = converter(pair, value, RoundingMode.HALF_EVEN);
+
+        assertThat(converter.convert(amount)).isEqualTo(expected.setScale(expected.scale()));
+        assertThat(converter.convert(amount).scale()).isEqualTo(CurrencyPair.parse(pair).quote().getDefaultFractionDigits());
+        long minorUnits = amount.movePointRight(CurrencyPair.parse(pair).base().getDefaultFractionDigits()).longValueExact();
+        assertThat(converter.convertMinorUnits(minorUnits)).isEqualTo(expected.unscaledValue().longValueExact());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void minorUnitsAreConvertedLikeAmounts(RoundingMode mode) {
+        var random = new SplittableRandom(mode.ordinal());
+        for (var rate : new String[]{"1.1737", "183.66", "0.000006104", "2", "12345.678901234567"}) {
+            for (var pair : new String[]{"EURUSD", "EURJPY", "JPYKWD", "KWDJPY"}) {
+                var converter = converter(pair, rate, mode);
+                int fractionDigits = CurrencyPair.parse(pair).base().getDefaultFractionDigits();
+                for (int i = 0; i < 1000; i++) {
+                    long amount = random.nextLong(-100_000_000_000L, 100_000_000_000L) >> random.nextInt(40);
+                    var expected = converter.convert(BigDecimal.valueOf(amount, fractionDigits)).unscaledValue().longValueExact();
+                    assertThat(converter.convertMinorUnits(amount)).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void inverseConvertersDivideByTheRate(RoundingMode mode) {
+        var random = new SplittableRandom(mode.ordinal());
+        for (var rate : new String[]{"1.1737", "183.66", "0.000006104", "2", "12345.678901234567"}) {
+            for (var pair : new String[]{"EURUSD", "EURJPY", "JPYKWD", "KWDJPY"}) {
+                var converter = converter(pair, rate, mode).inverse();
+                int fractionDigits = CurrencyPair.parse(pair).quote().getDefaultFractionDigits();
+                for (int i = 0; i < 1000; i++) {
+                    long amount = random.nextLong(-1_000_000_000L, 1_000_000_000L) >> random.nextInt(40);
+                    var expected = BigDecimal.valueOf(amount, fractionDigits)
+                            .divide(new BigDecimal(rate), CurrencyPair.parse(pair).base().getDefaultFractionDigits(), mode);
+                    assertThat(converter.convert(BigDecimal.valueOf(amount, fractionDigits))).isEqualTo(expected);
+                    assertThat(converter.convertMinorUnits(amount)).isEqualTo(expected.unscaledValue().longValueExact());
+                }
+            }
+        }
+    }
+
+    @Test
+    void convertingBackLosesOnlyRounding() {
+        var converter = converter("EURJPY", "183.66", RoundingMode.HALF_EVEN);
+
+        assertThat(converter.inverse().convertMinorUnits(converter.convertMinorUnits(1235))).isEqualTo(1235);
+        assertThat(converter.inverse().inverse().convertMinorUnits(1235)).isEqualTo(2268);
+        assertThat(converter.inverse()).hasToString("Converter[JPYEUR 1/183.66, HALF_EVEN]");
+    }
+
+    @Test
+    void doublesAreConvertedWithTheClosestRate() {
+        var converter = converter("EURUSD", "1.1737", RoundingMode.HALF_EVEN);
+        double[] amounts = {12.35, -0.01, 1e15, Double.NaN};
+        var results = new double[amounts.length];
+        var inverseResults = new double[amounts.length];
+
+        converter.convert(amounts, 0, results, 0, amounts.length);
+        converter.inverse().convert(amounts, 0, inverseResults, 0, amounts.length);
+
+        // Compared like Double.compare, to which NaN equals itself
+        for (int i = 0; i < amounts.length; i++) {
+            assertThat(results[i]).isEqualByComparingTo(amounts[i] * 1.1737);
+            assertThat(inverseResults[i]).isEqualByComparingTo(amounts[i] / 1.1737);
+            assertThat(converter.convert(amounts[i])).isEqualByComparingTo(results[i]);
+        }
+    }
+
+    @Test
+    void overflowingProductsFallBackToExactArithmetic() {
+        var converter = converter("EURUSD", "1.1737", RoundingMode.HALF_EVEN);
+        long amount = Long.MAX_VALUE / 1000;
+
+        var expected = converter.convert(BigDecimal.valueOf(amount, 2)).unscaledValue().longValueExact();
+        assertThat(converter.convertMinorUnits(amount)).isEqualTo(expected);
+        assertThat(converter.convertMinorUnits(-amount)).isEqualTo(-expected);
+    }
+
+    @Test
+    void overflowingResultsAreRejected() {
+        assertThatExceptionOfType(ArithmeticException.class)
+                .isThrownBy(() -> converter("EURUSD", "2", RoundingMode.HALF_EVEN).convertMinorUnits(Long.MAX_VALUE));
+        assertThatExceptionOfType(ArithmeticException.class)
+                .isThrownBy(() -> converter("JPYKWD", "2", RoundingMode.HALF_EVEN).convertMinorUnits(Long.MAX_VALUE / 1000));
+    }
+
+    @Test
+    void unnecessaryRoundingModeRejectsInexactResults() {
+        var converter = converter("EURUSD", "1.1737", RoundingMode.UNNECESSARY);
+
+        assertThat(converter.convertMinorUnits(10_000)).isEqualTo(11_737);
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> converter.convertMinorUnits(1));
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> converter.convert(new BigDecimal("0.01")));
+    }
+
+    @Test
+    void bulkConversionMatchesSingleConversions() {
+        var converter = converter("EURJPY", "183.66", RoundingMode.HALF_EVEN);
+        long[] amounts = {1235, -1235, 0, 1, 50, Long.MAX_VALUE / 100_000, Long.MIN_VALUE / 100_000};
+        var results = new long[amounts.length + 2];
+
+        converter.convertMinorUnits(amounts, 1, results, 2, amounts.length - 1);
+        converter.convertMinorUnits(amounts, amounts);
+
+        assertThat(results[0]).isZero();
+        assertThat(results[1]).isZero();
+        assertThat(results[2]).isEqualTo(-2268);
+        for (int i = 1; i < amounts.length; i++) {
+            assertThat(results[i + 1]).isEqualTo(amounts[i]);
+        }
+        assertThat(amounts[0]).isEqualTo(2268);
+    }
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void bulkResultsAreIdenticalToSingleConversions(RoundingMode mode) {
+        // With the Vector API module added to the test JVM, this compares the kernels to the scalar code where they are effective
+        var random = new SplittableRandom(mode.ordinal());
+        var amounts = new long[1003];
+        var doubleAmounts = new double[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = random.nextLong(-1_000_000_000L, 1_000_000_000L) >> random.nextInt(32);
+            doubleAmounts[i] = amounts[i] / 100.0;
+        }
+        // Amounts too large for long arithmetic, which the scalar code converts exactly
+        amounts[500] = Long.MAX_VALUE / 1000;
+        amounts[501] = Long.MIN_VALUE / 1000;
+
+        for (var rate : new String[]{"1.1737", "183.66", "0.000006104", "1"}) {
+            var forward = converter("EURJPY", rate, mode);
+            for (var converter : new Converter[]{forward, forward.inverse()}) {
+                var results = new long[amounts.length];
+                var doubleResults = new double[amounts.length];
+                try {
+                    converter.convertMinorUnits(amounts, results);
+                } catch (ArithmeticException e) {
+                    // Rounding is necessary somewhere with UNNECESSARY, or a large amount overflows
+                }
+                converter.convert(doubleAmounts, 0, doubleResults, 0, amounts.length);
+
+                for (int i = 0; i < amounts.length; i++) {
+                    long result;
+                    try {
+                        result = converter.convertMinorUnits(amounts[i]);
+                    } catch (ArithmeticException e) {
+                        break;
+                    }
+                    assertThat(results[i]).isEqualTo(result);
+                    assertThat(doubleResults[i]).isEqualTo(converter.convert(doubleAmounts[i]));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RoundingMode.class)
+    void vectorKernelsMatchSingleConversionsAtAnyVectorWidth(RoundingMode mode) {
+        // The kernels are only built by the vector profile, which adds the Vector API module to the test JVM
+        assumeTrue(Converter.VECTOR_KERNELS != null, "built without the vector profile");
+        // Bulk methods only use the kernels where they're effective, so call them directly to cover every CPU
+        var random = new SplittableRandom(mode.ordinal());
+        var amounts = new long[1003];
+        var doubleAmounts = new double[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = random.nextLong(-1_000_000_000L, 1_000_000_000L) >> random.nextInt(32);
+            doubleAmounts[i] = amounts[i] / 100.0;
+        }
+        // Amounts too large for long arithmetic, which fall back to the scalar code lane by lane
+        amounts[500] = Long.MAX_VALUE / 1000;
+        amounts[501] = Long.MIN_VALUE / 1000;
+
+        for (var rate : new String[]{"1.1737", "183.66", "0.000006104", "1"}) {
+            var forward = converter("EURJPY", rate, mode);
+            for (var converter : new Converter[]{forward, forward.inverse()}) {
+                // Amounts that overflow, or need rounding with UNNECESSARY, would make the fallback throw
+                var convertible = amounts.clone();
+                for (int i = 0; i < convertible.length; i++) {
+                    try {
+                        converter.convertMinorUnits(convertible[i]);
+                    } catch (ArithmeticException e) {
+                        convertible[i] = 0;
+                    }
+                }
+                var results = new long[amounts.length];
+                var doubleResults = new double[amounts.length];
+                int converted = converter.convertMinorUnitsWithVectors(convertible, 0, results, 0, amounts.length);
+                int convertedDoubles = converter.convertWithVectors(doubleAmounts, 0, doubleResults, 0, amounts.length);
+
+                if (mode != RoundingMode.UNNECESSARY) {
+                    assertThat(converted).isPositive();
+                }
+                for (int i = 0; i < converted; i++) {
+                    assertThat(results[i]).isEqualTo(converter.convertMinorUnits(convertible[i]));
+                }
+                assertThat(convertedDoubles).isPositive();
+                for (int i = 0; i < convertedDoubles; i++) {
+                    assertThat(doubleResults[i]).isEqualTo(converter.convert(doubleAmounts[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    void bulkConversionChecksBounds() {
+        var converter = converter("EURJPY", "183.66", RoundingMode.HALF_EVEN);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> converter.convertMinorUnits(new long[4], new long[3]));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> converter.convertMinorUnits(new long[4], 2, new long[4], 0, 3));
+    }
+
+    @Test
+    void currenciesWithoutMinorUnitsAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> converter("XAUUSD", "4300.5", RoundingMode.HALF_EVEN));
+        assertThat(converter("EURUSD", "1.1737", RoundingMode.HALF_EVEN)).hasToString("Converter[EURUSD 1.1737, HALF_EVEN]");
+    }
+}
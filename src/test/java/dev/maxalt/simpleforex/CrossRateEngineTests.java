@@ -0,0 +1,140 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CrossRateEngineTests {
+
+    private static final Instant NOON = Instant.parse("2025-12-31T12:00:00Z");
+
+    private static ExchangeRate rate(String pair, String value, Instant timestamp) {
+        return new ExchangeRate(CurrencyPair.parse(pair), new BigDecimal(value), timestamp);
+    }
+
+    @Test
+    void returnsKnownRatesAsTheyAre() {
+        var eurUsd = rate("EURUSD", "1.0825", NOON);
+        var engine = CrossRateEngine.of(List.of(eurUsd));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("EURUSD"))).contains(eurUsd);
+    }
+
+    @Test
+    void derivesInverseRates() {
+        var engine = CrossRateEngine.of(List.of(rate("EURUSD", "1.25", NOON)));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("USDEUR"))).contains(rate("USDEUR", "0.8", NOON));
+    }
+
+    @Test
+    void derivesCrossRatesThroughCommonCurrency() {
+        var engine = CrossRateEngine.of(List.of(
+                rate("EURSEK", "11.4875", NOON),
+                rate("EURNOK", "11.7215", NOON.minusSeconds(60))
+        ));
+
+        var sekNok = engine.findExchangeRate(CurrencyPair.parse("SEKNOK")).orElseThrow();
+
+        var expected = new BigDecimal("11.7215").divide(new BigDecimal("11.4875"), MathContext.DECIMAL64);
+        assertThat(sekNok.value()).isCloseTo(expected, within(BigDecimal.valueOf(1, 15)));
+        assertThat(sekNok.timestamp()).isEqualTo(NOON.minusSeconds(60));
+    }
+
+    @Test
+    void derivesCrossRatesThroughSeveralLegs() {
+        var engine = CrossRateEngine.of(List.of(
+                rate("EURUSD", "1.25", NOON),
+                rate("USDJPY", "150", NOON),
+                rate("JPYKRW", "10", NOON)
+        ));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("EURKRW"))).contains(rate("EURKRW", "1875", NOON));
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("KRWEUR")).orElseThrow().value())
+                .isEqualByComparingTo("0.0005333333333333334");
+    }
+
+    @Test
+    void prefersPathsThroughCurrenciesWithMoreKnownRates() {
+        // Both CHF and USD connect GBP and JPY in two legs, but USD is better connected
+        var engine = CrossRateEngine.of(List.of(
+                rate("GBPCHF", "1.1", NOON),
+                rate("CHFJPY", "100", NOON),
+                rate("GBPUSD", "1.25", NOON),
+                rate("USDJPY", "150", NOON),
+                rate("USDCAD", "1.4", NOON)
+        ));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("GBPJPY")).orElseThrow().value()).isEqualByComparingTo("187.5");
+    }
+
+    @Test
+    void usesLatestRateOfDuplicatePairs() {
+        var engine = CrossRateEngine.of(List.of(
+                rate("EURUSD", "1.08", NOON.minusSeconds(3600)),
+                rate("EURUSD", "1.09", NOON)
+        ));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("EURUSD"))).contains(rate("EURUSD", "1.09", NOON));
+    }
+
+    @Test
+    void returnsEmptyForUnknownOrDisconnectedCurrencies() {
+        var engine = CrossRateEngine.of(List.of(rate("EURUSD", "1.0825", NOON), rate("AUDNZD", "1.1", NOON)));
+
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("EURNZD"))).isEmpty();
+        assertThat(engine.findExchangeRate(CurrencyPair.parse("EURCHF"))).isEmpty();
+    }
+
+    @Test
+    void exchangeRatesReturnsFullMatrix() {
+        var engine = CrossRateEngine.of(List.of(
+                rate("EURUSD", "1.0825", NOON),
+                rate("EURGBP", "0.83", NOON),
+                rate("EURCHF", "0.94", NOON)
+        ));
+
+        var rates = engine.exchangeRates().toList();
+
+        assertThat(engine.currencies()).extracting(Currency::getCurrencyCode).containsExactly("CHF", "EUR", "GBP", "USD");
+        assertThat(rates).hasSize(4 * 3);
+        assertThat(rates).allSatisfy(rate ->
+                assertThat(engine.findExchangeRate(rate.currencyPair())).contains(rate));
+    }
+}
@@ -0,0 +1,114 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CsvDirectoryForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final LocalDate MONDAY = LocalDate.parse("2025-12-29");
+    private static final LocalDate TUESDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate WEDNESDAY = LocalDate.parse("2025-12-31");
+
+    @TempDir
+    Path directory;
+
+    private CsvDirectoryForexDataProvider provider;
+
+    @BeforeEach
+    void writeFiles() throws IOException {
+        provider = CsvDirectoryForexDataProvider.of(directory);
+        write(WEDNESDAY, rate("USDJPY", "2025-12-31", "156.70"), rate("EURUSD", "2025-12-31", "1.1750"));
+        write(MONDAY, rate("EURUSD", "2025-12-29", "1.1772"), rate("USDJPY", "2025-12-29", "156.25"));
+        Files.writeString(directory.resolve("notes.csv"), "not a rate file");
+        Files.writeString(directory.resolve("2025-12-28.txt"), "not a rate file either");
+    }
+
+    private void write(LocalDate date, ExchangeRate... rates) throws IOException {
+        try (var writer = new ExchangeRateCsvWriter(Files.newOutputStream(provider.file(date)))) {
+            writer.writeAll(List.of(rates));
+        }
+    }
+
+    @Test
+    void ratesAreReadFromTheFileOfTheirDate() {
+        assertThat(provider.findExchangeRate(EURUSD, MONDAY)).contains(rate("EURUSD", "2025-12-29", "1.1772"));
+        assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).isEmpty();
+        assertThat(provider.exchangeRates(Set.of(USDJPY, CurrencyPair.parse("GBPUSD")), WEDNESDAY))
+                .containsExactly(rate("USDJPY", "2025-12-31", "156.70"));
+    }
+
+    @Test
+    void rangeQueriesReadFilesInDateOrder() {
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), WEDNESDAY, MONDAY))
+                .extracting(rate -> rate.currencyPair() + " " + rate.value().toPlainString())
+                .containsExactly("EURUSD 1.1772", "USDJPY 156.25", "USDJPY 156.70", "EURUSD 1.1750");
+        assertThat(provider.exchangeRates(Set.of(EURUSD), TUESDAY, LocalDate.MAX)).hasSize(1);
+    }
+
+    @Test
+    void changesToTheDirectoryAreVisible() throws IOException {
+        write(TUESDAY, rate("EURUSD", "2025-12-30", "1.1737"));
+        Files.delete(provider.file(MONDAY));
+
+        assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).isPresent();
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(TUESDAY);
+    }
+
+    @Test
+    void earliestDateIsTheEarliestFile() {
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(MONDAY);
+        assertThat(CsvDirectoryForexDataProvider.of(directory.resolve("missing")).getEarliestSupportedDate()).isEqualTo(LocalDate.MIN);
+    }
+
+    @Test
+    void malformedFilesAreReported() throws IOException {
+        Files.writeString(provider.file(TUESDAY), "EURUSD,1.1737\n");
+
+        assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> provider.findExchangeRate(EURUSD, TUESDAY))
+                .withMessageContaining("2025-12-30.csv");
+    }
+}
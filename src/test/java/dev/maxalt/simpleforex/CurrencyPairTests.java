@@ -37,12 +37,102 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Currency;
+import java.util.HashSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
 
 class CurrencyPairTests {
 
+    @Nested
+    class Canonical {
+
+        @ParameterizedTest
+        @CsvSource({"EUR,USD", "USD,JPY", "GBP,CHF", "XAU,XAG"})
+        void ofReturnsSameInstanceForSameCurrencies(Currency base, Currency quote) {
+            var pair = CurrencyPair.of(base, quote);
+
+            assertThat(CurrencyPair.of(base, quote)).isSameAs(pair);
+            assertThat(CurrencyPair.fromIsoCodes(base.getCurrencyCode(), quote.getCurrencyCode())).isSameAs(pair);
+        }
+
+        @ParameterizedTest
+        @CsvSource({"EUR,USD", "USD,JPY", "GBP,CHF", "XAU,XAG"})
+        void ofReturnsPairEqualToConstructedOne(Currency base, Currency quote) {
+            assertThat(CurrencyPair.of(base, quote)).isEqualTo(new CurrencyPair(base, quote));
+        }
+
+        @Test
+        void swappedReturnsCanonicalInstance() {
+            var pair = new CurrencyPair(Currency.getInstance("USD"), Currency.getInstance("CAD"));
+
+            assertThat(pair.swapped()).isSameAs(CurrencyPair.fromIsoCodes("CAD", "USD"));
+            assertThat(pair.swapped().swapped()).isSameAs(CurrencyPair.fromIsoCodes("USD", "CAD"));
+        }
+
+        @Test
+        void ofRejectsIdenticalCurrencies() {
+            var euro = Currency.getInstance("EUR");
+
+            assertThatIllegalArgumentException().isThrownBy(() -> CurrencyPair.of(euro, euro));
+        }
+
+        @Test
+        void ofRejectsNullCurrencies() {
+            var euro = Currency.getInstance("EUR");
+
+            assertThatNullPointerException().isThrownBy(() -> CurrencyPair.of(null, euro));
+            assertThatNullPointerException().isThrownBy(() -> CurrencyPair.of(euro, null));
+        }
+    }
+
+    @Nested
+    class PackedKey {
+
+        @ParameterizedTest
+        @CsvSource({"EUR,USD", "USD,JPY", "CHF,AED", "XAU,XAG"})
+        void fromPackedKeyReturnsCanonicalPairOfToPackedKey(Currency base, Currency quote) {
+            var pair = new CurrencyPair(base, quote);
+
+            assertThat(CurrencyPair.fromPackedKey(pair.toPackedKey())).isSameAs(CurrencyPair.of(base, quote));
+        }
+
+        @Test
+        void toPackedKeyIsNonNegativeAndDistinctForAllPairs() {
+            var currencies = Currency.getAvailableCurrencies();
+            var keys = new HashSet<Integer>();
+
+            for (var base : currencies) {
+                for (var quote : currencies) {
+                    if (!base.equals(quote)) {
+                        int key = CurrencyPair.of(base, quote).toPackedKey();
+
+                        assertThat(key).isNotNegative();
+                        assertThat(keys.add(key)).isTrue();
+                    }
+                }
+            }
+        }
+
+        @Test
+        void toPackedKeyIsStable() {
+            // EUR = (4 * 26 + 20) * 26 + 17 = 3241, USD = (20 * 26 + 18) * 26 + 3 = 13991
+            assertThat(CurrencyPair.fromIsoCodes("EUR", "USD").toPackedKey()).isEqualTo(3241 << 15 | 13991);
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1, Integer.MIN_VALUE, Integer.MAX_VALUE, 3241 << 15 | 3241})
+        void fromPackedKeyRejectsInvalidKeys(int key) {
+            assertThatIllegalArgumentException().isThrownBy(() -> CurrencyPair.fromPackedKey(key));
+        }
+    }
+
     @Nested
     class Involves {
 
@@ -102,7 +192,95 @@ class CurrencyPairTests {
             assertThat(pair.toString()).isEqualTo(expected);
         }
 
-        // TODO: unit tests for parse(String) static factory method (after it's added)
+        @Test
+        void toStringReturnsSameInstanceOnRepeatedCalls() {
+            var pair = CurrencyPair.fromIsoCodes("NZD", "SGD");
+
+            assertThat(pair.toString()).isSameAs(pair.toString());
+            assertThat(new CurrencyPair(pair.base(), pair.quote()).toString()).isSameAs(pair.toString());
+        }
+
+        @Test
+        void writeAsciiWritesStringFormAtOffset() {
+            var bytes = new byte[8];
+
+            int written = CurrencyPair.fromIsoCodes("AUD", "NZD").writeAscii(bytes, 1);
+
+            assertThat(written).isEqualTo(6);
+            assertThat(new String(bytes, 1, 6, StandardCharsets.US_ASCII)).isEqualTo("AUDNZD");
+            assertThat(bytes[0]).isZero();
+            assertThat(bytes[7]).isZero();
+        }
+
+        @Test
+        void writeAsciiWritesStringFormToBuffer() {
+            var buffer = ByteBuffer.allocate(8).put((byte) '#');
+
+            int written = CurrencyPair.fromIsoCodes("USD", "HKD").writeAscii(buffer);
+
+            assertThat(written).isEqualTo(6);
+            assertThat(buffer.position()).isEqualTo(7);
+            assertThat(new String(buffer.array(), 0, 7, StandardCharsets.US_ASCII)).isEqualTo("#USDHKD");
+        }
+
+        @Test
+        void writeAsciiRejectsInsufficientSpace() {
+            var pair = CurrencyPair.fromIsoCodes("USD", "HKD");
+            var buffer = ByteBuffer.allocate(5);
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> pair.writeAscii(new byte[6], 1));
+            assertThatExceptionOfType(BufferOverflowException.class).isThrownBy(() -> pair.writeAscii(buffer));
+            assertThat(buffer.position()).isZero();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"EURUSD", "USDJPY", "USDRUB", "CADAUD", "USDCNY", "XAUXAG"})
+        void parseIsSymmetricToToString(String text) {
+            var pair = CurrencyPair.parse(text);
+
+            assertThat(pair.toString()).isEqualTo(text);
+            assertThat(pair).isSameAs(CurrencyPair.fromIsoCodes(text.substring(0, 3), text.substring(3)));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "EURUS", "EURUSDX", "eurusd", "EUR/USD", "EUR USD", "EUREUR", "EURQQQ", "QQQEUR", "EURUSÐ"})
+        void parseRejectsInvalidText(String text) {
+            assertThatIllegalArgumentException().isThrownBy(() -> CurrencyPair.parse(text));
+        }
+
+        @Test
+        void parseReadsAsciiBytesAtOffset() {
+            var bytes = "1;GBPUSD;2".getBytes(StandardCharsets.US_ASCII);
+
+            assertThat(CurrencyPair.parse(bytes, 2)).isSameAs(CurrencyPair.fromIsoCodes("GBP", "USD"));
+            assertThat(CurrencyPair.parse(ByteBuffer.wrap(bytes), 2)).isSameAs(CurrencyPair.fromIsoCodes("GBP", "USD"));
+        }
+
+        @Test
+        void parseDoesNotModifyBufferState() {
+            var buffer = ByteBuffer.wrap("EURCHF".getBytes(StandardCharsets.US_ASCII)).position(3);
+
+            CurrencyPair.parse(buffer, 0);
+
+            assertThat(buffer.position()).isEqualTo(3);
+        }
+
+        @Test
+        void parseRejectsInvalidBytes() {
+            var bytes = "EUR/USD".getBytes(StandardCharsets.US_ASCII);
+
+            assertThatIllegalArgumentException().isThrownBy(() -> CurrencyPair.parse(bytes, 0));
+            assertThatIllegalArgumentException().isThrownBy(() -> CurrencyPair.parse(ByteBuffer.wrap(bytes), 0));
+        }
+
+        @ParameterizedTest
+        @ValueSource(ints = {-1, 1, 6})
+        void parseRejectsOutOfBoundsOffsets(int offset) {
+            var bytes = "EURUSD".getBytes(StandardCharsets.US_ASCII);
+
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> CurrencyPair.parse(bytes, offset));
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> CurrencyPair.parse(ByteBuffer.wrap(bytes), offset));
+        }
     }
 
     @Test
@@ -0,0 +1,201 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class EcbForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair EURGBP = CurrencyPair.parse("EURGBP");
+    private static final CurrencyPair EURJPY = CurrencyPair.parse("EURJPY");
+
+    @TempDir
+    Path directory;
+
+    private static EcbForexDataProvider sample() throws IOException {
+        try (var input = EcbForexDataProviderTests.class.getResourceAsStream("eurofxref-hist-sample.xml")) {
+            return EcbForexDataProvider.parse(input);
+        }
+    }
+
+    private static InputStream document(String days) {
+        return new ByteArrayInputStream("""
+                <gesmes:Envelope xmlns:gesmes="http://www.gesmes.org/xml/2002-08-01" xmlns="http://www.ecb.int/vocabulary/2002-08-01/eurofxref">
+                <Cube>%s</Cube>
+                </gesmes:Envelope>
+                """.formatted(days).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ratesAreParsedWithTheirPublicationTime() throws IOException {
+        var provider = sample();
+
+        assertThat(provider.size()).isEqualTo(17);
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.parse("2025-12-30")))
+                .contains(new ExchangeRate(EURUSD, new FixedRate(11737, 4), Instant.parse("2025-12-30T15:00:00Z")));
+        assertThat(provider.findExchangeRate(EURGBP, LocalDate.parse("2025-12-30")).orElseThrow().value().toPlainString()).isEqualTo("0.8718");
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.parse("2025-12-28"))).isEmpty();
+        assertThat(provider.findExchangeRate(CurrencyPair.parse("USDEUR"), LocalDate.parse("2025-12-30"))).isEmpty();
+        assertThat(provider.findExchangeRate(CurrencyPair.parse("EURCAD"), LocalDate.parse("2025-12-30"))).isEmpty();
+    }
+
+    @Test
+    void nearestRatesSkipDaysWithoutTheCurrency() throws IOException {
+        var provider = sample();
+        var eurDem = CurrencyPair.parse("EURDEM");
+
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.parse("2025-12-28")).orElseThrow().timestamp())
+                .isEqualTo(Instant.parse("1999-01-04T15:00:00Z"));
+        assertThat(provider.findLatestExchangeRateOnOrBefore(eurDem, LocalDate.MAX).orElseThrow().value()).isEqualByComparingTo("1.95583");
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.parse("1999-01-03"))).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, LocalDate.parse("1999-01-05")).orElseThrow().timestamp())
+                .isEqualTo(Instant.parse("2025-12-29T15:00:00Z"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(eurDem, LocalDate.parse("1999-01-05"))).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(CurrencyPair.parse("USDEUR"), LocalDate.MIN)).isEmpty();
+    }
+
+    @Test
+    void singleDateQueriesOnlyReturnRequestedPairs() throws IOException {
+        var provider = sample();
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD, EURJPY, CurrencyPair.parse("USDJPY")), LocalDate.parse("2025-12-31")))
+                .extracting(rate -> rate.currencyPair().toString())
+                .containsExactly("EURJPY", "EURUSD");
+        assertThat(provider.exchangeRates(Set.of(EURUSD), LocalDate.MAX)).isEmpty();
+    }
+
+    @Test
+    void rangeQueriesAreOrderedByDateThenPair() throws IOException {
+        var provider = sample();
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD, EURGBP), LocalDate.parse("2025-12-31"), LocalDate.parse("2025-12-30")))
+                .extracting(rate -> rate.currencyPair() + " " + rate.timestamp())
+                .containsExactly("EURGBP 2025-12-30T15:00:00Z", "EURUSD 2025-12-30T15:00:00Z",
+                        "EURGBP 2025-12-31T15:00:00Z", "EURUSD 2025-12-31T15:00:00Z");
+        assertThat(provider.exchangeRates(Set.of(CurrencyPair.parse("EURDEM")), LocalDate.MIN, LocalDate.MAX))
+                .extracting(rate -> rate.value().toPlainString())
+                .containsExactly("1.95583");
+    }
+
+    @Test
+    void metadataIsDerivedFromTheDocument() throws IOException {
+        var provider = sample();
+
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(LocalDate.parse("1999-01-04"));
+        assertThat(provider.supportedCurrencies().map(Currency::getCurrencyCode))
+                .containsExactly("CHF", "DEM", "EUR", "GBP", "JPY", "USD");
+    }
+
+    @Test
+    void filesAreParsed() throws IOException {
+        var file = directory.resolve("eurofxref-daily.xml");
+        try (var input = document("<Cube time=\"2026-01-02\"><Cube currency=\"USD\" rate=\"1.1718\"/></Cube>")) {
+            Files.copy(input, file);
+        }
+
+        var provider = EcbForexDataProvider.parse(file);
+
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.parse("2026-01-02"))).isPresent();
+    }
+
+    @Test
+    void emptyDocumentsHaveNoRates() throws IOException {
+        var provider = EcbForexDataProvider.parse(document(""));
+
+        assertThat(provider.size()).isZero();
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(LocalDate.MIN);
+        assertThat(provider.supportedCurrencies().map(Currency::getCurrencyCode)).containsExactly("EUR");
+        assertThat(provider.exchangeRates(Set.of(EURUSD), LocalDate.MIN, LocalDate.MAX)).isEmpty();
+    }
+
+    @Test
+    void ratesOfUnknownCurrenciesAreSkipped() throws IOException {
+        var provider = EcbForexDataProvider.parse(document("""
+                <Cube time="2026-01-02"><Cube currency="QQQ" rate="2.5"/><Cube currency="USD" rate="1.1718"/></Cube>
+                """));
+
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    @Test
+    void longHistoriesAreParsedInOnePass() throws IOException {
+        var start = LocalDate.parse("1999-01-04");
+        var codes = List.of("USD", "JPY", "GBP", "CHF", "SEK", "NOK", "DKK", "PLN", "CZK", "HUF");
+        var days = new StringBuilder();
+        for (int day = 8999; day >= 0; day--) {
+            days.append("<Cube time=\"").append(start.plusDays(day)).append("\">");
+            for (int i = 0; i < codes.size(); i++) {
+                days.append("<Cube currency=\"%s\" rate=\"%d.%04d\"/>".formatted(codes.get(i), i + 1, day));
+            }
+            days.append("</Cube>");
+        }
+
+        var provider = EcbForexDataProvider.parse(document(days.toString()));
+
+        assertThat(provider.size()).isEqualTo(90_000);
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(start);
+        assertThat(provider.findExchangeRate(CurrencyPair.parse("EURHUF"), start.plusDays(8999)).orElseThrow().value().toPlainString())
+                .isEqualTo("10.8999");
+        assertThat(provider.exchangeRates(Set.of(EURUSD), start, start.plusDays(8999))).hasSize(9000);
+    }
+
+    @Test
+    void malformedDocumentsAreRejected() {
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube time=\"2026-01-02\">")));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube time=\"2026-13-02\"/>")));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube currency=\"USD\" rate=\"1.1\"/>")));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube time=\"2026-01-02\"><Cube currency=\"USD\" rate=\"n/a\"/></Cube>")));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube time=\"2026-01-02\"><Cube currency=\"USD\" rate=\"-1\"/></Cube>")));
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> EcbForexDataProvider.parse(document("""
+                <Cube time="2026-01-02"><Cube currency="USD" rate="1.1"/><Cube currency="USD" rate="1.2"/></Cube>
+                """)));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> EcbForexDataProvider.parse(document("<Cube time=\"2026-01-02\"/><Cube time=\"2026-01-02\"/>")));
+    }
+}
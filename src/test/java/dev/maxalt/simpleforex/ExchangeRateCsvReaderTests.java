@@ -0,0 +1,146 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ExchangeRateCsvReaderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+
+    private static ExchangeRateCsvReader reader(String csv) {
+        return new ExchangeRateCsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    void linesAreParsedIntoRates() throws IOException {
+        try (var reader = reader("pair,value,timestamp\nEURUSD,1.0825,2025-12-30T16:00:00Z\r\n\nUSDJPY,156,2025-12-30T16:00:00.5Z")) {
+            assertThat(reader.read()).isEqualTo(new ExchangeRate(EURUSD, new BigDecimal("1.0825"), Instant.parse("2025-12-30T16:00:00Z")));
+            var rate = reader.read();
+            assertThat(rate.value().toPlainString()).isEqualTo("156");
+            assertThat(rate.timestamp()).isEqualTo(Instant.parse("2025-12-30T16:00:00.500Z"));
+            assertThat(reader.read()).isNull();
+            assertThat(reader.read()).isNull();
+        }
+    }
+
+    @Test
+    void valuesKeepTheirScale() throws IOException {
+        try (var reader = reader("EURUSD,1.0800,2025-12-30T16:00:00Z\nEURUSD,.5,2025-12-30T16:00:00Z\nEURUSD,7.,2025-12-30T16:00:00Z\n")) {
+            assertThat(reader.read().value()).hasToString("1.0800");
+            assertThat(reader.read().value()).hasToString("0.5");
+            assertThat(reader.read().value()).hasToString("7");
+        }
+    }
+
+    @Test
+    void longValuesAndTimestampsTakeTheSlowPath() throws IOException {
+        try (var reader = reader("EURUSD,12345678901234.567890123,+10000-01-01T00:00:00Z\nEURUSD,1.5,2025-12-30T17:00:00+01:00\n")) {
+            var rate = reader.read();
+            assertThat(rate.value()).isEqualTo(new BigDecimal("12345678901234.567890123"));
+            assertThat(rate.timestamp()).isEqualTo(Instant.parse("+10000-01-01T00:00:00Z"));
+            assertThat(reader.read().timestamp()).isEqualTo(Instant.parse("2025-12-30T16:00:00Z"));
+        }
+    }
+
+    @Test
+    void linesSpanningBufferRefillsAreParsed() throws IOException {
+        var line = "EURUSD,1.0825,2025-12-30T16:00:00.123456789Z\n";
+        // Splits every read into a few bytes, so lines are refilled mid-field
+        var input = new InputStream() {
+            private final byte[] bytes = line.repeat(5000).getBytes(StandardCharsets.US_ASCII);
+            private int position;
+
+            @Override
+            public int read() {
+                return position < bytes.length ? bytes[position++] : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position == bytes.length) {
+                    return -1;
+                }
+                int count = Math.min(Math.min(len, 7), bytes.length - position);
+                System.arraycopy(bytes, position, b, off, count);
+                position += count;
+                return count;
+            }
+        };
+
+        try (var reader = new ExchangeRateCsvReader(input)) {
+            assertThat(reader.exchangeRates())
+                    .hasSize(5000)
+                    .allMatch(rate -> rate.timestamp().equals(Instant.parse("2025-12-30T16:00:00.123456789Z")));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "EURUSD;1.0825;2025-12-30T16:00:00Z",
+            "EURXXY,1.0825,2025-12-30T16:00:00Z",
+            "EURUSD,1.0825",
+            "EURUSD,,2025-12-30T16:00:00Z",
+            "EURUSD,1.08.25,2025-12-30T16:00:00Z",
+            "EURUSD,-1,2025-12-30T16:00:00Z",
+            "EURUSD,0,2025-12-30T16:00:00Z",
+            "EURUSD,1.0825,2025-02-30T16:00:00Z",
+            "EURUSD,1.0825,2025-12-30T25:00:00Z",
+            "EURUSD,1.0825,2025-12-30T16:00:00.1234567890Z",
+            "EURUSD,1.0825,yesterday",
+    })
+    void malformedLinesAreRejected(String line) {
+        var reader = reader("EURUSD,1,2025-12-30T16:00:00Z\n" + line);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> {
+            while (reader.read() != null) {
+                // Reads until the malformed line
+            }
+        }).withMessageContaining("line 2");
+    }
+
+    @Test
+    void streamsWrapErrors() {
+        assertThatExceptionOfType(UncheckedIOException.class).isThrownBy(() -> reader("EURUSD,x,2025-12-30T16:00:00Z").exchangeRates().toList());
+    }
+}
@@ -0,0 +1,96 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExchangeRateCsvWriterTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+
+    private static String write(List<ExchangeRate> rates) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var writer = new ExchangeRateCsvWriter(output)) {
+            writer.writeAll(rates);
+        }
+        return output.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static ExchangeRate rate(String value, String timestamp) {
+        return new ExchangeRate(EURUSD, new BigDecimal(value), Instant.parse(timestamp));
+    }
+
+    @Test
+    void ratesAreWrittenAfterAHeader() throws IOException {
+        assertThat(write(List.of(rate("1.0825", "2025-12-30T16:00:00Z"), rate("156", "2025-12-30T16:00:00.5Z"))))
+                .isEqualTo("pair,value,timestamp\nEURUSD,1.0825,2025-12-30T16:00:00Z\nEURUSD,156,2025-12-30T16:00:00.500Z\n");
+    }
+
+    @Test
+    void valuesAndTimestampsAreFormattedLikeTheirToString() throws IOException {
+        var rates = List.of(
+                rate("0.000123", "1999-01-04T00:00:00.000001Z"),
+                rate("1.0800", "2025-12-30T23:59:59.123456789Z"),
+                rate("123456789012345678", "0000-01-01T00:00:00Z"),
+                rate("0.123456789012345678", "9999-12-31T23:59:59.999Z"),
+                rate("1E+3", "+10000-01-01T00:00:00Z"),
+                rate("12345678901234.567890123", "1969-12-31T23:59:59.010Z"));
+
+        var lines = write(rates).lines().skip(1).toList();
+
+        assertThat(lines).containsExactlyElementsOf(rates.stream()
+                .map(rate -> rate.currencyPair() + "," + rate.value().toPlainString() + "," + rate.timestamp())
+                .toList());
+    }
+
+    @Test
+    void writtenRatesAreReadBack() throws IOException {
+        var rates = IntStream.range(0, 10_000)
+                .mapToObj(i -> rate(BigDecimal.valueOf(10_000 + i, 4).toPlainString(), Instant.ofEpochSecond(1_700_000_000L + i * 3_607L, i).toString()))
+                .toList();
+
+        var csv = write(rates);
+
+        try (var reader = new ExchangeRateCsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)))) {
+            assertThat(reader.exchangeRates()).containsExactlyElementsOf(rates);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ExchangeRateSeriesCodecTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final long DAY = 86_400_000;
+
+    @TempDir
+    Path directory;
+
+    // A daily random walk of a few pips per day, like a history of reference rates
+    private static ExchangeRateSeries dailySeries(CurrencyPair pair, int scale, long startValue, int days) {
+        var random = new SplittableRandom(days);
+        var series = new ExchangeRateSeries(pair, scale);
+        long value = startValue;
+        for (int day = 0; day < days; day++) {
+            value += random.nextLong(-50, 51);
+            series.append(Instant.parse("2016-01-01T16:00:00Z").toEpochMilli() + day * DAY, value);
+        }
+        return series;
+    }
+
+    private static byte[] encode(Collection<ExchangeRateSeries> series) throws IOException {
+        var output = new ByteArrayOutputStream();
+        ExchangeRateSeriesCodec.write(series, output);
+        return output.toByteArray();
+    }
+
+    private static void assertSameSeries(List<ExchangeRateSeries> actual, List<ExchangeRateSeries> expected) {
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).pair()).isEqualTo(expected.get(i).pair());
+            assertThat(actual.get(i).scale()).isEqualTo(expected.get(i).scale());
+            assertThat(Arrays.equals(actual.get(i).epochMillis(), expected.get(i).epochMillis())).isTrue();
+            assertThat(Arrays.equals(actual.get(i).unscaledValues(), expected.get(i).unscaledValues())).isTrue();
+        }
+    }
+
+    @Test
+    void seriesRoundTrip() throws IOException {
+        var irregular = new ExchangeRateSeries(USDJPY, 3);
+        irregular.append(Long.MIN_VALUE, Long.MAX_VALUE);
+        irregular.append(-1, 1);
+        irregular.append(0, Long.MAX_VALUE);
+        irregular.append(Long.MAX_VALUE, 156_250);
+        var daily = dailySeries(EURUSD, 5, 117_500, 1000);
+        var series = List.of(daily, new ExchangeRateSeries(EURUSD, 2), irregular,
+                daily.between(Instant.ofEpochMilli(daily.epochMilli(10)), Instant.ofEpochMilli(daily.epochMilli(20))));
+
+        assertSameSeries(ExchangeRateSeriesCodec.read(new ByteArrayInputStream(encode(series))), series);
+    }
+
+    @Test
+    void dailyHistoriesAreAtLeastTenTimesSmallerThanCsv() throws IOException {
+        var series = List.of(dailySeries(EURUSD, 5, 117_500, 3650), dailySeries(USDJPY, 3, 156_250, 3650));
+
+        var csv = new ByteArrayOutputStream();
+        try (var writer = new ExchangeRateCsvWriter(csv)) {
+            for (var pairSeries : series) {
+                writer.writeAll(pairSeries.exchangeRates().toList());
+            }
+        }
+        var encoded = encode(series);
+
+        assertThat(encoded.length).isLessThanOrEqualTo(2 * 2 * 3650 + 64);
+        assertThat(encoded.length * 10).isLessThan(csv.size());
+    }
+
+    @Test
+    void filesRoundTrip() throws IOException {
+        var file = directory.resolve("history.sfxs");
+        var series = List.of(dailySeries(EURUSD, 5, 117_500, 100_000));
+
+        ExchangeRateSeriesCodec.write(series, file);
+        ExchangeRateSeriesCodec.write(series, file);
+
+        assertSameSeries(ExchangeRateSeriesCodec.read(file), series);
+    }
+
+    @Test
+    void ratesAreDecodedLazily() throws IOException {
+        var series = List.of(dailySeries(EURUSD, 5, 117_500, 30), new ExchangeRateSeries(USDJPY, 3), dailySeries(USDJPY, 3, 156_250, 20));
+        var closed = new AtomicBoolean();
+        var input = new ByteArrayInputStream(encode(series)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        try (var rates = ExchangeRateSeriesCodec.exchangeRates(input)) {
+            assertThat(rates).containsExactlyElementsOf(series.stream().flatMap(ExchangeRateSeries::exchangeRates).toList());
+        }
+        assertThat(closed.get()).isTrue();
+        assertThat(ExchangeRateSeriesCodec.exchangeRates(new ByteArrayInputStream(encode(List.of())))).isEmpty();
+    }
+
+    @Test
+    void invalidEncodingsAreRejected() throws IOException {
+        var valid = encode(List.of(dailySeries(EURUSD, 5, 117_500, 10)));
+        var badMagic = valid.clone();
+        badMagic[0] = 'X';
+        var badVersion = valid.clone();
+        badVersion[4] = 2;
+        var truncated = Arrays.copyOf(valid, valid.length - 1);
+        // Overwrites the three-byte varint of the only value with a zero
+        var zeroValue = encode(List.of(dailySeries(EURUSD, 5, 117_500, 1)));
+        zeroValue[zeroValue.length - 3] = (byte) 0x80;
+        zeroValue[zeroValue.length - 2] = (byte) 0x80;
+        zeroValue[zeroValue.length - 1] = 0;
+
+        for (var invalid : List.of(badMagic, badVersion, truncated, zeroValue)) {
+            assertThatExceptionOfType(IOException.class).isThrownBy(() -> ExchangeRateSeriesCodec.read(new ByteArrayInputStream(invalid)));
+            assertThatExceptionOfType(UncheckedIOException.class)
+                    .isThrownBy(() -> ExchangeRateSeriesCodec.exchangeRates(new ByteArrayInputStream(invalid)).toList());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.stream.LongStream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ExchangeRateSeriesTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+
+    private final ExchangeRateSeries series = new ExchangeRateSeries(EURUSD, 4);
+
+    @Test
+    void appendedRatesAreReadBack() {
+        series.append(rate("EURUSD", "2025-12-29", "1.0820"));
+        series.append(rate("EURUSD", "2025-12-30", "1.0825"));
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.unscaledValue(0)).isEqualTo(10820);
+        assertThat(series.epochMilli(1)).isEqualTo(Instant.parse("2025-12-30T16:00:00Z").toEpochMilli());
+        assertThat(series.exchangeRate(1)).isEqualTo(rate("EURUSD", "2025-12-30", "1.0825"));
+        assertThat(series.exchangeRate(0).value().toPlainString()).isEqualTo("1.082");
+        assertThat(series.latest()).contains(rate("EURUSD", "2025-12-30", "1.0825"));
+        assertThat(series.exchangeRates()).hasSize(2);
+    }
+
+    @Test
+    void seriesGrowsBeyondItsInitialCapacity() {
+        LongStream.range(1, 1001).forEach(i -> series.append(i * 1000, i));
+
+        assertThat(series.size()).isEqualTo(1000);
+        assertThat(series.epochMillis()).hasSize(1000);
+        assertThat(series.unscaledValue(999)).isEqualTo(1000);
+    }
+
+    @Test
+    void appendRejectsOutOfOrderTimestamps() {
+        series.append(2000, 1);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> series.append(2000, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> series.append(1000, 1));
+        assertThat(series.size()).isEqualTo(1);
+    }
+
+    @Test
+    void appendRejectsInvalidValues() {
+        assertThatIllegalArgumentException().isThrownBy(() -> series.append(1000, 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> series.append(rate("GBPUSD", "2025-12-30", "1.345")));
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> series.append(rate("EURUSD", "2025-12-30", "1.08251")));
+    }
+
+    @Test
+    void roundingSeriesRoundAppendedValues() {
+        var rounding = new ExchangeRateSeries(EURUSD, 2, RoundingMode.HALF_UP);
+        rounding.append(rate("EURUSD", "2025-12-30", "1.085"));
+
+        assertThat(rounding.unscaledValue(0)).isEqualTo(109);
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rounding.append(rate("EURUSD", "2025-12-31", "0.001")));
+    }
+
+    @Test
+    void indexAtOrBeforeFindsTheLastPointUpToATime() {
+        series.append(1000, 1);
+        series.append(2000, 2);
+
+        assertThat(series.indexAtOrBefore(999)).isEqualTo(-1);
+        assertThat(series.indexAtOrBefore(1000)).isEqualTo(0);
+        assertThat(series.indexAtOrBefore(1999)).isEqualTo(0);
+        assertThat(series.indexAtOrBefore(Long.MAX_VALUE)).isEqualTo(1);
+    }
+
+    @Test
+    void betweenReturnsAReadOnlyViewOfATimeRange() {
+        LongStream.rangeClosed(1, 5).forEach(i -> series.append(i * 1000, i));
+
+        var view = series.between(Instant.ofEpochMilli(2000), Instant.ofEpochMilli(4000));
+        series.append(6000, 6);
+
+        assertThat(view.size()).isEqualTo(2);
+        assertThat(view.epochMillis()).containsExactly(2000, 3000);
+        assertThat(view.unscaledValues()).containsExactly(2, 3);
+        assertThat(view.indexAtOrBefore(5000)).isEqualTo(1);
+        assertThat(view.between(Instant.ofEpochMilli(3000), Instant.MAX).epochMillis()).containsExactly(3000);
+        assertThat(series.between(Instant.MIN, Instant.MAX).size()).isEqualTo(6);
+        assertThat(series.between(Instant.ofEpochMilli(4000), Instant.ofEpochMilli(2000)).isEmpty()).isTrue();
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> view.append(7000, 7));
+    }
+
+    @Test
+    void constructorRejectsInvalidScales() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ExchangeRateSeries(EURUSD, -1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ExchangeRateSeries(EURUSD, FixedRate.MAX_SCALE + 1));
+    }
+}
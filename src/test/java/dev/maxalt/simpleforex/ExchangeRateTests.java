@@ -30,9 +30,19 @@
 package dev.maxalt.simpleforex;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ExchangeRateTests {
 
@@ -47,4 +57,70 @@ class ExchangeRateTests {
                 .withPrefabValues(BigDecimal.class, BigDecimal.ONE, BigDecimal.TWO)
                 .verify();
     }
+
+    @Nested
+    class Inverse {
+
+        @Test
+        void inverseSwapsPairAndKeepsTimestamp() {
+            var pair = CurrencyPair.fromIsoCodes("EUR", "USD");
+            var timestamp = Instant.parse("2025-12-31T16:00:00Z");
+
+            var inverse = new ExchangeRate(pair, new BigDecimal("1.25"), timestamp).inverse();
+
+            assertThat(inverse).isEqualTo(new ExchangeRate(pair.swapped(), new BigDecimal("0.8"), timestamp));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1.0825", "157.31", "0.000061", "3", "0.99999999", "1.0000000001", "123456789012345678901234567890.1", "2", "0.0008"})
+        void inverseMatchesBigDecimalDivision(BigDecimal value) {
+            var rate = new ExchangeRate(CurrencyPair.fromIsoCodes("USD", "JPY"), value, Instant.EPOCH);
+
+            for (var mathContext : new MathContext[]{ExchangeRate.DEFAULT_MATH_CONTEXT, MathContext.DECIMAL32, MathContext.DECIMAL128,
+                    new MathContext(3, RoundingMode.UP), new MathContext(18, RoundingMode.FLOOR), new MathContext(5, RoundingMode.HALF_DOWN)}) {
+                var expected = BigDecimal.ONE.divide(value, mathContext);
+
+                assertThat(rate.inverse(mathContext).value()).isEqualByComparingTo(expected);
+            }
+        }
+
+        @Test
+        void inverseRejectsNecessaryRoundingWithUnnecessaryMode() {
+            var rate = new ExchangeRate(CurrencyPair.fromIsoCodes("EUR", "USD"), new BigDecimal("3"), Instant.EPOCH);
+
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rate.inverse(new MathContext(10, RoundingMode.UNNECESSARY)));
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rate.inverse(MathContext.UNLIMITED));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1.5,1.50", "1.08250,1.0825", "100,1E+2", "0.000061,0.00006100", "123456789.123456789123456789,123456789.1234567891234567890"})
+    void equalsAndHashCodeIgnoreScale(BigDecimal value, BigDecimal sameValueWithOtherScale) {
+        var pair = CurrencyPair.fromIsoCodes("EUR", "USD");
+        var rate = new ExchangeRate(pair, value, Instant.EPOCH);
+        var otherRate = new ExchangeRate(pair, sameValueWithOtherScale, Instant.EPOCH);
+
+        assertThat(rate).isEqualTo(otherRate);
+        assertThat(rate).hasSameHashCodeAs(otherRate);
+    }
+
+    @Test
+    void fixedValueConversionIsLossless() {
+        var pair = CurrencyPair.fromIsoCodes("EUR", "USD");
+        var timestamp = Instant.parse("2025-12-31T16:00:00Z");
+        var rate = new ExchangeRate(pair, new BigDecimal("1.08250"), timestamp);
+
+        var fixedValue = rate.fixedValue();
+
+        assertThat(fixedValue).isEqualTo(new FixedRate(108250, 5));
+        assertThat(new ExchangeRate(pair, fixedValue, timestamp).value()).isEqualTo(rate.value());
+    }
+
+    @Test
+    void fixedValueRejectsTooPreciseValues() {
+        var pair = CurrencyPair.fromIsoCodes("EUR", "USD");
+        var rate = new ExchangeRate(pair, new BigDecimal("1.0825000000000000001"), Instant.EPOCH);
+
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(rate::fixedValue);
+    }
 }
@@ -0,0 +1,228 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FixedRateTests {
+
+    @Nested
+    class Conversions {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1", "1.0825", "1.08250", "157.3", "0.000061", "9223372036854775807", "0.000000000000000001"})
+        void ofIsLosslessAndKeepsScale(BigDecimal value) {
+            var rate = FixedRate.of(value);
+
+            assertThat(rate.toBigDecimal()).isEqualTo(value);
+            assertThat(rate.scale()).isEqualTo(value.scale());
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1E+3,1000", "1.50000000000000000000,1.5", "1200000000000000000000E-3,1200000000000000000"})
+        void ofStripsTrailingZerosOnlyWhenNecessary(BigDecimal value, String expected) {
+            assertThat(FixedRate.of(value).toString()).isEqualTo(expected);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1.0000000000000000001", "9223372036854775808", "123456789012345678901234567890"})
+        void ofRejectsValuesThatDoNotFit(BigDecimal value) {
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> FixedRate.of(value));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"0", "0.00", "-1.5"})
+        void ofRejectsNonPositiveValues(BigDecimal value) {
+            assertThatIllegalArgumentException().isThrownBy(() -> FixedRate.of(value));
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1.500,1.5", "1.0825,1.0825", "100,100", "100.00,100", "0.000000000000000010,0.00000000000000001"})
+        void stripTrailingZerosKeepsTheScaleNonNegative(BigDecimal value, String expected) {
+            assertThat(FixedRate.of(value).stripTrailingZeros().toString()).isEqualTo(expected);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1", "1.0825", "0.1", "0.000061", "123456.789", "9007199254740993", "0.123456789012345678"})
+        void toDoubleReturnsClosestDouble(BigDecimal value) {
+            assertThat(FixedRate.of(value).toDouble()).isEqualTo(value.doubleValue());
+        }
+    }
+
+    @Test
+    void constructorRejectsInvalidComponents() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new FixedRate(0, 2));
+        assertThatIllegalArgumentException().isThrownBy(() -> new FixedRate(-1, 2));
+        assertThatIllegalArgumentException().isThrownBy(() -> new FixedRate(1, -1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new FixedRate(1, FixedRate.MAX_SCALE + 1));
+    }
+
+    @Nested
+    class Arithmetic {
+
+        @ParameterizedTest
+        @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+        void withScaleRoundsLikeBigDecimal(RoundingMode mode) {
+            for (var value : new String[]{"1.08245", "1.08255", "1.08250001", "0.99995", "157.123456789"}) {
+                var expected = new BigDecimal(value).setScale(4, mode);
+
+                assertThat(FixedRate.of(new BigDecimal(value)).withScale(4, mode).toBigDecimal()).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void withScaleRejectsNecessaryRoundingWithUnnecessaryMode() {
+            var rate = FixedRate.of(new BigDecimal("1.08245"));
+
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rate.withScale(4, RoundingMode.UNNECESSARY));
+        }
+
+        @Test
+        void withScaleRejectsRoundingToZero() {
+            var rate = FixedRate.of(new BigDecimal("0.00004"));
+
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rate.withScale(4, RoundingMode.HALF_EVEN));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "1.0825,157.31,6",
+                "0.000061,16384.5,10",
+                "1.2345678901234567,1.2345678901234567,18",
+                "3037000499,3037000499,0",
+                "123456789.123456789,987654321.987654321,1"
+        })
+        void multiplyMatchesBigDecimal(BigDecimal left, BigDecimal right, int scale) {
+            var expected = left.multiply(right).setScale(scale, ExchangeRate.DEFAULT_ROUNDING_MODE);
+
+            var product = FixedRate.of(left).multiply(FixedRate.of(right), scale, ExchangeRate.DEFAULT_ROUNDING_MODE);
+
+            assertThat(product.toBigDecimal()).isEqualTo(expected);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "11.4875,11.7215,6",
+                "1,3,18",
+                "0.000061,16384.5,18",
+                "987654321.987654321,0.000000001,0"
+        })
+        void divideMatchesBigDecimal(BigDecimal dividend, BigDecimal divisor, int scale) {
+            var expected = dividend.divide(divisor, scale, ExchangeRate.DEFAULT_ROUNDING_MODE);
+
+            var quotient = FixedRate.of(dividend).divide(FixedRate.of(divisor), scale, ExchangeRate.DEFAULT_ROUNDING_MODE);
+
+            assertThat(quotient.toBigDecimal()).isEqualTo(expected);
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1.0825,8", "157.31,18", "0.000061,4", "3,18", "2,1", "99999999999999999,18", "0.000000000000000003,0"})
+        void reciprocalMatchesBigDecimal(BigDecimal value, int scale) {
+            for (var mode : new RoundingMode[]{RoundingMode.HALF_EVEN, RoundingMode.UP, RoundingMode.DOWN}) {
+                var expected = BigDecimal.ONE.divide(value, scale, mode);
+
+                assertThat(FixedRate.of(value).reciprocal(scale, mode).toBigDecimal()).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        void multiplyRejectsOverflow() {
+            var rate = FixedRate.of(new BigDecimal("9223372036854775807"));
+
+            assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> rate.multiply(rate, 0, RoundingMode.DOWN));
+        }
+    }
+
+    @Nested
+    class Equality {
+
+        @Test
+        void equalsAndHashCodeContract() {
+            // Rates must be positive. EqualsVerifier doesn't create equal rates with different scales, so the cases below cover those
+            EqualsVerifier.forClass(FixedRate.class)
+                    .withPrefabValuesForField("unscaledValue", 1L, 2L)
+                    .withPrefabValuesForField("scale", 1, 2)
+                    .verify();
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1500,3,15,1,15,1", "150,1,1500,2,15,0", "1000000000000000000,18,1,0,1,0", "120,0,1200,1,12,-1", "7,18,7,18,7,18"})
+        void equalRatesHaveTheSameStrippedComponents(long leftUnscaledValue, int leftScale, long rightUnscaledValue, int rightScale,
+                                                     long strippedUnscaledValue, int strippedScale) {
+            var left = new FixedRate(leftUnscaledValue, leftScale);
+            var right = new FixedRate(rightUnscaledValue, rightScale);
+
+            for (var rate : new FixedRate[]{left, right}) {
+                assertThat(FixedPoint.strippedUnscaledValue(rate.unscaledValue())).isEqualTo(strippedUnscaledValue);
+                assertThat(FixedPoint.strippedScale(rate.unscaledValue(), rate.scale())).isEqualTo(strippedScale);
+            }
+            assertThat(left).isEqualTo(right);
+            assertThat(left).hasSameHashCodeAs(right);
+        }
+
+        @ParameterizedTest
+        @CsvSource({"15,1,15,2", "15,1,150,1", "10,0,1,0"})
+        void ratesWithDifferentStrippedComponentsAreNotEqual(long leftUnscaledValue, int leftScale, long rightUnscaledValue, int rightScale) {
+            assertThat(new FixedRate(leftUnscaledValue, leftScale)).isNotEqualTo(new FixedRate(rightUnscaledValue, rightScale));
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1.5,1.50", "100,100.000", "0.000061,0.0000610"})
+        void equalsAndHashCodeIgnoreScale(BigDecimal left, BigDecimal right) {
+            var leftRate = FixedRate.of(left);
+            var rightRate = FixedRate.of(right);
+
+            assertThat(leftRate).isEqualTo(rightRate);
+            assertThat(leftRate).hasSameHashCodeAs(rightRate);
+            assertThat(leftRate).isEqualByComparingTo(rightRate);
+        }
+
+        @ParameterizedTest
+        @CsvSource({"1.5,1.51", "10.0,100", "0.000000000000000001,9223372036854775807"})
+        void compareToIsNumeric(BigDecimal smaller, BigDecimal greater) {
+            assertThat(FixedRate.of(smaller)).isNotEqualTo(FixedRate.of(greater));
+            assertThat(FixedRate.of(smaller).compareTo(FixedRate.of(greater))).isEqualTo(smaller.compareTo(greater));
+            assertThat(FixedRate.of(greater).compareTo(FixedRate.of(smaller))).isEqualTo(greater.compareTo(smaller));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class ForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final LocalDate CHRISTMAS_EVE = LocalDate.parse("2025-12-24");
+    private static final LocalDate SUNDAY = LocalDate.parse("2025-12-28");
+
+    private final TestForexDataProvider provider = new TestForexDataProvider()
+            .add("EURUSD", "2025-11-02", "1.1520")
+            .add("EURUSD", "2025-12-23", "1.1790")
+            .add("EURUSD", "2025-12-24", "1.1785")
+            .add("EURUSD", "2026-01-02", "1.1718");
+
+    @Test
+    void nearestRateOnTheDateItselfTakesOneLookup() {
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, CHRISTMAS_EVE)).contains(rate("EURUSD", "2025-12-24", "1.1785"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, CHRISTMAS_EVE)).contains(rate("EURUSD", "2025-12-24", "1.1785"));
+
+        assertThat(provider.findCalls).hasValue(2);
+        assertThat(provider.rangeCalls).hasValue(0);
+    }
+
+    @Test
+    void ratesAcrossHolidaysTakeOneRangeQuery() {
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, SUNDAY)).contains(rate("EURUSD", "2025-12-24", "1.1785"));
+        assertThat(provider.rangeCalls).hasValue(1);
+
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, SUNDAY)).contains(rate("EURUSD", "2026-01-02", "1.1718"));
+        assertThat(provider.rangeCalls).hasValue(2);
+    }
+
+    @Test
+    void rangesGrowUntilARateIsFound() {
+        // 7 + 14 + 28 days reach back to November 3rd, so the rate of November 2nd takes a fourth range
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.parse("2025-12-22")))
+                .contains(rate("EURUSD", "2025-11-02", "1.1520"));
+        assertThat(provider.rangeCalls).hasValue(4);
+    }
+
+    @Test
+    void searchStopsAfterAYear() {
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.parse("2025-11-01"))).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(CurrencyPair.parse("USDJPY"), SUNDAY)).isEmpty();
+        assertThat(provider.requestedPairs).allSatisfy(pairs -> assertThat(pairs).hasSize(1));
+        assertThat(provider.rangeCalls).hasValue(12);
+    }
+
+    @Test
+    void searchStopsAtTheEarliestSupportedDate() {
+        var provider = new TestForexDataProvider() {
+            @Override
+            public LocalDate getEarliestSupportedDate() {
+                return LocalDate.parse("2025-12-27");
+            }
+        };
+
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, SUNDAY)).isEmpty();
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.parse("2025-12-26"))).isEmpty();
+        assertThat(provider.rangeCalls).hasValue(1);
+    }
+
+    @Test
+    void nullArgumentsAreRejected() {
+        assertThatNullPointerException().isThrownBy(() -> provider.findLatestExchangeRateOnOrBefore(null, SUNDAY));
+        assertThatNullPointerException().isThrownBy(() -> provider.findEarliestExchangeRateOnOrAfter(EURUSD, null));
+    }
+
+    @Test
+    void decoratorsLeaveNearestRateSearchesToTheDelegate() {
+        // Both rates are more than a year away, out of reach of the default search
+        var delegate = new RangeCountingProvider(new InMemoryForexDataProvider()
+                .put(LocalDate.parse("2024-06-28"), rate("EURUSD", "2024-06-28", "1.0705"))
+                .put(LocalDate.parse("2027-03-01"), rate("EURUSD", "2027-03-01", "1.1650")));
+
+        try (var batching = new BatchingForexDataProvider(delegate)) {
+            for (var decorator : List.of(new CachingForexDataProvider(delegate), new SingleFlightForexDataProvider(delegate),
+                    batching, new ParallelRangeForexDataProvider(delegate))) {
+                assertThat(decorator.findLatestExchangeRateOnOrBefore(EURUSD, SUNDAY))
+                        .as(decorator.getClass().getSimpleName())
+                        .contains(rate("EURUSD", "2024-06-28", "1.0705"));
+                assertThat(decorator.findEarliestExchangeRateOnOrAfter(EURUSD, SUNDAY))
+                        .as(decorator.getClass().getSimpleName())
+                        .contains(rate("EURUSD", "2027-03-01", "1.1650"));
+            }
+        }
+        assertThat(delegate.rangeCalls).hasValue(0);
+    }
+
+    /// Counts the date range queries of an indexed provider, and passes every call to it.
+    private record RangeCountingProvider(InMemoryForexDataProvider delegate, AtomicInteger rangeCalls) implements ForexDataProvider {
+
+        RangeCountingProvider(InMemoryForexDataProvider delegate) {
+            this(delegate, new AtomicInteger());
+        }
+
+        @Override
+        public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+            return delegate.exchangeRates(pairs, date);
+        }
+
+        @Override
+        public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+            rangeCalls.incrementAndGet();
+            return delegate.exchangeRates(pairs, start, end);
+        }
+
+        @Override
+        public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+            return delegate.findExchangeRate(pair, date);
+        }
+
+        @Override
+        public Optional<ExchangeRate> findLatestExchangeRateOnOrBefore(CurrencyPair pair, LocalDate date) {
+            return delegate.findLatestExchangeRateOnOrBefore(pair, date);
+        }
+
+        @Override
+        public Optional<ExchangeRate> findEarliestExchangeRateOnOrAfter(CurrencyPair pair, LocalDate date) {
+            return delegate.findEarliestExchangeRateOnOrAfter(pair, date);
+        }
+    }
+}
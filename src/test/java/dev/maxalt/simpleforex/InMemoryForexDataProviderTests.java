@@ -0,0 +1,170 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class InMemoryForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final CurrencyPair GBPUSD = CurrencyPair.parse("GBPUSD");
+    private static final LocalDate MONDAY = LocalDate.parse("2025-12-29");
+    private static final LocalDate TUESDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate WEDNESDAY = LocalDate.parse("2025-12-31");
+
+    private final InMemoryForexDataProvider provider = new InMemoryForexDataProvider().loader()
+            .add(WEDNESDAY, rate("EURUSD", "2025-12-31", "1.1750"))
+            .add(MONDAY, rate("EURUSD", "2025-12-29", "1.1772"))
+            .add(TUESDAY, rate("USDJPY", "2025-12-30", "156.40"))
+            .add(MONDAY, rate("USDJPY", "2025-12-29", "156.25"))
+            .add(WEDNESDAY, rate("GBPUSD", "2025-12-31", "1.3460"))
+            .load();
+
+    @Test
+    void ratesAreFoundByPairAndDate() {
+        assertThat(provider.findExchangeRate(EURUSD, MONDAY)).contains(rate("EURUSD", "2025-12-29", "1.1772"));
+        assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).isEmpty();
+        assertThat(provider.findExchangeRate(CurrencyPair.parse("USDCHF"), TUESDAY)).isEmpty();
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.MAX)).isEmpty();
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY, GBPUSD), WEDNESDAY))
+                .containsExactlyInAnyOrder(rate("EURUSD", "2025-12-31", "1.1750"), rate("GBPUSD", "2025-12-31", "1.3460"));
+    }
+
+    @Test
+    void nearestRatesAreFoundAcrossGaps() {
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, TUESDAY)).contains(rate("EURUSD", "2025-12-29", "1.1772"));
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.MAX)).contains(rate("EURUSD", "2025-12-31", "1.1750"));
+        assertThat(provider.findLatestExchangeRateOnOrBefore(GBPUSD, TUESDAY)).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, TUESDAY)).contains(rate("EURUSD", "2025-12-31", "1.1750"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(USDJPY, LocalDate.MIN)).contains(rate("USDJPY", "2025-12-29", "156.25"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(USDJPY, WEDNESDAY)).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(CurrencyPair.parse("USDCHF"), MONDAY)).isEmpty();
+    }
+
+    @Test
+    void rangeQueriesAreOrderedByDateThenPair() {
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY, GBPUSD), WEDNESDAY, MONDAY))
+                .extracting(rate -> rate.currencyPair() + " " + rate.timestamp().toString().substring(0, 10))
+                .containsExactly("EURUSD 2025-12-29", "USDJPY 2025-12-29", "USDJPY 2025-12-30", "EURUSD 2025-12-31", "GBPUSD 2025-12-31");
+        assertThat(provider.exchangeRates(Set.of(USDJPY), TUESDAY, LocalDate.MAX)).containsExactly(rate("USDJPY", "2025-12-30", "156.40"));
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), LocalDate.MIN, LocalDate.MAX)).hasSize(4);
+        assertThat(provider.exchangeRates(Set.of(GBPUSD), MONDAY, TUESDAY)).isEmpty();
+    }
+
+    @Test
+    void laterRatesReplaceEarlierOnes() {
+        provider.put(MONDAY, rate("EURUSD", "2025-12-29", "1.1800"))
+                .put(TUESDAY, rate("EURUSD", "2025-12-30", "1.1737"));
+
+        assertThat(provider.size()).isEqualTo(6);
+        assertThat(provider.exchangeRates(Set.of(EURUSD), MONDAY, WEDNESDAY))
+                .extracting(rate -> rate.value().toPlainString())
+                .containsExactly("1.1800", "1.1737", "1.1750");
+    }
+
+    @Test
+    void openStreamsKeepTheirSnapshot() {
+        var rates = provider.exchangeRates(Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY);
+
+        provider.put(TUESDAY, rate("EURUSD", "2025-12-30", "1.1737"));
+
+        assertThat(rates).hasSize(4);
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY)).hasSize(5);
+    }
+
+    @Test
+    void loadersClearTheirBatchAfterLoading() {
+        var loader = provider.loader();
+        loader.add(TUESDAY, rate("EURUSD", "2025-12-30", "1.1737")).load();
+        loader.load();
+
+        assertThat(provider.size()).isEqualTo(6);
+    }
+
+    @Test
+    void concurrentLoadsAreAllPublished() throws InterruptedException {
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (var symbol : List.of("EURCHF", "EURGBP", "EURJPY", "USDCAD", "AUDUSD", "NZDUSD", "USDSEK", "USDNOK")) {
+            var pair = CurrencyPair.parse(symbol);
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                IntStream.range(0, 200).forEach(day -> {
+                    var date = MONDAY.plusDays(day);
+                    provider.put(date, rate(pair.toString(), date.toString(), "1.5"));
+                });
+            }));
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertThat(provider.size()).isEqualTo(5 + 8 * 200);
+    }
+
+    @Test
+    void metadataIsDerivedFromTheRates() {
+        assertThat(provider.supportedCurrencies().map(Currency::getCurrencyCode)).containsExactlyInAnyOrder("EUR", "USD", "JPY", "GBP");
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(MONDAY);
+        assertThat(new InMemoryForexDataProvider().getEarliestSupportedDate()).isEqualTo(LocalDate.MIN);
+        assertThat(new InMemoryForexDataProvider().supportedCurrencies()).isEmpty();
+    }
+
+    @Test
+    void copiesRatesFromOtherProviders() {
+        var copy = new InMemoryForexDataProvider().loader().addAll(provider, Set.of(EURUSD, GBPUSD), WEDNESDAY, MONDAY).load();
+
+        assertThat(copy.size()).isEqualTo(3);
+        assertThat(copy.findExchangeRate(GBPUSD, WEDNESDAY)).isPresent();
+    }
+
+    @Test
+    void datesMustFitAnIntEpochDay() {
+        assertThatIllegalArgumentException().isThrownBy(() -> provider.put(LocalDate.MAX, rate("EURUSD", "2025-12-29", "1.1")));
+    }
+}
@@ -0,0 +1,106 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class LatencyHistogramTests {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        var histogram = new LatencyHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.mean()).isEqualTo(Duration.ZERO);
+        assertThat(histogram.max()).isEqualTo(Duration.ZERO);
+        assertThat(histogram.percentile(99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        var histogram = new LatencyHistogram();
+        for (int nanos = 0; nanos < 8; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertThat(histogram.percentile(50)).isEqualTo(Duration.ofNanos(3));
+        assertThat(histogram.percentile(100)).isEqualTo(Duration.ofNanos(7));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {8, 9, 15, 16, 17, 1_000, 123_456_789, 1L << 40, 1L << 62})
+    void percentilesAreWithinAnEighthAboveTheRecordedValue(long nanos) {
+        var histogram = new LatencyHistogram();
+        histogram.record(1);
+        histogram.record(nanos);
+        histogram.record(Long.MAX_VALUE);
+
+        long median = histogram.percentile(50).toNanos();
+
+        assertThat(median).isBetween(nanos, nanos + nanos / 8);
+    }
+
+    @Test
+    void percentilesFollowTheDistribution() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.mean()).isEqualTo(Duration.ofNanos(500_500));
+        assertThat(histogram.max()).isEqualTo(Duration.ofNanos(1_000_000));
+        assertThat(histogram.percentile(50).toNanos()).isBetween(500_000L, 562_500L);
+        assertThat(histogram.percentile(99).toNanos()).isBetween(990_000L, 1_000_000L);
+        assertThat(histogram.percentile(0).toNanos()).isBetween(1_000L, 1_125L);
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        var histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertThat(histogram.count()).isEqualTo(1);
+        assertThat(histogram.max()).isEqualTo(Duration.ZERO);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1, 100.5, Double.NaN})
+    void percentileRejectsOutOfRangeValues(double percentile) {
+        assertThatIllegalArgumentException().isThrownBy(() -> new LatencyHistogram().percentile(percentile));
+    }
+}
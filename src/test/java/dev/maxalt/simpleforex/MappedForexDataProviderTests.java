@@ -0,0 +1,209 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class MappedForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final CurrencyPair GBPUSD = CurrencyPair.parse("GBPUSD");
+    private static final LocalDate MONDAY = LocalDate.parse("2025-12-29");
+    private static final LocalDate TUESDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate WEDNESDAY = LocalDate.parse("2025-12-31");
+
+    @TempDir
+    Path directory;
+
+    private final TestForexDataProvider source = new TestForexDataProvider()
+            .add("EURUSD", "2025-12-29", "1.0820")
+            .add("EURUSD", "2025-12-30", "1.0825")
+            .add("EURUSD", "2025-12-31", "1.083")
+            .add("USDJPY", "2025-12-29", "156.25")
+            .add("USDJPY", "2025-12-31", "156.7");
+
+    private MappedForexDataProvider writeAndOpen(MappedForexDataProvider.Writer writer) throws IOException {
+        var file = directory.resolve("rates.bin");
+        writer.write(file);
+        return MappedForexDataProvider.open(file);
+    }
+
+    @Test
+    void findsRatesByPairAndDate() throws IOException {
+        try (var provider = writeAndOpen(MappedForexDataProvider.writer().addAll(source, Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY))) {
+            assertThat(provider.size()).isEqualTo(5);
+            assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).contains(rate("EURUSD", "2025-12-30", "1.0825"));
+            assertThat(provider.findExchangeRate(USDJPY, TUESDAY)).isEmpty();
+            assertThat(provider.findExchangeRate(GBPUSD, TUESDAY)).isEmpty();
+            assertThat(provider.findExchangeRate(EURUSD, LocalDate.MAX)).isEmpty();
+            assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY, GBPUSD), WEDNESDAY)).containsExactlyInAnyOrder(
+                    rate("EURUSD", "2025-12-31", "1.083"),
+                    rate("USDJPY", "2025-12-31", "156.7"));
+            assertThat(provider.getEarliestSupportedDate()).isEqualTo(MONDAY);
+        }
+    }
+
+    @Test
+    void nearestRatesAreFoundAcrossGaps() throws IOException {
+        try (var provider = writeAndOpen(MappedForexDataProvider.writer().addAll(source, Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY))) {
+            assertThat(provider.findLatestExchangeRateOnOrBefore(USDJPY, TUESDAY)).contains(rate("USDJPY", "2025-12-29", "156.25"));
+            assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.MAX)).contains(rate("EURUSD", "2025-12-31", "1.083"));
+            assertThat(provider.findLatestExchangeRateOnOrBefore(USDJPY, MONDAY.minusDays(1))).isEmpty();
+            assertThat(provider.findEarliestExchangeRateOnOrAfter(USDJPY, TUESDAY)).contains(rate("USDJPY", "2025-12-31", "156.7"));
+            assertThat(provider.findEarliestExchangeRateOnOrAfter(USDJPY, LocalDate.MIN)).contains(rate("USDJPY", "2025-12-29", "156.25"));
+            // The pair after EURUSD in the file must not be mistaken for it
+            assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, WEDNESDAY.plusDays(1))).isEmpty();
+            assertThat(provider.findEarliestExchangeRateOnOrAfter(GBPUSD, MONDAY)).isEmpty();
+        }
+    }
+
+    @Test
+    void rangeQueriesAreOrderedByDateThenPair() throws IOException {
+        try (var provider = writeAndOpen(MappedForexDataProvider.writer().addAll(source, Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY))) {
+            assertThat(provider.exchangeRates(Set.of(USDJPY, EURUSD), WEDNESDAY, MONDAY)).containsExactly(
+                    rate("EURUSD", "2025-12-29", "1.0820"),
+                    rate("USDJPY", "2025-12-29", "156.25"),
+                    rate("EURUSD", "2025-12-30", "1.0825"),
+                    rate("EURUSD", "2025-12-31", "1.083"),
+                    rate("USDJPY", "2025-12-31", "156.7"));
+            assertThat(provider.exchangeRates(Set.of(USDJPY), LocalDate.MIN, LocalDate.MAX)).hasSize(2);
+            assertThat(provider.exchangeRates(Set.of(USDJPY), TUESDAY, TUESDAY)).isEmpty();
+        }
+    }
+
+    @Test
+    void valuesKeepTheirOwnScale() throws IOException {
+        try (var provider = writeAndOpen(MappedForexDataProvider.writer().addAll(source, Set.of(EURUSD, USDJPY), MONDAY, WEDNESDAY))) {
+            assertThat(provider.findExchangeRate(USDJPY, WEDNESDAY).orElseThrow().value().toPlainString()).isEqualTo("156.7");
+            assertThat(provider.findExchangeRate(EURUSD, WEDNESDAY).orElseThrow().value().toPlainString()).isEqualTo("1.083");
+        }
+    }
+
+    @Test
+    void writesTheDocumentedFormat() throws IOException {
+        var file = directory.resolve("rates.bin");
+        MappedForexDataProvider.writer().add(TUESDAY, rate("EURUSD", "2025-12-30", "1.0825")).write(file);
+
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.limit()).isEqualTo(32 + 24);
+        assertThat(new String(Arrays.copyOf(buffer.array(), 4), StandardCharsets.US_ASCII)).isEqualTo("SFXR");
+        assertThat(buffer.getInt(4)).isEqualTo(1);
+        assertThat(buffer.getInt(8)).isEqualTo(4);
+        assertThat(buffer.getLong(16)).isEqualTo(1);
+        assertThat(buffer.getInt(24)).isEqualTo((int) TUESDAY.toEpochDay());
+        assertThat(buffer.getInt(28)).isEqualTo((int) TUESDAY.toEpochDay());
+        assertThat(buffer.getInt(32)).isEqualTo(EURUSD.toPackedKey());
+        assertThat(buffer.getInt(36)).isEqualTo((int) TUESDAY.toEpochDay());
+        assertThat(buffer.getLong(40)).isEqualTo(rate("EURUSD", "2025-12-30", "1").timestamp().toEpochMilli());
+        assertThat(buffer.getLong(48)).isEqualTo(10825);
+    }
+
+    @Test
+    void laterRatesReplaceEarlierOnesOfTheSamePairAndDate() throws IOException {
+        var writer = MappedForexDataProvider.writer()
+                .add(TUESDAY, rate("EURUSD", "2025-12-30", "1.0825"))
+                .add(TUESDAY, rate("EURUSD", "2025-12-30", "1.0826"));
+
+        try (var provider = writeAndOpen(writer)) {
+            assertThat(provider.size()).isEqualTo(1);
+            assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).contains(rate("EURUSD", "2025-12-30", "1.0826"));
+        }
+    }
+
+    @Test
+    void fixedScaleWritersRoundValues() throws IOException {
+        var writer = MappedForexDataProvider.writer(2, RoundingMode.HALF_EVEN).add(TUESDAY, rate("EURUSD", "2025-12-30", "1.0851"));
+
+        try (var provider = writeAndOpen(writer)) {
+            assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).contains(rate("EURUSD", "2025-12-30", "1.09"));
+        }
+    }
+
+    @Test
+    void fixedScaleWritersRejectValuesThatRoundToZero() {
+        var writer = MappedForexDataProvider.writer(2, RoundingMode.HALF_EVEN).add(TUESDAY, rate("JPYEUR", "2025-12-30", "0.0045"));
+        var file = directory.resolve("rates.bin");
+
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> writer.write(file));
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void automaticScaleRejectsValuesThatAreTooPrecise() {
+        var writer = MappedForexDataProvider.writer().add(TUESDAY, rate("EURUSD", "2025-12-30", "0.0005333333333333334"));
+
+        assertThatExceptionOfType(ArithmeticException.class).isThrownBy(() -> writer.write(directory.resolve("rates.bin")));
+    }
+
+    @Test
+    void emptyFilesAreValid() throws IOException {
+        try (var provider = writeAndOpen(MappedForexDataProvider.writer())) {
+            assertThat(provider.size()).isZero();
+            assertThat(provider.findExchangeRate(EURUSD, TUESDAY)).isEmpty();
+            assertThat(provider.getEarliestSupportedDate()).isEqualTo(LocalDate.MIN);
+        }
+    }
+
+    @Test
+    void openRejectsInvalidFiles() throws IOException {
+        var file = directory.resolve("rates.bin");
+        Files.writeString(file, "EURUSD,2025-12-30,1.0825");
+
+        assertThatIOException().isThrownBy(() -> MappedForexDataProvider.open(file));
+    }
+
+    @Test
+    void queriesFailOnceClosed() throws IOException {
+        var provider = writeAndOpen(MappedForexDataProvider.writer().addAll(source, Set.of(EURUSD), MONDAY, WEDNESDAY));
+        provider.close();
+        provider.close();
+
+        assertThatIllegalStateException().isThrownBy(() -> provider.findExchangeRate(EURUSD, TUESDAY));
+    }
+}
@@ -0,0 +1,160 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ParallelRangeForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final LocalDate START = LocalDate.parse("2025-12-01");
+    private static final LocalDate END = LocalDate.parse("2025-12-10");
+
+    private final TestForexDataProvider upstream = new TestForexDataProvider();
+
+    ParallelRangeForexDataProviderTests() {
+        for (var date = START; !date.isAfter(END); date = date.plusDays(1)) {
+            upstream.add("EURUSD", date.toString(), "1.08" + date.getDayOfMonth());
+        }
+    }
+
+    @Test
+    void longRangesAreFetchedInChunksAndMergedInDateOrder() {
+        var provider = new ParallelRangeForexDataProvider(upstream, 3, 2);
+
+        var rates = provider.exchangeRates(Set.of(EURUSD), END, START).toList();
+
+        assertThat(rates).extracting(ExchangeRate::value).containsExactlyElementsOf(
+                START.datesUntil(END.plusDays(1)).map(date -> new BigDecimal("1.08" + date.getDayOfMonth())).toList());
+        assertThat(upstream.rangeCalls).hasValue(4);
+    }
+
+    @Test
+    void rangesThatFitIntoAChunkArePassedThrough() {
+        var provider = new ParallelRangeForexDataProvider(upstream, 10, 2);
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD), START, END)).hasSize(10);
+        assertThat(upstream.rangeCalls).hasValue(1);
+    }
+
+    @Test
+    void concurrentDelegateCallsAreBounded() throws InterruptedException {
+        upstream.gate = new CountDownLatch(1);
+        var provider = new ParallelRangeForexDataProvider(upstream, 1, 3);
+
+        var rates = CompletableFuture.supplyAsync(() -> provider.exchangeRates(Set.of(EURUSD), START, END).toList());
+        while (upstream.rangeCalls.get() < 3) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        assertThat(upstream.rangeCalls).hasValue(3);
+
+        upstream.gate.countDown();
+        assertThat(rates.join()).hasSize(10);
+        assertThat(upstream.rangeCalls).hasValue(10);
+    }
+
+    @Test
+    void chunksAreStartedAsTheStreamIsConsumed() {
+        var provider = new ParallelRangeForexDataProvider(upstream, 1, 2);
+
+        try (var rates = provider.exchangeRates(Set.of(EURUSD), START, LocalDate.MAX)) {
+            assertThat(rates.limit(3)).hasSize(3);
+        }
+
+        // The three consumed chunks and at most two fetched ahead
+        assertThat(upstream.rangeCalls.get()).isBetween(3, 5);
+    }
+
+    @Test
+    void chunksEndingNearTheLargestDateAreClamped() {
+        var ranges = new CopyOnWriteArrayList<List<LocalDate>>();
+        var delegate = new TestForexDataProvider() {
+            @Override
+            public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+                ranges.add(List.of(start, end));
+                return Stream.empty();
+            }
+        };
+        var provider = new ParallelRangeForexDataProvider(delegate, 4, 2);
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD), LocalDate.MAX, LocalDate.MAX.minusDays(5))).isEmpty();
+        assertThat(ranges).containsExactlyInAnyOrder(
+                List.of(LocalDate.MAX.minusDays(5), LocalDate.MAX.minusDays(2)),
+                List.of(LocalDate.MAX.minusDays(1), LocalDate.MAX));
+    }
+
+    @Test
+    void failuresAreRethrownInOrder() {
+        var failing = new TestForexDataProvider() {
+            @Override
+            public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+                if (start.equals(START)) {
+                    throw new IllegalStateException("upstream is down");
+                }
+                return Stream.empty();
+            }
+        };
+        var provider = new ParallelRangeForexDataProvider(failing, 5, 1);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> provider.exchangeRates(Set.of(EURUSD), START, END).toList())
+                .withMessage("upstream is down");
+    }
+
+    @Test
+    void otherQueriesArePassedThrough() {
+        var provider = new ParallelRangeForexDataProvider(upstream, 1, 1);
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD), START)).hasSize(1);
+        assertThat(provider.findExchangeRate(EURUSD, END)).isPresent();
+        assertThat(upstream.singleDateCalls).hasValue(1);
+        assertThat(upstream.findCalls).hasValue(1);
+    }
+
+    @Test
+    void constructorRejectsInvalidBounds() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParallelRangeForexDataProvider(upstream, 0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParallelRangeForexDataProvider(upstream, 1, 0));
+    }
+}
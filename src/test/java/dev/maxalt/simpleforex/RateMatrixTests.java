@@ -0,0 +1,93 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class RateMatrixTests {
+
+    private static final RateMatrix MATRIX = RateMatrix.of(List.of(
+            new ExchangeRate(CurrencyPair.parse("EURUSD"), new BigDecimal("1.25"), Instant.EPOCH),
+            new ExchangeRate(CurrencyPair.parse("EURGBP"), new BigDecimal("0.8"), Instant.EPOCH),
+            new ExchangeRate(CurrencyPair.parse("AUDNZD"), new BigDecimal("1.1"), Instant.EPOCH)
+    ));
+
+    @Test
+    void currenciesAreSortedByCode() {
+        assertThat(MATRIX.currencies()).extracting(Currency::getCurrencyCode).containsExactly("AUD", "EUR", "GBP", "NZD", "USD");
+    }
+
+    @Test
+    void indexOfMatchesCurrencies() {
+        for (int i = 0; i < MATRIX.currencies().size(); i++) {
+            assertThat(MATRIX.indexOf(MATRIX.currencies().get(i))).isEqualTo(i);
+        }
+        assertThat(MATRIX.indexOf(Currency.getInstance("JPY"))).isEqualTo(-1);
+    }
+
+    @Test
+    void containsKnownInverseAndCrossRates() {
+        assertThat(MATRIX.rate(CurrencyPair.parse("EURUSD"))).isEqualTo(1.25);
+        assertThat(MATRIX.rate(CurrencyPair.parse("USDEUR"))).isEqualTo(0.8);
+        assertThat(MATRIX.rate(CurrencyPair.parse("GBPUSD"))).isCloseTo(1.5625, within(1e-15));
+        assertThat(MATRIX.findRate(CurrencyPair.parse("NZDAUD")).orElseThrow()).isCloseTo(1 / 1.1, within(1e-15));
+    }
+
+    @Test
+    void rateByIndexMatchesRateByPair() {
+        int eur = MATRIX.indexOf(Currency.getInstance("EUR"));
+        int gbp = MATRIX.indexOf(Currency.getInstance("GBP"));
+
+        assertThat(MATRIX.rate(eur, gbp)).isEqualTo(MATRIX.rate(CurrencyPair.parse("EURGBP")));
+        assertThat(MATRIX.rate(eur, eur)).isEqualTo(1);
+    }
+
+    @Test
+    void missingRatesAreNaN() {
+        assertThat(MATRIX.rate(CurrencyPair.parse("EURNZD"))).isNaN();
+        assertThat(MATRIX.rate(CurrencyPair.parse("EURJPY"))).isNaN();
+        assertThat(MATRIX.findRate(CurrencyPair.parse("EURJPY"))).isEmpty();
+    }
+
+    @Test
+    void rateRejectsOutOfBoundsIndices() {
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> MATRIX.rate(0, 5));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> MATRIX.rate(-1, 0));
+    }
+}
@@ -0,0 +1,129 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SeriesForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final LocalDate MONDAY = LocalDate.parse("2025-12-29");
+    private static final LocalDate TUESDAY = LocalDate.parse("2025-12-30");
+    private static final LocalDate WEDNESDAY = LocalDate.parse("2025-12-31");
+
+    private final ExchangeRateSeries eurUsd = new ExchangeRateSeries(EURUSD, 4);
+    private final ExchangeRateSeries usdJpy = new ExchangeRateSeries(USDJPY, 2);
+
+    SeriesForexDataProviderTests() {
+        eurUsd.append(Instant.parse("2025-12-29T09:00:00Z").toEpochMilli(), 10810);
+        eurUsd.append(Instant.parse("2025-12-29T16:00:00Z").toEpochMilli(), 10820);
+        eurUsd.append(Instant.parse("2025-12-30T16:00:00Z").toEpochMilli(), 10825);
+        eurUsd.append(Instant.parse("2025-12-31T23:30:00Z").toEpochMilli(), 10830);
+        usdJpy.append(rate("USDJPY", "2025-12-29", "156.25"));
+        usdJpy.append(rate("USDJPY", "2025-12-31", "156.70"));
+    }
+
+    @Test
+    void ratesAreTheLastPointsOfTheirDates() {
+        var provider = SeriesForexDataProvider.of(List.of(eurUsd, usdJpy));
+
+        assertThat(provider.findExchangeRate(EURUSD, MONDAY)).contains(rate("EURUSD", "2025-12-29", "1.0820"));
+        assertThat(provider.findExchangeRate(USDJPY, TUESDAY)).isEmpty();
+        assertThat(provider.findExchangeRate(CurrencyPair.parse("GBPUSD"), TUESDAY)).isEmpty();
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), WEDNESDAY)).hasSize(2);
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.MIN)).isEmpty();
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.MAX)).isEmpty();
+    }
+
+    @Test
+    void nearestRatesAreTheLastPointsOfTheNearestDates() {
+        var provider = SeriesForexDataProvider.of(List.of(eurUsd, usdJpy));
+
+        assertThat(provider.findLatestExchangeRateOnOrBefore(USDJPY, TUESDAY)).contains(rate("USDJPY", "2025-12-29", "156.25"));
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, LocalDate.MAX).orElseThrow().value()).isEqualByComparingTo("1.083");
+        assertThat(provider.findLatestExchangeRateOnOrBefore(EURUSD, MONDAY.minusDays(1))).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(USDJPY, TUESDAY)).contains(rate("USDJPY", "2025-12-31", "156.70"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, LocalDate.MIN)).contains(rate("EURUSD", "2025-12-29", "1.0820"));
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(EURUSD, LocalDate.MAX)).isEmpty();
+        assertThat(provider.findEarliestExchangeRateOnOrAfter(CurrencyPair.parse("GBPUSD"), MONDAY)).isEmpty();
+    }
+
+    @Test
+    void datesFollowTheTimeZone() {
+        var provider = SeriesForexDataProvider.of(List.of(eurUsd), ZoneId.of("Asia/Tokyo"));
+
+        assertThat(provider.findExchangeRate(EURUSD, WEDNESDAY).orElseThrow().value()).isEqualByComparingTo("1.0825");
+        assertThat(provider.findExchangeRate(EURUSD, LocalDate.parse("2026-01-01")).orElseThrow().value()).isEqualByComparingTo("1.083");
+    }
+
+    @Test
+    void rangeQueriesAreOrderedByDateThenPair() {
+        var provider = SeriesForexDataProvider.of(List.of(usdJpy, eurUsd));
+
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), WEDNESDAY, MONDAY))
+                .extracting(rate -> rate.currencyPair() + " " + rate.value().toPlainString())
+                .containsExactly("EURUSD 1.082", "USDJPY 156.25", "EURUSD 1.0825", "EURUSD 1.083", "USDJPY 156.7");
+        assertThat(provider.exchangeRates(Set.of(EURUSD), LocalDate.MIN, LocalDate.MAX)).hasSize(3);
+    }
+
+    @Test
+    void metadataIsDerivedFromTheSeries() {
+        var provider = SeriesForexDataProvider.of(List.of(eurUsd, usdJpy));
+
+        assertThat(provider.supportedCurrencies().map(Currency::getCurrencyCode)).containsExactlyInAnyOrder("EUR", "USD", "JPY");
+        assertThat(provider.getEarliestSupportedDate()).isEqualTo(MONDAY);
+        assertThat(SeriesForexDataProvider.of(List.of()).getEarliestSupportedDate()).isEqualTo(LocalDate.MIN);
+    }
+
+    @Test
+    void pointsAppendedLaterAreVisible() {
+        var provider = SeriesForexDataProvider.of(List.of(usdJpy));
+        usdJpy.append(rate("USDJPY", "2026-01-02", "157.01"));
+
+        assertThat(provider.findExchangeRate(USDJPY, LocalDate.parse("2026-01-02"))).isPresent();
+    }
+
+    @Test
+    void ofRejectsDuplicatePairs() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SeriesForexDataProvider.of(List.of(eurUsd, new ExchangeRateSeries(EURUSD, 2))));
+    }
+}
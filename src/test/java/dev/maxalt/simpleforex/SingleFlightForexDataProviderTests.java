@@ -0,0 +1,178 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static dev.maxalt.simpleforex.TestForexDataProvider.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SingleFlightForexDataProviderTests {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EURUSD");
+    private static final CurrencyPair GBPUSD = CurrencyPair.parse("GBPUSD");
+    private static final CurrencyPair USDJPY = CurrencyPair.parse("USDJPY");
+    private static final LocalDate DATE = LocalDate.parse("2025-12-31");
+
+    private final TestForexDataProvider upstream = new TestForexDataProvider()
+            .add("EURUSD", "2025-12-31", "1.0830")
+            .add("GBPUSD", "2025-12-31", "1.3450")
+            .add("USDJPY", "2025-12-31", "156.7");
+
+    private final SingleFlightForexDataProvider provider = new SingleFlightForexDataProvider(upstream);
+
+    @Test
+    void concurrentIdenticalLookupsShareOneDelegateCall() throws Exception {
+        upstream.gate = new CountDownLatch(1);
+
+        var leader = start(() -> provider.findExchangeRate(EURUSD, DATE));
+        awaitUntil(() -> upstream.findCalls.get() == 1);
+        var followers = new ArrayList<Task<Optional<ExchangeRate>>>();
+        for (int i = 0; i < 8; i++) {
+            followers.add(start(() -> provider.findExchangeRate(EURUSD, DATE)));
+        }
+        awaitUntil(() -> followers.stream().allMatch(follower -> follower.thread.getState() == Thread.State.WAITING));
+        upstream.gate.countDown();
+
+        assertThat(leader.get()).contains(rate("EURUSD", "2025-12-31", "1.0830"));
+        for (var follower : followers) {
+            assertThat(follower.get()).contains(rate("EURUSD", "2025-12-31", "1.0830"));
+        }
+        assertThat(upstream.findCalls).hasValue(1);
+    }
+
+    @Test
+    void overlappingSetsOnlyFetchPairsThatAreNotInFlight() throws Exception {
+        upstream.gate = new CountDownLatch(1);
+
+        var first = start(() -> provider.exchangeRates(Set.of(EURUSD, GBPUSD), DATE).toList());
+        awaitUntil(() -> upstream.singleDateCalls.get() == 1);
+        var second = start(() -> provider.exchangeRates(Set.of(GBPUSD, USDJPY), DATE).toList());
+        awaitUntil(() -> upstream.singleDateCalls.get() == 2);
+        upstream.gate.countDown();
+
+        assertThat(first.get()).containsExactlyInAnyOrder(
+                rate("EURUSD", "2025-12-31", "1.0830"),
+                rate("GBPUSD", "2025-12-31", "1.3450"));
+        assertThat(second.get()).containsExactlyInAnyOrder(
+                rate("GBPUSD", "2025-12-31", "1.3450"),
+                rate("USDJPY", "2025-12-31", "156.7"));
+        assertThat(upstream.requestedPairs).containsExactly(Set.of(EURUSD, GBPUSD), Set.of(USDJPY));
+    }
+
+    @Test
+    void singlePairLookupsJoinSetQueriesInFlight() throws Exception {
+        upstream.gate = new CountDownLatch(1);
+
+        var query = start(() -> provider.exchangeRates(Set.of(EURUSD, GBPUSD), DATE).toList());
+        awaitUntil(() -> upstream.singleDateCalls.get() == 1);
+        var lookup = start(() -> provider.findExchangeRate(GBPUSD, DATE));
+        awaitUntil(() -> lookup.thread.getState() == Thread.State.WAITING);
+        upstream.gate.countDown();
+
+        assertThat(query.get()).hasSize(2);
+        assertThat(lookup.get()).contains(rate("GBPUSD", "2025-12-31", "1.3450"));
+        assertThat(upstream.findCalls).hasValue(0);
+    }
+
+    @Test
+    void completedLookupsAreNotRemembered() {
+        assertThat(provider.findExchangeRate(EURUSD, DATE)).isPresent();
+        assertThat(provider.findExchangeRate(EURUSD, DATE)).isPresent();
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), DATE)).hasSize(2);
+        assertThat(provider.exchangeRates(Set.of(EURUSD, USDJPY), DATE)).hasSize(2);
+
+        assertThat(upstream.findCalls).hasValue(2);
+        assertThat(upstream.singleDateCalls).hasValue(2);
+    }
+
+    @Test
+    void failuresAreRethrownAndNotRemembered() {
+        var calls = new AtomicInteger();
+        var failing = new SingleFlightForexDataProvider(new TestForexDataProvider() {
+            @Override
+            public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("upstream is down");
+            }
+        });
+
+        for (int i = 0; i < 2; i++) {
+            assertThatIllegalStateException()
+                    .isThrownBy(() -> failing.exchangeRates(Set.of(EURUSD), DATE))
+                    .withMessage("upstream is down");
+        }
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void rangeQueriesArePassedThrough() {
+        assertThat(provider.exchangeRates(Set.of(EURUSD), DATE.minusDays(1), DATE)).hasSize(1);
+
+        assertThat(upstream.rangeCalls).hasValue(1);
+    }
+
+    private static <T> Task<T> start(Callable<T> callable) {
+        var future = new FutureTask<>(callable);
+        var thread = new Thread(future);
+        thread.start();
+        return new Task<>(thread, future);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private record Task<T>(Thread thread, FutureTask<T> future) {
+
+        T get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/// An in-memory provider for tests of decorators, which records calls to each of its methods.
+class TestForexDataProvider implements ForexDataProvider {
+
+    final AtomicInteger singleDateCalls = new AtomicInteger();
+    final AtomicInteger rangeCalls = new AtomicInteger();
+    final AtomicInteger findCalls = new AtomicInteger();
+    final List<Set<CurrencyPair>> requestedPairs = new CopyOnWriteArrayList<>();
+
+    /// Calls are counted, then block until this latch is released; replace it to hold calls in flight.
+    volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private final Map<RateKey, ExchangeRate> rates = new ConcurrentHashMap<>();
+
+    /// Creates a rate timestamped at 16:00 UTC of the given date.
+    static ExchangeRate rate(String pair, String date, String value) {
+        var timestamp = LocalDate.parse(date).atTime(16, 0).toInstant(ZoneOffset.UTC);
+        return new ExchangeRate(CurrencyPair.parse(pair), new BigDecimal(value), timestamp);
+    }
+
+    TestForexDataProvider add(String pair, String date, String value) {
+        rates.put(new RateKey(CurrencyPair.parse(pair), LocalDate.parse(date)), rate(pair, date, value));
+        return this;
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate date) {
+        requestedPairs.add(Set.copyOf(pairs));
+        singleDateCalls.incrementAndGet();
+        awaitGate();
+        return pairs.stream()
+                .map(pair -> rates.get(new RateKey(pair, date)))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<ExchangeRate> exchangeRates(Set<CurrencyPair> pairs, LocalDate start, LocalDate end) {
+        requestedPairs.add(Set.copyOf(pairs));
+        rangeCalls.incrementAndGet();
+        awaitGate();
+        var from = start.isBefore(end) ? start : end;
+        var to = start.isBefore(end) ? end : start;
+        return from.datesUntil(to.plusDays(1))
+                .flatMap(date -> pairs.stream().map(pair -> rates.get(new RateKey(pair, date))))
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Optional<ExchangeRate> findExchangeRate(CurrencyPair pair, LocalDate date) {
+        findCalls.incrementAndGet();
+        awaitGate();
+        return Optional.ofNullable(rates.get(new RateKey(pair, date)));
+    }
+
+    private void awaitGate() {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+// BSD 3-Clause License
+//
+// Copyright (c) 2025, Maxim Altoukhov
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+// 1. Redistributions of source code must retain the above copyright notice, this
+//    list of conditions and the following disclaimer.
+//
+// 2. Redistributions in binary form must reproduce the above copyright notice,
+//    this list of conditions and the following disclaimer in the documentation
+//    and/or other materials provided with the distribution.
+//
+// 3. Neither the name of the copyright holder nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+// DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+// FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+// DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+// SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+// CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+// OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package dev.maxalt.simpleforex;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/// Vector API kernels of the bulk methods of [Converter], which compute the same results as its scalar code.
+///
+/// Loading this class requires the `jdk.incubator.vector` module, so [Converter] only loads it after checking that the module is present.
+/// Each kernel converts as many whole vectors of amounts as fit into the range, and returns how many amounts it converted,
+/// leaving the tail to the scalar code.
+@NullMarked
+final class VectorConversions implements BulkConversionKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final long LOW_HALF = 0xFFFF_FFFFL;
+
+    VectorConversions() {
+    }
+
+    /// Checks if the preferred vectors are wide enough to beat scalar code.
+    ///
+    /// The minor-unit kernel multiplies `long` lanes six times per vector, which takes one instruction with AVX-512 but several
+    /// with AVX2, where the kernel is no faster than the scalar code (which C2 auto-vectorizes for `double`s anyway).
+    @Override
+    public boolean isEffective() {
+        return LONGS.vectorBitSize() >= 512;
+    }
+
+    /// Converts `double` amounts like [Converter#convert(double)] does, which vectors do exactly the same way lane by lane.
+    @Override
+    public int convert(double[] amounts, int offset, double[] results, int resultOffset, int length, double rate, boolean inverse) {
+        int bound = DOUBLES.loopBound(length);
+        for (int i = 0; i < bound; i += DOUBLES.length()) {
+            var amount = DoubleVector.fromArray(DOUBLES, amounts, offset + i);
+            var result = inverse ? amount.div(rate) : amount.mul(rate);
+            result.intoArray(results, resultOffset + i);
+        }
+        return bound;
+    }
+
+    /// Converts minor units like [Converter#convertMinorUnits(long)] does, with the same branch-free division as
+    /// [FixedPoint.Divisor#divide(long)]. Vectors with an amount beyond `±maxAmount` are converted by the scalar code of the converter.
+    @Override
+    public int convertMinorUnits(Converter converter, long[] amounts, int offset, long[] results, int resultOffset, int length,
+                                 long multiplier, FixedPoint.@Nullable Divisor divisor, long maxAmount) {
+        int bound = LONGS.loopBound(length);
+        for (int i = 0; i < bound; i += LONGS.length()) {
+            var amount = LongVector.fromArray(LONGS, amounts, offset + i);
+            if (amount.compare(VectorOperators.GT, maxAmount).or(amount.compare(VectorOperators.LT, -maxAmount)).anyTrue()) {
+                for (int lane = 0; lane < LONGS.length(); lane++) {
+                    results[resultOffset + i + lane] = converter.convertMinorUnits(amounts[offset + i + lane]);
+                }
+                continue;
+            }
+
+            var dividend = amount.mul(multiplier);
+            var result = divisor == null ? dividend : divide(dividend, divisor);
+            result.intoArray(results, resultOffset + i);
+        }
+        return bound;
+    }
+
+    private static LongVector divide(LongVector dividend, FixedPoint.Divisor divisor) {
+        var sign = dividend.lanewise(VectorOperators.ASHR, 63);
+        var magnitude = dividend.lanewise(VectorOperators.XOR, sign).sub(sign);
+        var quotient = unsignedMultiplyHigh(magnitude, divisor.reciprocal()).lanewise(VectorOperators.LSHR, divisor.shift());
+        var remainder = magnitude.sub(quotient.mul(divisor.divisor()));
+        long limitDifference = divisor.positiveLimit() ^ divisor.negativeLimit();
+        var limit = sign.and(limitDifference).lanewise(VectorOperators.XOR, divisor.positiveLimit());
+        var increment = limit.sub(remainder.add(quotient.and(divisor.parityMask()))).lanewise(VectorOperators.LSHR, 63);
+        return quotient.add(increment).lanewise(VectorOperators.XOR, sign).sub(sign);
+    }
+
+    // Lane-wise Math.unsignedMultiplyHigh of non-negative values, from the products of their 32-bit halves
+    private static LongVector unsignedMultiplyHigh(LongVector values, long multiplier) {
+        long multiplierLow = multiplier & LOW_HALF;
+        long multiplierHigh = multiplier >>> 32;
+        var low = values.and(LOW_HALF);
+        var high = values.lanewise(VectorOperators.LSHR, 32);
+
+        var lowLow = low.mul(multiplierLow);
+        var lowHigh = low.mul(multiplierHigh);
+        var highLow = high.mul(multiplierLow);
+        var middle = lowLow.lanewise(VectorOperators.LSHR, 32).add(lowHigh.and(LOW_HALF)).add(highLow.and(LOW_HALF));
+        return high.mul(multiplierHigh)
+                .add(lowHigh.lanewise(VectorOperators.LSHR, 32))
+                .add(highLow.lanewise(VectorOperators.LSHR, 32))
+                .add(middle.lanewise(VectorOperators.LSHR, 32));
+    }
+}